@@ -22,7 +22,11 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter")
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
+    implementation("org.hibernate:hibernate-jcache")
+    implementation("org.hibernate:hibernate-micrometer")
+    runtimeOnly("org.ehcache:ehcache")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation(libs.springdoc.openapi)
 
     developmentOnly("org.springframework.boot:spring-boot-devtools")
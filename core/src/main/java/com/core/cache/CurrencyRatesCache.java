@@ -0,0 +1,65 @@
+package com.core.cache;
+
+import com.core.event.CurrenciesChangedEvent;
+import com.core.event.CurrencyRatesUpdatedEvent;
+import com.core.model.Currency;
+import com.core.repository.CurrenciesRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toUnmodifiableMap;
+
+@Component
+public class CurrencyRatesCache {
+
+    private static final int PRICE_SCALE = 2;
+
+    private final CurrenciesRepository repository;
+    private final ReloadingTable<String, CurrencyRate> ratesByCode;
+
+    public CurrencyRatesCache(CurrenciesRepository repository) {
+        this.repository = repository;
+        this.ratesByCode = new ReloadingTable<>(this::loadRates);
+    }
+
+    public Optional<CurrencyRate> get(String code) {
+        return Optional.ofNullable(ratesByCode.get().get(code));
+    }
+
+    @TransactionalEventListener
+    public void onCurrenciesChanged(CurrenciesChangedEvent event) {
+        ratesByCode.reload();
+    }
+
+    // a flush rewrites rates of many codes at once, they are all read again with the rest of the table
+    @TransactionalEventListener
+    public void onCurrencyRatesUpdated(CurrencyRatesUpdatedEvent event) {
+        ratesByCode.reload();
+    }
+
+    // a currency without a positive multiplier cannot convert prices, it is left out as an unknown one
+    private Map<String, CurrencyRate> loadRates() {
+        return repository.findAll()
+                .stream()
+                .filter(currency -> currency.getMultiplier().signum() > 0)
+                .collect(toUnmodifiableMap(Currency::getCode,
+                        currency -> new CurrencyRate(currency.getCode(), currency.getMultiplier())));
+    }
+
+    // the multiplier is the price of a currency unit in the currency of product prices
+    public record CurrencyRate(String code, BigDecimal multiplier) {
+
+        public BigDecimal convert(BigDecimal price) {
+            return price.divide(multiplier, PRICE_SCALE, RoundingMode.HALF_EVEN);
+        }
+
+        public BigDecimal convertBack(BigDecimal price) {
+            return price.multiply(multiplier);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.core.cache;
+
+import com.core.dto.CurrencyRateResponseDto;
+import com.core.event.CurrenciesChangedEvent;
+import com.core.event.CurrencyRatesUpdatedEvent;
+import com.core.repository.CurrenciesRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+@Component
+public class CurrencyRatesHistory {
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final int NANOS_PER_MICRO = 1_000;
+
+    private final CurrenciesRepository repository;
+
+    // a timeline is never modified, new rates are appended to a new one of its code
+    private volatile Map<String, RateTimeline> timelinesByCode;
+
+    public CurrencyRatesHistory(CurrenciesRepository repository) {
+        this.repository = repository;
+    }
+
+    public Optional<CurrencyRateResponseDto> getAt(String code, LocalDateTime at) {
+        var timelines = timelinesByCode;
+
+        if (timelines == null) {
+            timelines = load();
+        }
+
+        var timeline = timelines.get(code);
+
+        return timeline == null ? Optional.empty() : timeline.getAt(at);
+    }
+
+    // a change of a currency appends its rows to the timelines of its old and new codes, the end row of a deleted
+    // code closes its timeline
+    @TransactionalEventListener
+    public void onCurrenciesChanged(CurrenciesChangedEvent event) {
+        appendRates(event.codes());
+    }
+
+    @TransactionalEventListener
+    public void onCurrencyRatesUpdated(CurrencyRatesUpdatedEvent event) {
+        appendRates(event.codes());
+    }
+
+    // listeners take the lock of the load, so a change committed while timelines are loaded is applied after it.
+    // rows of a code are written under the row lock of its currency with the database clock, so a row committed
+    // later is never valid from an earlier time and only rows after the last rate of a timeline are read
+    private synchronized void appendRates(Set<String> codes) {
+        var timelines = timelinesByCode;
+
+        if (timelines == null) {
+            return;
+        }
+
+        Map<String, LocalDateTime> validFromByCode = new HashMap<>();
+
+        for (String code : codes) {
+            var timeline = timelines.get(code);
+
+            validFromByCode.put(code, timeline == null ? null : timeline.getLastValidFrom());
+        }
+
+        Map<String, List<CurrencyRateResponseDto>> newRatesByCode = new HashMap<>();
+
+        repository.forEachRateAfter(validFromByCode, rate -> newRatesByCode
+                .computeIfAbsent(rate.code(), code -> new ArrayList<>())
+                .add(rate));
+
+        if (newRatesByCode.isEmpty()) {
+            return;
+        }
+
+        Map<String, RateTimeline> updatedTimelines = new HashMap<>(timelines);
+
+        newRatesByCode.forEach((code, rates) -> updatedTimelines.put(code, timelines.containsKey(code)
+                ? timelines.get(code).append(rates)
+                : RateTimeline.of(code, rates)));
+
+        timelinesByCode = Map.copyOf(updatedTimelines);
+    }
+
+    private synchronized Map<String, RateTimeline> load() {
+        var timelines = timelinesByCode;
+
+        if (timelines == null) {
+            Map<String, List<CurrencyRateResponseDto>> ratesByCode = new HashMap<>();
+
+            repository.forEachRate(rate -> ratesByCode.computeIfAbsent(rate.code(), code -> new ArrayList<>())
+                    .add(rate));
+
+            Map<String, RateTimeline> loadedTimelines = new HashMap<>();
+
+            ratesByCode.forEach((code, rates) -> loadedTimelines.put(code, RateTimeline.of(code, rates)));
+            timelines = Map.copyOf(loadedTimelines);
+            timelinesByCode = timelines;
+        }
+
+        return timelines;
+    }
+
+    private static long toEpochMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + dateTime.getNano() / NANOS_PER_MICRO;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * NANOS_PER_MICRO, ZoneOffset.UTC);
+    }
+
+    // rates of a currency sorted by the time they became valid in microseconds, a null multiplier ends the currency.
+    // timelines of a code share arrays: an append writes past the size of the previous timeline, which never reads
+    // there, and copies the arrays only when they are full
+    private static final class RateTimeline {
+
+        private final String code;
+        private final long[] validFromMicros;
+        private final BigDecimal[] multipliers;
+        private final int size;
+
+        private RateTimeline(String code, long[] validFromMicros, BigDecimal[] multipliers, int size) {
+            this.code = code;
+            this.validFromMicros = validFromMicros;
+            this.multipliers = multipliers;
+            this.size = size;
+        }
+
+        private static RateTimeline of(String code, List<CurrencyRateResponseDto> rates) {
+            return new RateTimeline(code, new long[0], new BigDecimal[0], 0).append(rates);
+        }
+
+        private RateTimeline append(List<CurrencyRateResponseDto> rates) {
+            var newSize = size + rates.size();
+            var appendedValidFromMicros = validFromMicros;
+            var appendedMultipliers = multipliers;
+
+            if (newSize > validFromMicros.length) {
+                var capacity = Math.max(newSize, validFromMicros.length * 2);
+
+                appendedValidFromMicros = Arrays.copyOf(validFromMicros, capacity);
+                appendedMultipliers = Arrays.copyOf(multipliers, capacity);
+            }
+
+            for (int i = 0; i < rates.size(); i++) {
+                appendedValidFromMicros[size + i] = toEpochMicros(rates.get(i).validFrom());
+                appendedMultipliers[size + i] = rates.get(i).multiplier();
+            }
+
+            return new RateTimeline(code, appendedValidFromMicros, appendedMultipliers, newSize);
+        }
+
+        private LocalDateTime getLastValidFrom() {
+            return fromEpochMicros(validFromMicros[size - 1]);
+        }
+
+        private Optional<CurrencyRateResponseDto> getAt(LocalDateTime at) {
+            var atMicros = toEpochMicros(at);
+            // of the rates valid from the same time the one recorded last is valid
+            var index = lastIndexAtOrBefore(atMicros);
+
+            if (index < 0 || multipliers[index] == null) {
+                return Optional.empty();
+            }
+
+            return Optional.of(new CurrencyRateResponseDto(code, multipliers[index],
+                    fromEpochMicros(validFromMicros[index])));
+        }
+
+        // index of the last time not after the given one, -1 when every time is after it
+        private int lastIndexAtOrBefore(long micros) {
+            int low = 0;
+            int high = size;
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+
+                if (validFromMicros[middle] <= micros) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low - 1;
+        }
+    }
+}
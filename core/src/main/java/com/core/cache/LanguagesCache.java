@@ -0,0 +1,63 @@
+package com.core.cache;
+
+import com.core.event.LanguagesChangedEvent;
+import com.core.model.Language;
+import com.core.repository.LanguagesRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toUnmodifiableMap;
+
+// languages are shared detached references, they are only assigned to children of products and never modified
+@Component
+public class LanguagesCache {
+
+    private final LanguagesRepository repository;
+    private final ReloadingTable<String, Language> languagesByCode;
+
+    public LanguagesCache(LanguagesRepository repository) {
+        this.repository = repository;
+        this.languagesByCode = new ReloadingTable<>(this::loadLanguages);
+    }
+
+    public Map<String, Language> getAllByCodeIn(Collection<String> codes) {
+        var languages = languagesByCode.get();
+        Map<String, Language> foundLanguages = new HashMap<>();
+
+        for (String code : codes) {
+            var language = code == null ? null : languages.get(code);
+
+            if (language != null) {
+                foundLanguages.put(code, language);
+            }
+        }
+
+        return foundLanguages;
+    }
+
+    // a renamed language is found by its new code only after the whole table is read again
+    @TransactionalEventListener
+    public void onLanguagesChanged(LanguagesChangedEvent event) {
+        languagesByCode.reload();
+    }
+
+    private Map<String, Language> loadLanguages() {
+        return repository.findAll()
+                .stream()
+                .collect(toUnmodifiableMap(Language::getCode, this::makeLanguage));
+    }
+
+    // languages loaded inside a transaction are managed by its session, so only their copies are shared
+    private Language makeLanguage(Language loadedLanguage) {
+        var language = new Language();
+
+        language.setId(loadedLanguage.getId());
+        language.setCode(loadedLanguage.getCode());
+
+        return language;
+    }
+}
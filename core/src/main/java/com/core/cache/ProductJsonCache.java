@@ -0,0 +1,269 @@
+package com.core.cache;
+
+import com.core.event.ProductDeletedEvent;
+import com.core.event.ProductSavedEvent;
+import com.core.event.ProductsChangedEvent;
+import com.core.event.ProductsDeletedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class ProductJsonCache {
+
+    private static final String ALL_LANGUAGES = "";
+    private static final int DELETED_VERSION = Integer.MAX_VALUE;
+    private static final int MAX_VERSION_FLOORS = 10_000;
+
+    private final SlabAllocator allocator;
+    private final boolean compressed;
+    private final Map<Long, ProductEntry> entries = new HashMap<>();
+    // access ordered, the least recently used json of every size class comes first
+    private final LinkedHashMap<SlotKey, Slot> slots = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<SlabAllocator.Slab, Set<SlotKey>> keysBySlab = new HashMap<>();
+    // versions of recently changed products, so a read that started before the change cannot cache stale json
+    private final Map<Long, Integer> versionFloors = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+            return size() > MAX_VERSION_FLOORS;
+        }
+    };
+
+    public ProductJsonCache(@Value("${core.cache.product-json.max-bytes}") long maxBytes,
+                            @Value("${core.cache.product-json.slab-size}") int slabSize,
+                            @Value("${core.cache.product-json.gzip}") boolean compressed) {
+        this.allocator = new SlabAllocator(maxBytes, slabSize);
+        this.compressed = compressed;
+    }
+
+    // compressed json is kept for clients that accept gzip and plain json for the others, each one once asked for;
+    // the slot is pinned while the writer runs outside the lock, so its chunk is not reused under the writer
+    public boolean writeTo(long id, String languageCode, boolean acceptGzip, JsonWriter writer) throws IOException {
+        var key = new SlotKey(id, toLanguageKey(languageCode), compressed && acceptGzip);
+        Slot slot;
+        int version;
+
+        synchronized (this) {
+            var entry = entries.get(id);
+
+            slot = entry == null ? null : entry.slots.get(key);
+
+            if (slot == null) {
+                return false;
+            }
+
+            // access ordered map, the lookup moves the slot to the end of the eviction queue
+            slots.get(key);
+            slot.pins++;
+            version = entry.version;
+        }
+
+        try {
+            writer.write(version, slot.chunk.slice(slot.length), key.gzipped());
+        } finally {
+            release(slot);
+        }
+
+        return true;
+    }
+
+    public synchronized Optional<Integer> getVersion(long id) {
+        return Optional.ofNullable(entries.get(id))
+                .map(entry -> entry.version);
+    }
+
+    public void put(long id, String languageCode, boolean acceptGzip, int version, byte[] json) {
+        var key = new SlotKey(id, toLanguageKey(languageCode), compressed && acceptGzip);
+        var content = key.gzipped() ? gzip(json) : json;
+        var sizeClass = allocator.getSizeClass(content.length);
+
+        if (sizeClass < 0) {
+            return;
+        }
+
+        synchronized (this) {
+            var floor = versionFloors.get(id);
+            var entry = entries.get(id);
+
+            if ((floor != null && version < floor) || (entry != null && version < entry.version)) {
+                return;
+            }
+
+            if (entry != null && version > entry.version) {
+                removeSlots(id);
+            }
+
+            var chunk = allocateOrEvict(sizeClass);
+
+            if (chunk == null) {
+                return;
+            }
+
+            chunk.write(content);
+
+            var slot = new Slot(chunk, content.length);
+
+            removeSlot(key);
+            entries.computeIfAbsent(id, productId -> new ProductEntry(version))
+                    .slots
+                    .put(key, slot);
+            slots.put(key, slot);
+            keysBySlab.computeIfAbsent(chunk.slab(), slab -> new HashSet<>())
+                    .add(key);
+        }
+    }
+
+    public synchronized void evict(long id, int version) {
+        versionFloors.merge(id, version, Math::max);
+
+        var entry = entries.get(id);
+
+        if (entry != null && entry.version < version) {
+            removeSlots(id);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onProductSaved(ProductSavedEvent event) {
+        var product = event.product();
+
+        evict(product.id(), product.version());
+    }
+
+    @TransactionalEventListener
+    public void onProductDeleted(ProductDeletedEvent event) {
+        evict(event.id(), DELETED_VERSION);
+    }
+
+    @TransactionalEventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        event.versionsById()
+                .forEach(this::evict);
+    }
+
+    @TransactionalEventListener
+    public void onProductsDeleted(ProductsDeletedEvent event) {
+        event.ids()
+                .forEach(id -> evict(id, DELETED_VERSION));
+    }
+
+    // the least recently used json goes first whatever its size class: json of the same class leaves its chunk,
+    // json of another class is evicted with the rest of its slab, which goes back to the pool for any class
+    private SlabAllocator.Chunk allocateOrEvict(int sizeClass) {
+        var chunk = allocator.allocate(sizeClass);
+
+        while (chunk == null && !slots.isEmpty()) {
+            var eldest = slots.entrySet()
+                    .iterator()
+                    .next();
+            var eldestChunk = eldest.getValue().chunk;
+
+            if (eldestChunk.sizeClass() == sizeClass) {
+                removeSlot(eldest.getKey());
+            } else {
+                List.copyOf(keysBySlab.get(eldestChunk.slab()))
+                        .forEach(this::removeSlot);
+            }
+
+            chunk = allocator.allocate(sizeClass);
+        }
+
+        return chunk;
+    }
+
+    private void removeSlots(long id) {
+        List.copyOf(entries.get(id).slots.keySet())
+                .forEach(this::removeSlot);
+    }
+
+    private void removeSlot(SlotKey key) {
+        var entry = entries.get(key.id());
+        var slot = entry == null ? null : entry.slots.remove(key);
+
+        if (slot == null) {
+            return;
+        }
+
+        slots.remove(key);
+
+        var slabKeys = keysBySlab.get(slot.chunk.slab());
+
+        slabKeys.remove(key);
+
+        if (slabKeys.isEmpty()) {
+            keysBySlab.remove(slot.chunk.slab());
+        }
+
+        slot.removed = true;
+
+        if (slot.pins == 0) {
+            allocator.free(slot.chunk);
+        }
+
+        if (entry.slots.isEmpty()) {
+            entries.remove(key.id());
+        }
+    }
+
+    private synchronized void release(Slot slot) {
+        slot.pins--;
+
+        if (slot.removed && slot.pins == 0) {
+            allocator.free(slot.chunk);
+        }
+    }
+
+    private String toLanguageKey(String languageCode) {
+        return languageCode == null ? ALL_LANGUAGES : languageCode;
+    }
+
+    private byte[] gzip(byte[] content) {
+        var outputStream = new ByteArrayOutputStream(content.length / 2);
+
+        try (var gzipStream = new GZIPOutputStream(outputStream)) {
+            gzipStream.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    @FunctionalInterface
+    public interface JsonWriter {
+        void write(int version, ByteBuffer content, boolean gzipped) throws IOException;
+    }
+
+    private record SlotKey(long id, String languageKey, boolean gzipped) {
+    }
+
+    private static final class Slot {
+
+        private final SlabAllocator.Chunk chunk;
+        private final int length;
+        private int pins;
+        private boolean removed;
+
+        private Slot(SlabAllocator.Chunk chunk, int length) {
+            this.chunk = chunk;
+            this.length = length;
+        }
+    }
+
+    private static final class ProductEntry {
+
+        private final int version;
+        private final Map<SlotKey, Slot> slots = new HashMap<>(4);
+
+        private ProductEntry(int version) {
+            this.version = version;
+        }
+    }
+}
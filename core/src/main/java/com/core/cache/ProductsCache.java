@@ -0,0 +1,150 @@
+package com.core.cache;
+
+import com.core.dto.product.ProductResponseDto;
+import com.core.event.ProductDeletedEvent;
+import com.core.event.ProductSavedEvent;
+import com.core.event.ProductsChangedEvent;
+import com.core.event.ProductsDeletedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// reads take no lock: an entry remembers its last access and the eldest entries are dropped in batches by whichever
+// writer finds the cache over its size, so the order is approximately least recently used
+@Component
+public class ProductsCache {
+
+    // ids are never reused, so a deleted product keeps a tombstone that outranks any version
+    private static final int DELETED_VERSION = Integer.MAX_VALUE;
+    // one eviction scan makes room for this part of the max size, so a full cache is not scanned on each put
+    private static final int EVICTION_BATCH_DIVISOR = 16;
+
+    private final Map<Long, CacheEntry> entries = new ConcurrentHashMap<>();
+    // writes move the clock by two and reads stamp it plus one, so a read ranks above the writes made before it
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int maxSize;
+
+    public ProductsCache(@Value("${core.cache.products.max-size}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Optional<ProductResponseDto> get(long id) {
+        var entry = entries.get(id);
+
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        entry.touch(clock.get() + 1);
+
+        return Optional.ofNullable(entry.product());
+    }
+
+    public void put(ProductResponseDto product) {
+        entries.compute(product.id(), (id, entry) ->
+                entry == null || entry.version() < product.version()
+                        || (entry.product() == null && entry.version() == product.version())
+                        ? new CacheEntry(product.version(), product, clock.addAndGet(2))
+                        : entry);
+        evictEldest();
+    }
+
+    public void evict(long id) {
+        entries.put(id, new CacheEntry(DELETED_VERSION, null, clock.addAndGet(2)));
+        evictEldest();
+    }
+
+    public void evict(long id, int version) {
+        // the empty entry remembers the version, so a slower read of an older version cannot be cached
+        entries.compute(id, (key, entry) -> entry == null || entry.version() < version
+                ? new CacheEntry(version, null, clock.addAndGet(2))
+                : entry);
+        evictEldest();
+    }
+
+    @TransactionalEventListener
+    public void onProductSaved(ProductSavedEvent event) {
+        put(event.product());
+    }
+
+    @TransactionalEventListener
+    public void onProductDeleted(ProductDeletedEvent event) {
+        evict(event.id());
+    }
+
+    @TransactionalEventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        event.versionsById()
+                .forEach(this::evict);
+    }
+
+    @TransactionalEventListener
+    public void onProductsDeleted(ProductsDeletedEvent event) {
+        event.ids()
+                .forEach(id -> evict(id));
+    }
+
+    private void evictEldest() {
+        if (entries.size() <= maxSize || !evictionLock.tryLock()) {
+            return;
+        }
+
+        try {
+            var accessStamps = entries.values()
+                    .stream()
+                    .mapToLong(CacheEntry::getLastAccess)
+                    .sorted()
+                    .toArray();
+            var evictedCount = accessStamps.length - maxSize + maxSize / EVICTION_BATCH_DIVISOR;
+
+            if (evictedCount > 0) {
+                var lastEvictedStamp = accessStamps[Math.min(evictedCount, accessStamps.length) - 1];
+
+                // an entry replaced or read meanwhile is newer than the stamp and stays
+                entries.values()
+                        .removeIf(entry -> entry.getLastAccess() <= lastEvictedStamp);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class CacheEntry {
+
+        private final int version;
+        private final ProductResponseDto product;
+        private volatile long lastAccess;
+
+        private CacheEntry(int version, ProductResponseDto product, long lastAccess) {
+            this.version = version;
+            this.product = product;
+            this.lastAccess = lastAccess;
+        }
+
+        private int version() {
+            return version;
+        }
+
+        private ProductResponseDto product() {
+            return product;
+        }
+
+        private long getLastAccess() {
+            return lastAccess;
+        }
+
+        // a hot entry is stamped once per write of the cache, not on every read
+        private void touch(long stamp) {
+            if (lastAccess < stamp) {
+                lastAccess = stamp;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.core.cache;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+// a table read without locks and replaced as a whole, it is loaded by the first read and by no other cold read
+final class ReloadingTable<K, V> {
+
+    private final Supplier<Map<K, V>> loader;
+
+    private volatile Map<K, V> table;
+
+    ReloadingTable(Supplier<Map<K, V>> loader) {
+        this.loader = loader;
+    }
+
+    Map<K, V> get() {
+        var loadedTable = table;
+
+        return loadedTable == null ? load() : loadedTable;
+    }
+
+    // a table not loaded yet is left for the first read, which sees every committed change
+    synchronized void reload() {
+        if (table != null) {
+            table = loader.get();
+        }
+    }
+
+    private synchronized Map<K, V> load() {
+        if (table == null) {
+            table = loader.get();
+        }
+
+        return table;
+    }
+}
@@ -0,0 +1,143 @@
+package com.core.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// a slab serves one size class while any of its chunks is used, a slab with every chunk free goes back to the pool
+// and is cut again for the next class short of memory, so idle classes do not hold the budget
+class SlabAllocator {
+
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    private final int slabSize;
+    private final int maxSlabs;
+    private final int[] chunkSizes;
+    private final List<LinkedHashSet<Slab>> partialSlabsBySizeClass = new ArrayList<>();
+    private final Deque<Slab> emptySlabs = new ArrayDeque<>();
+    private int slabsCount;
+
+    SlabAllocator(long maxBytes, int slabSize) {
+        this.slabSize = slabSize;
+        this.maxSlabs = (int) Math.min(Integer.MAX_VALUE, maxBytes / slabSize);
+        this.chunkSizes = IntStream.iterate(MIN_CHUNK_SIZE, size -> size <= slabSize, size -> size * 2)
+                .toArray();
+
+        for (int i = 0; i < chunkSizes.length; i++) {
+            partialSlabsBySizeClass.add(new LinkedHashSet<>());
+        }
+    }
+
+    int getSizeClass(int length) {
+        for (int sizeClass = 0; sizeClass < chunkSizes.length; sizeClass++) {
+            if (length <= chunkSizes[sizeClass]) {
+                return sizeClass;
+            }
+        }
+
+        return -1;
+    }
+
+    Chunk allocate(int sizeClass) {
+        var partialSlabs = partialSlabsBySizeClass.get(sizeClass);
+        var slab = partialSlabs.isEmpty() ? takeEmptySlab(sizeClass) : partialSlabs.iterator().next();
+
+        if (slab == null) {
+            return null;
+        }
+
+        var chunk = new Chunk(sizeClass, slab, slab.takeOffset());
+
+        if (slab.isFull()) {
+            partialSlabs.remove(slab);
+        } else {
+            partialSlabs.add(slab);
+        }
+
+        return chunk;
+    }
+
+    void free(Chunk chunk) {
+        var slab = chunk.slab();
+        var partialSlabs = partialSlabsBySizeClass.get(chunk.sizeClass());
+
+        slab.putOffset(chunk.offset());
+
+        if (slab.isEmpty()) {
+            partialSlabs.remove(slab);
+            emptySlabs.push(slab);
+        } else {
+            partialSlabs.add(slab);
+        }
+    }
+
+    private Slab takeEmptySlab(int sizeClass) {
+        var slab = emptySlabs.poll();
+
+        if (slab == null) {
+            if (slabsCount == maxSlabs) {
+                return null;
+            }
+
+            slab = new Slab(ByteBuffer.allocateDirect(slabSize));
+            slabsCount++;
+        }
+
+        slab.cut(chunkSizes[sizeClass]);
+
+        return slab;
+    }
+
+    static final class Slab {
+
+        private final ByteBuffer buffer;
+        private int[] freeOffsets;
+        private int freeCount;
+
+        private Slab(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private void cut(int chunkSize) {
+            freeOffsets = new int[buffer.capacity() / chunkSize];
+            freeCount = freeOffsets.length;
+
+            // offsets are taken from the end of the stack, so chunks go from the start of the slab
+            for (int i = 0; i < freeCount; i++) {
+                freeOffsets[i] = (freeCount - 1 - i) * chunkSize;
+            }
+        }
+
+        private int takeOffset() {
+            return freeOffsets[--freeCount];
+        }
+
+        private void putOffset(int offset) {
+            freeOffsets[freeCount++] = offset;
+        }
+
+        private boolean isFull() {
+            return freeCount == 0;
+        }
+
+        private boolean isEmpty() {
+            return freeCount == freeOffsets.length;
+        }
+    }
+
+    record Chunk(int sizeClass, Slab slab, int offset) {
+
+        void write(byte[] content) {
+            slab.buffer.put(offset, content);
+        }
+
+        ByteBuffer slice(int length) {
+            return slab.buffer.slice(offset, length)
+                    .asReadOnlyBuffer();
+        }
+    }
+}
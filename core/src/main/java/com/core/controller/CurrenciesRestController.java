@@ -1,10 +1,17 @@
 package com.core.controller;
 
+import com.core.dto.CurrenciesResponseDto;
+import com.core.dto.CurrencyRateResponseDto;
+import com.core.dto.CurrencyRatesRequestDto;
 import com.core.dto.CurrencyRequestDto;
 import com.core.dto.CurrencyResponseDto;
+import com.core.dto.VersionedDto;
 import com.core.exception.NotFoundResourceException;
 import com.core.service.CurrenciesService;
+import com.core.service.CurrencyRatesService;
 import org.hibernate.validator.constraints.Length;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -12,6 +19,8 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
@@ -20,9 +29,16 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 public class CurrenciesRestController {
 
     private final CurrenciesService currenciesService;
+    private final CurrencyRatesService currencyRatesService;
+    private final CacheControl cacheControl;
 
-    public CurrenciesRestController(CurrenciesService currenciesService) {
+    public CurrenciesRestController(CurrenciesService currenciesService,
+                                    CurrencyRatesService currencyRatesService) {
         this.currenciesService = currenciesService;
+        this.currencyRatesService = currencyRatesService;
+        // rates change every second, so clients revalidate by etag on each request instead of keeping a stale copy
+        this.cacheControl = CacheControl.noCache()
+                .cachePublic();
     }
 
     @PostMapping(value = "/currency", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
@@ -39,10 +55,37 @@ public class CurrenciesRestController {
 
     @GetMapping(value = "/currency/{code}", produces = APPLICATION_JSON_VALUE)
     public ResponseEntity<CurrencyResponseDto> getByCode(@PathVariable @Length(min = 3, max = 3) String code) {
-        return currenciesService.getByCode(code)
-                .map(ResponseEntity::ok)
+        VersionedDto<CurrencyResponseDto> currency = currenciesService.getByCode(code)
                 .orElseThrow(
                         () -> new NotFoundResourceException(String.format("currency with code: %s not found", code)));
+
+        // an update may rename another currency to this code, its own id keeps the tags apart
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(currency.value().id() + "-" + currency.version())
+                .lastModified(currency.lastUpdateDate().atZone(ZoneId.systemDefault()))
+                .body(currency.value());
+    }
+
+    @GetMapping(value = "/currencies", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<CurrenciesResponseDto> getAll() {
+        var currencies = currenciesService.getAll();
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(currencies.version())
+                .body(currencies);
+    }
+
+    @GetMapping(value = "/currency/{code}/rate", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<CurrencyRateResponseDto> getRateAt(
+            @PathVariable @Length(min = 3, max = 3) String code,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        var rate = currencyRatesService.getAt(code, at)
+                .orElseThrow(() -> new NotFoundResourceException(
+                        String.format("rate of currency with code: %s at: %s not found", code, at)));
+
+        return ResponseEntity.ok(rate);
     }
 
     @PutMapping(value = "/currency/{id}", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
@@ -51,6 +94,15 @@ public class CurrenciesRestController {
         return ResponseEntity.ok(currenciesService.update(id, requestDto));
     }
 
+    // rates are written in the background by the next flush, so the request is only accepted
+    @PostMapping(value = "/currencies/rates", consumes = APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> updateRates(@RequestBody @Valid CurrencyRatesRequestDto requestDto) {
+        currencyRatesService.updateAll(requestDto.rates());
+
+        return ResponseEntity.accepted()
+                .build();
+    }
+
     @DeleteMapping(value = "/currency/{id}")
     public ResponseEntity<Void> deleteById(@PathVariable @Min(1) long id) {
         currenciesService.deleteById(id);
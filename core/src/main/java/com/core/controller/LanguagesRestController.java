@@ -2,9 +2,13 @@ package com.core.controller;
 
 import com.core.dto.LanguageRequestDto;
 import com.core.dto.LanguageResponseDto;
+import com.core.dto.LanguagesResponseDto;
+import com.core.dto.VersionedDto;
 import com.core.exception.NotFoundResourceException;
 import com.core.service.LanguagesService;
 import org.hibernate.validator.constraints.Length;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +17,8 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
+import java.time.Duration;
+import java.time.ZoneId;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
@@ -21,9 +27,13 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 public class LanguagesRestController {
 
     private final LanguagesService languagesService;
+    private final CacheControl cacheControl;
 
-    public LanguagesRestController(LanguagesService languagesService) {
+    public LanguagesRestController(LanguagesService languagesService,
+                                   @Value("${core.http.reference-max-age}") Duration maxAge) {
         this.languagesService = languagesService;
+        this.cacheControl = CacheControl.maxAge(maxAge)
+                .cachePublic();
     }
 
     @PostMapping(value = "/language", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
@@ -40,10 +50,26 @@ public class LanguagesRestController {
 
     @GetMapping(value = "/language/{code}", produces = APPLICATION_JSON_VALUE)
     public ResponseEntity<LanguageResponseDto> getByCode(@PathVariable @NotBlank @Length(max = 3) String code) {
-        return languagesService.getByCode(code)
-                .map(ResponseEntity::ok)
+        VersionedDto<LanguageResponseDto> language = languagesService.getByCode(code)
                 .orElseThrow(
                         () -> new NotFoundResourceException(String.format("language with code: %s not found", code)));
+
+        // a deleted language's code may be given to a new one, whose tag differs by the id
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(language.value().id() + "-" + language.version())
+                .lastModified(language.lastUpdateDate().atZone(ZoneId.systemDefault()))
+                .body(language.value());
+    }
+
+    @GetMapping(value = "/languages", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<LanguagesResponseDto> getAll() {
+        var languages = languagesService.getAll();
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(languages.version())
+                .body(languages);
     }
 
     @PutMapping(value = "/language/{id}", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
@@ -0,0 +1,97 @@
+package com.core.controller;
+
+import com.core.dto.product.ProductImportLine;
+import com.core.dto.product.ProductRequestDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// reads products one by one, so an import never holds the whole body; a syntax error ends the stream.
+// products of a newline delimited stream are reported by line, products of an array by index from 1
+class ProductImportReader implements Iterator<ProductImportLine>, Closeable {
+
+    private final JsonParser parser;
+    private final ObjectReader productReader;
+    private MappingIterator<ProductRequestDto> products;
+    private boolean array;
+    private long readCount;
+    private ProductImportLine nextLine;
+    private boolean finished;
+
+    ProductImportReader(JsonParser parser, ObjectReader productReader) {
+        this.parser = parser;
+        this.productReader = productReader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextLine == null && !finished) {
+            nextLine = readLine();
+        }
+
+        return nextLine != null;
+    }
+
+    @Override
+    public ProductImportLine next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        var line = nextLine;
+
+        nextLine = null;
+
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private ProductImportLine readLine() {
+        try {
+            if (products == null) {
+                // values of a top level array are read as a sequence, the same way as root level values
+                if (parser.nextToken() == JsonToken.START_ARRAY) {
+                    parser.clearCurrentToken();
+                    array = true;
+                }
+
+                products = productReader.readValues(parser);
+            }
+
+            if (!products.hasNextValue()) {
+                finished = true;
+
+                return null;
+            }
+
+            var line = array ? ++readCount : parser.getTokenLocation().getLineNr();
+
+            try {
+                var product = products.nextValue();
+
+                return product == null
+                        ? new ProductImportLine(line, null, "product must not be null")
+                        : new ProductImportLine(line, product, null);
+            } catch (JsonMappingException e) {
+                return new ProductImportLine(line, null, e.getOriginalMessage());
+            }
+        } catch (IOException e) {
+            finished = true;
+
+            var line = array ? readCount + 1 : parser.getTokenLocation().getLineNr();
+
+            return new ProductImportLine(line, null, e.getMessage());
+        }
+    }
+}
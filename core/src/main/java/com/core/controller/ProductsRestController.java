@@ -1,27 +1,92 @@
 package com.core.controller;
 
-import com.core.dto.product.ProductRequestDto;
-import com.core.dto.product.ProductResponseDto;
+import com.core.cache.CurrencyRatesCache;
+import com.core.cache.CurrencyRatesCache.CurrencyRate;
+import com.core.cache.ProductJsonCache;
+import com.core.dto.product.*;
+import com.core.exception.InvalidFilterException;
 import com.core.exception.NotFoundResourceException;
+import com.core.exception.UnknownCurrencyException;
+import com.core.exception.VersionMismatchException;
+import com.core.service.ProductsImportService;
 import com.core.service.ProductsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.hibernate.validator.constraints.Length;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static org.springframework.http.HttpHeaders.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
 @Validated
 @RestController
 public class ProductsRestController {
 
+    private static final int MAX_PRODUCTS_PER_REQUEST = 100;
+    private static final int MAX_SEARCH_PAGE = 100;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int MAX_FEATURE_FILTERS = 10;
+    private static final int MAX_FEATURE_FILTER_VALUES = 20;
+    private static final int MAX_FEATURE_NAME_LENGTH = 150;
+    private static final int MAX_FEATURE_VALUE_LENGTH = 100;
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final String FEATURE_PARAM_PREFIX = "feature.";
+    private static final String LANGUAGE_PARAM = "lang";
+    private static final String CURRENCY_PARAM = "currency";
+    private static final String GZIP_ENCODING = "gzip";
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    private static final String WEAK_ETAG_PREFIX = "W/";
+    private static final String ANY_ETAG = "*";
+
+    private static final char LINE_SEPARATOR = '\n';
+
     private final ProductsService productsService;
+    private final ProductsImportService productsImportService;
+    private final ProductJsonCache productJsonCache;
+    private final CurrencyRatesCache currencyRatesCache;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter productWriter;
+    private final ObjectReader productReader;
 
-    public ProductsRestController(ProductsService productsService) {
+    public ProductsRestController(ProductsService productsService, ProductsImportService productsImportService,
+                                  ProductJsonCache productJsonCache, CurrencyRatesCache currencyRatesCache,
+                                  ObjectMapper objectMapper) {
         this.productsService = productsService;
+        this.productsImportService = productsImportService;
+        this.productJsonCache = productJsonCache;
+        this.currencyRatesCache = currencyRatesCache;
+        this.objectMapper = objectMapper;
+        this.productWriter = objectMapper.writerFor(ProductResponseDto.class);
+        this.productReader = objectMapper.readerFor(ProductRequestDto.class);
     }
 
     @PostMapping(value = "/product", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
@@ -36,11 +101,123 @@ public class ProductsRestController {
                 .body(product);
     }
 
+    @PostMapping(value = "/products/import", consumes = {APPLICATION_NDJSON_VALUE, APPLICATION_JSON_VALUE},
+            produces = APPLICATION_JSON_VALUE)
+    public ProductsImportReportDto importAll(HttpServletRequest request) throws IOException {
+        var parser = objectMapper.getFactory()
+                .createParser(request.getInputStream());
+
+        try (var lines = new ProductImportReader(parser, productReader)) {
+            return productsImportService.importAll(lines);
+        }
+    }
+
     @GetMapping(value = "/product/{id}", produces = APPLICATION_JSON_VALUE)
-    public ResponseEntity<ProductResponseDto> getById(@PathVariable @Min(1) long id) {
-        return productsService.getById(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<byte[]> getById(
+            @PathVariable @Min(1) long id,
+            @RequestParam(name = LANGUAGE_PARAM, required = false) @Length(min = 1, max = 3) String languageCode,
+            @RequestParam(name = CURRENCY_PARAM, required = false) @Length(min = 3, max = 3) String currencyCode,
+            WebRequest request, HttpServletResponse response) throws IOException {
+        var rate = findRate(currencyCode);
+
+        if (request.getHeader(IF_NONE_MATCH) != null) {
+            var version = productJsonCache.getVersion(id)
+                    .or(() -> productsService.getVersionById(id));
+
+            if (version.isPresent() && request.checkNotModified(makeETag(id, version.get(), languageCode, rate))) {
+                return null;
+            }
+        }
+
+        if (rate != null) {
+            var product = productsService.getById(id, languageCode)
+                    .map(found -> convertPrice(found, rate))
+                    .orElseThrow(() -> new NotFoundResourceException(
+                            String.format("product with id: %s not found", id)));
+            var json = productWriter.writeValueAsBytes(product);
+
+            return makeJsonResponse(id, languageCode, rate, product.version(), json);
+        }
+
+        var acceptEncoding = request.getHeader(ACCEPT_ENCODING);
+        var acceptGzip = acceptEncoding != null && acceptEncoding.contains(GZIP_ENCODING);
+
+        // a hit is written straight from the cache memory, the response is complete when null is returned
+        if (productJsonCache.writeTo(id, languageCode, acceptGzip, (version, content, gzipped) ->
+                writeCachedJson(response, id, languageCode, version, content, gzipped))) {
+            return null;
+        }
+
+        var product = productsService.getById(id, languageCode)
                 .orElseThrow(() -> new NotFoundResourceException(String.format("product with id: %s not found", id)));
+        var json = productWriter.writeValueAsBytes(product);
+
+        productJsonCache.put(id, languageCode, acceptGzip, product.version(), json);
+
+        return makeJsonResponse(id, languageCode, null, product.version(), json);
+    }
+
+    @GetMapping(value = "/product", params = "ids", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ProductResponseDto>> getAllByIds(
+            @RequestParam @NotEmpty @Size(max = MAX_PRODUCTS_PER_REQUEST) List<@Min(1) Long> ids,
+            @RequestParam(name = LANGUAGE_PARAM, required = false) @Length(min = 1, max = 3) String languageCode,
+            @RequestParam(name = CURRENCY_PARAM, required = false) @Length(min = 3, max = 3) String currencyCode) {
+        var rate = findRate(currencyCode);
+
+        return ResponseEntity.ok(convertPrices(productsService.getAllByIdIn(ids, languageCode), rate));
+    }
+
+    @GetMapping(value = "/products", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductsPageDto> getPage(
+            @RequestParam(defaultValue = "ID") ProductSort sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PRODUCTS_PER_REQUEST) int size,
+            @RequestParam(name = LANGUAGE_PARAM, required = false) @Length(min = 1, max = 3) String languageCode,
+            @RequestParam(name = CURRENCY_PARAM, required = false) @Length(min = 3, max = 3) String currencyCode,
+            @RequestParam(required = false) @Min(0) BigDecimal minPrice,
+            @RequestParam(required = false) @Min(0) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @RequestParam MultiValueMap<String, String> parameters) {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new InvalidFilterException("minPrice must not be greater than maxPrice");
+        }
+
+        var rate = findRate(currencyCode);
+        // price bounds are given in the requested currency
+        var filter = new ProductsFilterDto(parseFeatureFilters(parameters), convertBack(minPrice, rate),
+                convertBack(maxPrice, rate));
+        var pageRequest = new ProductsPageRequestDto(sort, direction, cursor, size, languageCode, filter, facets);
+        var page = productsService.getPage(pageRequest);
+
+        if (rate == null) {
+            return ResponseEntity.ok(page);
+        }
+
+        return ResponseEntity.ok(new ProductsPageDto(convertPrices(page.products(), rate), page.nextCursor(),
+                page.facets()));
+    }
+
+    @GetMapping(value = "/products/search", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductsSearchPageDto> search(
+            @RequestParam(name = "q") @NotBlank @Length(max = MAX_SEARCH_QUERY_LENGTH) String query,
+            @RequestParam(defaultValue = "0") @Min(0) @Max(MAX_SEARCH_PAGE) int page,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PRODUCTS_PER_REQUEST) int size,
+            @RequestParam(name = LANGUAGE_PARAM, required = false) @Length(min = 1, max = 3) String languageCode) {
+        var searchRequest = new ProductsSearchRequestDto(query, languageCode, page, size);
+
+        return ResponseEntity.ok(productsService.search(searchRequest));
+    }
+
+    @GetMapping(value = "/products/export", produces = APPLICATION_NDJSON_VALUE)
+    public void export(
+            @RequestParam(name = LANGUAGE_PARAM, required = false) @Length(min = 1, max = 3) String languageCode,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        var outputStream = response.getOutputStream();
+
+        productsService.exportAll(languageCode, product -> writeLine(outputStream, product));
+        outputStream.flush();
     }
 
     @PutMapping(value = "/product/{id}", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
@@ -49,10 +226,187 @@ public class ProductsRestController {
         return ResponseEntity.ok(productsService.update(id, requestDto));
     }
 
+    @PatchMapping(value = "/product/{id}", consumes = {MERGE_PATCH_JSON_VALUE, APPLICATION_JSON_VALUE},
+            produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductResponseDto> patch(@PathVariable @Min(1) long id,
+                                                    @RequestHeader(name = IF_MATCH, required = false) String ifMatch,
+                                                    @RequestBody @Valid ProductPatchRequestDto requestDto) {
+        var product = productsService.patch(id, parseExpectedVersion(id, ifMatch), requestDto);
+
+        return ResponseEntity.ok()
+                .eTag(makeETag(id, product.version(), null, null))
+                .body(product);
+    }
+
+    @PatchMapping(value = "/products/prices", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductPricesReportDto> updatePrices(@RequestBody @Valid ProductPricesRequestDto requestDto) {
+        return ResponseEntity.ok(productsService.updatePrices(requestDto.prices()));
+    }
+
+    @PostMapping(value = "/products/prices/adjustment", consumes = APPLICATION_JSON_VALUE,
+            produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductPricesReportDto> adjustPrices(
+            @RequestBody @Valid ProductPricesAdjustmentRequestDto requestDto) {
+        return ResponseEntity.ok(productsService.adjustPrices(requestDto));
+    }
+
+    @PostMapping(value = "/products/deletion", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductsDeletionReportDto> deleteAll(
+            @RequestBody @Valid ProductsDeletionRequestDto requestDto) {
+        return ResponseEntity.ok(productsService.deleteAllByIdIn(requestDto.ids()));
+    }
+
     @DeleteMapping(value = "/product/{id}")
     public ResponseEntity<Void> deleteById(@PathVariable @Min(1) long id) {
         productsService.deleteById(id);
         return ResponseEntity.noContent()
                 .build();
     }
+
+    private Map<String, Set<String>> parseFeatureFilters(MultiValueMap<String, String> parameters) {
+        Map<String, Set<String>> features = new LinkedHashMap<>();
+
+        for (var parameter : parameters.entrySet()) {
+            if (!parameter.getKey().startsWith(FEATURE_PARAM_PREFIX)) {
+                continue;
+            }
+
+            var name = parameter.getKey().substring(FEATURE_PARAM_PREFIX.length());
+            var values = new LinkedHashSet<>(parameter.getValue());
+
+            if (name.isEmpty() || name.length() > MAX_FEATURE_NAME_LENGTH) {
+                throw new InvalidFilterException(String.format("feature name length must be between 1 and %s",
+                        MAX_FEATURE_NAME_LENGTH));
+            }
+
+            if (values.size() > MAX_FEATURE_FILTER_VALUES) {
+                throw new InvalidFilterException(String.format("feature %s must have at most %s values", name,
+                        MAX_FEATURE_FILTER_VALUES));
+            }
+
+            if (values.stream().anyMatch(value -> value.isEmpty() || value.length() > MAX_FEATURE_VALUE_LENGTH)) {
+                throw new InvalidFilterException(String.format("feature %s value length must be between 1 and %s",
+                        name, MAX_FEATURE_VALUE_LENGTH));
+            }
+
+            features.put(name, values);
+        }
+
+        if (features.size() > MAX_FEATURE_FILTERS) {
+            throw new InvalidFilterException(String.format("at most %s features can be filtered",
+                    MAX_FEATURE_FILTERS));
+        }
+
+        return features;
+    }
+
+    private CurrencyRate findRate(String currencyCode) {
+        if (currencyCode == null) {
+            return null;
+        }
+
+        return currencyRatesCache.get(currencyCode)
+                .orElseThrow(() -> new UnknownCurrencyException(
+                        String.format("currency with code: %s is not supported", currencyCode)));
+    }
+
+    private List<ProductResponseDto> convertPrices(List<ProductResponseDto> products, CurrencyRate rate) {
+        if (rate == null) {
+            return products;
+        }
+
+        return products.stream()
+                .map(product -> convertPrice(product, rate))
+                .toList();
+    }
+
+    private ProductResponseDto convertPrice(ProductResponseDto product, CurrencyRate rate) {
+        return new ProductResponseDto(product.id(), rate.convert(product.price()), product.version(),
+                product.descriptions(), product.features());
+    }
+
+    private BigDecimal convertBack(BigDecimal price, CurrencyRate rate) {
+        return price == null || rate == null ? price : rate.convertBack(price);
+    }
+
+    private ResponseEntity<byte[]> makeJsonResponse(long id, String languageCode, CurrencyRate rate, int version,
+                                                    byte[] json) {
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_JSON)
+                .varyBy(ACCEPT_ENCODING)
+                .eTag(makeETag(id, version, languageCode, rate))
+                .body(json);
+    }
+
+    private void writeCachedJson(HttpServletResponse response, long id, String languageCode, int version,
+                                 ByteBuffer content, boolean gzipped) throws IOException {
+        var eTag = "\"" + makeETag(id, version, languageCode, null) + "\"";
+
+        response.setContentType(APPLICATION_JSON_VALUE);
+        response.setContentLength(content.remaining());
+        response.setHeader(VARY, ACCEPT_ENCODING);
+
+        if (gzipped) {
+            // the compressed body is another representation of the same version, so its tag is weak
+            response.setHeader(ETAG, WEAK_ETAG_PREFIX + eTag);
+            response.setHeader(CONTENT_ENCODING, GZIP_ENCODING);
+        } else {
+            response.setHeader(ETAG, eTag);
+        }
+
+        var channel = Channels.newChannel(response.getOutputStream());
+
+        while (content.hasRemaining()) {
+            channel.write(content);
+        }
+    }
+
+    private String makeETag(long id, int version, String languageCode, CurrencyRate rate) {
+        var tag = id + "-" + version;
+
+        if (languageCode != null) {
+            tag += "-" + languageCode;
+        }
+
+        // the rate is a part of a converted representation, so a changed rate changes the tag
+        return rate == null ? tag : tag + "-" + rate.code() + rate.multiplier().stripTrailingZeros().toPlainString();
+    }
+
+    private Integer parseExpectedVersion(long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY_ETAG.equals(ifMatch.trim())) {
+            return null;
+        }
+
+        var tag = ifMatch.trim();
+
+        if (tag.startsWith(WEAK_ETAG_PREFIX)) {
+            tag = tag.substring(WEAK_ETAG_PREFIX.length());
+        }
+
+        // a tag of any representation carries the version, see makeETag
+        String[] parts = tag.replace("\"", "").split("-");
+
+        if (parts.length < 2 || !parts[0].equals(String.valueOf(id))) {
+            throw makeTagMismatchException(id, ifMatch);
+        }
+
+        try {
+            return Integer.valueOf(parts[1]);
+        } catch (NumberFormatException ex) {
+            throw makeTagMismatchException(id, ifMatch);
+        }
+    }
+
+    private VersionMismatchException makeTagMismatchException(long id, String ifMatch) {
+        return new VersionMismatchException(String.format("product with id: %s does not match tag: %s", id, ifMatch));
+    }
+
+    private void writeLine(ServletOutputStream outputStream, ProductResponseDto product) {
+        try {
+            outputStream.write(productWriter.writeValueAsBytes(product));
+            outputStream.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package com.core.controller.advice;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+// limits log records of every error type per interval, records over the limit are only counted
+class ErrorLogLimiter {
+
+    private final int limitPerInterval;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, Window> windowsByType = new ConcurrentHashMap<>();
+
+    ErrorLogLimiter(int limitPerInterval, Duration interval, LongSupplier nanoClock) {
+        this.limitPerInterval = limitPerInterval;
+        this.intervalNanos = interval.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    // the action gets the number of records of the type suppressed since the previous logged one
+    void log(String type, LongConsumer logAction) {
+        var nowNanos = nanoClock.getAsLong();
+        var suppressedCount = windowsByType.computeIfAbsent(type, key -> new Window(nowNanos))
+                .acquire(nowNanos);
+
+        if (suppressedCount >= 0) {
+            logAction.accept(suppressedCount);
+        }
+    }
+
+    private final class Window {
+
+        private long startNanos;
+        private int loggedCount;
+        private long suppressedCount;
+
+        private Window(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        // returns -1 when the record is suppressed
+        private synchronized long acquire(long nowNanos) {
+            if (nowNanos - startNanos >= intervalNanos) {
+                startNanos = nowNanos;
+                loggedCount = 0;
+            }
+
+            if (loggedCount == limitPerInterval) {
+                suppressedCount++;
+
+                return -1;
+            }
+
+            var suppressedBefore = suppressedCount;
+
+            loggedCount++;
+            suppressedCount = 0;
+
+            return suppressedBefore;
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.core.controller.advice;
 
 import com.core.dto.ApiError;
+import com.core.exception.InvalidCursorException;
+import com.core.exception.InvalidFilterException;
 import com.core.exception.NotFoundResourceException;
 import com.core.exception.UniqueConstraintException;
+import com.core.exception.UnknownCurrencyException;
+import com.core.exception.VersionMismatchException;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +27,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -29,10 +37,24 @@ import static org.springframework.http.HttpStatus.*;
 public class RestExceptionHandler extends ResponseEntityExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(RestExceptionHandler.class);
+    private static final String ERRORS_METRIC = "core.http.errors";
+    private static final String TYPE_TAG = "type";
+    private static final String STATUS_TAG = "status";
+    private static final String LOG_FORMAT = "{}: type={}, status={}, suppressed={}, message={}";
+
+    private final MeterRegistry meterRegistry;
+    private final ErrorLogLimiter logLimiter;
+
+    public RestExceptionHandler(MeterRegistry meterRegistry,
+                                @Value("${core.logging.errors.limit-per-interval}") int limitPerInterval,
+                                @Value("${core.logging.errors.interval}") Duration interval) {
+        this.meterRegistry = meterRegistry;
+        this.logLimiter = new ErrorLogLimiter(limitPerInterval, interval, System::nanoTime);
+    }
 
     @ExceptionHandler(NotFoundResourceException.class)
     public ResponseEntity<ApiError> handleNotFoundResourceException(NotFoundResourceException ex) {
-        logger.info("resource not found", ex);
+        logExpectedError("resource not found", NOT_FOUND, ex);
         var error = new ApiError.Builder()
                 .status(NOT_FOUND)
                 .date(LocalDateTime.now())
@@ -45,7 +67,7 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(UniqueConstraintException.class)
     public ResponseEntity<ApiError> handleUniqueConstraintException(UniqueConstraintException ex) {
-        logger.info("unique constraint exception", ex);
+        logExpectedError("unique constraint exception", CONFLICT, ex);
         var error = new ApiError.Builder()
                 .status(CONFLICT)
                 .date(LocalDateTime.now())
@@ -56,9 +78,61 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
                 .body(error);
     }
 
+    @ExceptionHandler(VersionMismatchException.class)
+    public ResponseEntity<ApiError> handleVersionMismatchException(VersionMismatchException ex) {
+        logExpectedError("version mismatch", PRECONDITION_FAILED, ex);
+        var error = new ApiError.Builder()
+                .status(PRECONDITION_FAILED)
+                .date(LocalDateTime.now())
+                .messages(List.of(ex.getMessage()))
+                .build();
+
+        return ResponseEntity.status(PRECONDITION_FAILED)
+                .body(error);
+    }
+
+    @ExceptionHandler(InvalidFilterException.class)
+    public ResponseEntity<ApiError> handleInvalidFilterException(InvalidFilterException ex) {
+        logExpectedError("invalid filter", BAD_REQUEST, ex);
+        var error = new ApiError.Builder()
+                .status(BAD_REQUEST)
+                .date(LocalDateTime.now())
+                .messages(List.of(ex.getMessage()))
+                .build();
+
+        return ResponseEntity.badRequest()
+                .body(error);
+    }
+
+    @ExceptionHandler(UnknownCurrencyException.class)
+    public ResponseEntity<ApiError> handleUnknownCurrencyException(UnknownCurrencyException ex) {
+        logExpectedError("unknown currency", BAD_REQUEST, ex);
+        var error = new ApiError.Builder()
+                .status(BAD_REQUEST)
+                .date(LocalDateTime.now())
+                .messages(List.of(ex.getMessage()))
+                .build();
+
+        return ResponseEntity.badRequest()
+                .body(error);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiError> handleInvalidCursorException(InvalidCursorException ex) {
+        logExpectedError("invalid cursor", BAD_REQUEST, ex);
+        var error = new ApiError.Builder()
+                .status(BAD_REQUEST)
+                .date(LocalDateTime.now())
+                .messages(List.of(ex.getMessage()))
+                .build();
+
+        return ResponseEntity.badRequest()
+                .body(error);
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ApiError> handleConstraintViolationException(ConstraintViolationException ex) {
-        logger.info("bad request", ex);
+        logExpectedError("bad request", BAD_REQUEST, ex);
         List<String> messages = ex.getConstraintViolations()
                 .stream()
                 .map(this::extractMessages)
@@ -79,7 +153,7 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
                                                                   @NonNull HttpHeaders headers,
                                                                   @NonNull HttpStatus status,
                                                                   @NonNull WebRequest request) {
-        logger.error("not valid request arguments", ex);
+        logExpectedError("not valid request arguments", BAD_REQUEST, ex);
         List<String> messages = ex.getFieldErrors()
                 .stream()
                 .map(this::extractMessages)
@@ -100,7 +174,7 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
                                                                   @NonNull HttpHeaders headers,
                                                                   @NonNull HttpStatus status,
                                                                   @NonNull WebRequest request) {
-        logger.error("not readable request body", ex);
+        logExpectedError("not readable request body", BAD_REQUEST, ex);
         var error = new ApiError.Builder()
                 .status(BAD_REQUEST)
                 .date(LocalDateTime.now())
@@ -117,7 +191,7 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
                                                                      @NonNull HttpHeaders headers,
                                                                      @NonNull HttpStatus status,
                                                                      @NonNull WebRequest request) {
-        logger.error("media type not supported", ex);
+        logExpectedError("media type not supported", UNSUPPORTED_MEDIA_TYPE, ex);
         var error = new ApiError.Builder()
                 .status(UNSUPPORTED_MEDIA_TYPE)
                 .date(LocalDateTime.now())
@@ -128,6 +202,43 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
                 .body(error);
     }
 
+    @NonNull
+    @Override
+    protected ResponseEntity<Object> handleTypeMismatch(@NonNull TypeMismatchException ex,
+                                                        @NonNull HttpHeaders headers,
+                                                        @NonNull HttpStatus status,
+                                                        @NonNull WebRequest request) {
+        logExpectedError("type mismatch", BAD_REQUEST, ex);
+        var message = String.format("property: %s, has not valid value: %s", ex.getPropertyName(), ex.getValue());
+        var error = new ApiError.Builder()
+                .status(BAD_REQUEST)
+                .date(LocalDateTime.now())
+                .messages(List.of(message))
+                .build();
+
+        return ResponseEntity.badRequest()
+                .body(error);
+    }
+
+    // every error is counted, while only a limited number of records of its type is logged per interval;
+    // errors of the client are expected, so they go without stack traces
+    private void logExpectedError(String description, HttpStatus status, Exception ex) {
+        var type = countError(status, ex);
+
+        logLimiter.log(type, suppressedCount -> logger.info(LOG_FORMAT, description, type, status.value(),
+                suppressedCount, ex.getMessage()));
+    }
+
+    private String countError(HttpStatus status, Exception ex) {
+        var type = ex.getClass()
+                .getSimpleName();
+
+        meterRegistry.counter(ERRORS_METRIC, TYPE_TAG, type, STATUS_TAG, String.valueOf(status.value()))
+                .increment();
+
+        return type;
+    }
+
     private String extractMessages(ConstraintViolation<?> violation) {
         var message = violation.getMessage();
         var propertyPath = violation.getPropertyPath();
@@ -0,0 +1,12 @@
+package com.core.dto;
+
+import org.hibernate.validator.constraints.Length;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.math.BigDecimal;
+
+public record CurrencyRateRequestDto(@NotBlank @Length(min = 3, max = 3) String code,
+                                     @NotNull @Positive BigDecimal multiplier) {
+}
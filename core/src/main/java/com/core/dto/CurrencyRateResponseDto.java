@@ -0,0 +1,7 @@
+package com.core.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record CurrencyRateResponseDto(String code, BigDecimal multiplier, LocalDateTime validFrom) {
+}
@@ -0,0 +1,9 @@
+package com.core.dto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+public record CurrencyRatesRequestDto(@Valid @NotEmpty @Size(max = 10_000) List<CurrencyRateRequestDto> rates) {
+}
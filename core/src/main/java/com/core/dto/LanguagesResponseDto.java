@@ -0,0 +1,6 @@
+package com.core.dto;
+
+import java.util.List;
+
+public record LanguagesResponseDto(String version, List<LanguageResponseDto> languages) {
+}
@@ -0,0 +1,6 @@
+package com.core.dto;
+
+import java.time.LocalDateTime;
+
+public record VersionedDto<T>(T value, int version, LocalDateTime lastUpdateDate) {
+}
@@ -0,0 +1,53 @@
+package com.core.dto.product;
+
+import com.core.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+public record ProductCursor(ProductSort sort, Sort.Direction direction, long id, String value) {
+
+    private static final String DELIMITER = "|";
+
+    public String encode() {
+        var token = String.join(DELIMITER, sort.name(), direction.name(), String.valueOf(id), value);
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token, ProductSort sort, Sort.Direction direction) {
+        ProductCursor cursor;
+
+        try {
+            var decodedToken = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decodedToken.split("\\|", 4);
+
+            cursor = new ProductCursor(ProductSort.valueOf(parts[0]), Sort.Direction.valueOf(parts[1]),
+                    Long.parseLong(parts[2]), parts[3]);
+            checkValue(cursor.sort(), cursor.value());
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException(String.format("cursor: %s is not valid", token));
+        }
+
+        if (cursor.sort() != sort || cursor.direction() != direction) {
+            throw new InvalidCursorException(String.format("cursor: %s does not match sort: %s %s", token, sort,
+                    direction));
+        }
+
+        return cursor;
+    }
+
+    // the value is cast to the type of the sort column in sql, so a tampered one is rejected before the query
+    private static void checkValue(ProductSort sort, String value) {
+        switch (sort) {
+            case ID -> Long.parseLong(value);
+            case PRICE -> new BigDecimal(value);
+            case LAST_UPDATE_DATE -> Timestamp.valueOf(value);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.core.dto.product;
+
+import org.hibernate.validator.constraints.Length;
+
+public record ProductDescriptionPatchDto(@Length(min = 1, max = 3) String languageCode,
+                                         @Length(min = 1, max = 250) String title,
+                                         @Length(min = 1, max = 2500) String description) {
+}
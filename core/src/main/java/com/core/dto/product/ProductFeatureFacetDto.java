@@ -0,0 +1,4 @@
+package com.core.dto.product;
+
+public record ProductFeatureFacetDto(String name, String value, long count) {
+}
@@ -0,0 +1,8 @@
+package com.core.dto.product;
+
+import org.hibernate.validator.constraints.Length;
+
+public record ProductFeaturePatchDto(@Length(min = 1, max = 3) String languageCode,
+                                     @Length(min = 1, max = 150) String name,
+                                     @Length(min = 1, max = 100) String value) {
+}
@@ -0,0 +1,4 @@
+package com.core.dto.product;
+
+public record ProductImportLine(long line, ProductRequestDto product, String error) {
+}
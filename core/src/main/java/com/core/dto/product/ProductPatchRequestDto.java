@@ -0,0 +1,17 @@
+package com.core.dto.product;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import java.math.BigDecimal;
+import java.util.Map;
+
+// JSON Merge Patch: a null child is removed, a null price or child field keeps the current value
+public record ProductPatchRequestDto(@Min(0) BigDecimal price,
+                                     Map<@Min(1) Long, @Valid ProductDescriptionPatchDto> descriptions,
+                                     Map<@Min(1) Long, @Valid ProductFeaturePatchDto> features) {
+
+    public ProductPatchRequestDto {
+        descriptions = descriptions == null ? Map.of() : descriptions;
+        features = features == null ? Map.of() : features;
+    }
+}
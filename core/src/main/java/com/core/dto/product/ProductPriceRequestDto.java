@@ -0,0 +1,9 @@
+package com.core.dto.product;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.math.BigDecimal;
+
+public record ProductPriceRequestDto(@NotNull @Min(1) Long id, @NotNull @Min(0) BigDecimal price,
+                                     @NotNull @Min(0) Integer expectedVersion) {
+}
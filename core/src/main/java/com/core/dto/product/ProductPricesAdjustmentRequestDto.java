@@ -0,0 +1,13 @@
+package com.core.dto.product;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.util.Set;
+
+public record ProductPricesAdjustmentRequestDto(@NotEmpty @Size(max = 100_000) Set<@NotNull @Min(1) Long> ids,
+                                                @NotNull @DecimalMin(value = "-100") BigDecimal percent) {
+}
@@ -0,0 +1,6 @@
+package com.core.dto.product;
+
+import java.util.List;
+
+public record ProductPricesReportDto(int updated, List<Long> conflictedIds, List<Long> notFoundIds) {
+}
@@ -0,0 +1,9 @@
+package com.core.dto.product;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+public record ProductPricesRequestDto(@Valid @NotEmpty @Size(max = 100_000) List<ProductPriceRequestDto> prices) {
+}
@@ -3,6 +3,7 @@ package com.core.dto.product;
 import java.math.BigDecimal;
 import java.util.List;
 
-public record ProductResponseDto(Long id, BigDecimal price, List<ProductDescriptionResponseDto> descriptions,
+public record ProductResponseDto(Long id, BigDecimal price, int version,
+                                 List<ProductDescriptionResponseDto> descriptions,
                                  List<ProductFeatureResponseDto> features) {
 }
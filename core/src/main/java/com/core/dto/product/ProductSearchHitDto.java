@@ -0,0 +1,7 @@
+package com.core.dto.product;
+
+import com.core.dto.LanguageResponseDto;
+
+public record ProductSearchHitDto(long productId, long descriptionId, LanguageResponseDto language, String title,
+                                  float rank) {
+}
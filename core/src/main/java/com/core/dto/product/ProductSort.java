@@ -0,0 +1,7 @@
+package com.core.dto.product;
+
+public enum ProductSort {
+    ID,
+    PRICE,
+    LAST_UPDATE_DATE
+}
@@ -0,0 +1,6 @@
+package com.core.dto.product;
+
+import java.util.List;
+
+public record ProductsDeletionReportDto(int deleted, List<Long> notFoundIds) {
+}
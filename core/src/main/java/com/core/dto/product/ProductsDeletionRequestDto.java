@@ -0,0 +1,10 @@
+package com.core.dto.product;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.Set;
+
+public record ProductsDeletionRequestDto(@NotEmpty @Size(max = 100_000) Set<@NotNull @Min(1) Long> ids) {
+}
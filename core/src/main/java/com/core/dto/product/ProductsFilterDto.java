@@ -0,0 +1,13 @@
+package com.core.dto.product;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
+// values of a feature are alternatives, all features must match, price bounds are inclusive
+public record ProductsFilterDto(Map<String, Set<String>> features, BigDecimal minPrice, BigDecimal maxPrice) {
+
+    public boolean hasFeatures() {
+        return !features.isEmpty();
+    }
+}
@@ -0,0 +1,7 @@
+package com.core.dto.product;
+
+import java.util.List;
+
+public record ProductsPageDto(List<ProductResponseDto> products, String nextCursor,
+                              List<ProductFeatureFacetDto> facets) {
+}
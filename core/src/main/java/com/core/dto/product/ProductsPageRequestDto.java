@@ -0,0 +1,7 @@
+package com.core.dto.product;
+
+import org.springframework.data.domain.Sort;
+
+public record ProductsPageRequestDto(ProductSort sort, Sort.Direction direction, String cursor, int size,
+                                     String languageCode, ProductsFilterDto filter, boolean facets) {
+}
@@ -0,0 +1,4 @@
+package com.core.dto.product;
+
+public record ProductsSearchRequestDto(String query, String languageCode, int page, int size) {
+}
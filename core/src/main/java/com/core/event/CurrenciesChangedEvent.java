@@ -0,0 +1,7 @@
+package com.core.event;
+
+import java.util.Set;
+
+// codes the change wrote rates of, the old and the new one of a renamed currency
+public record CurrenciesChangedEvent(long id, Set<String> codes) {
+}
@@ -0,0 +1,6 @@
+package com.core.event;
+
+import java.util.Set;
+
+public record CurrencyRatesUpdatedEvent(Set<String> codes) {
+}
@@ -0,0 +1,4 @@
+package com.core.event;
+
+public record LanguagesChangedEvent(long id) {
+}
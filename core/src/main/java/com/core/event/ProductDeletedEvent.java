@@ -0,0 +1,4 @@
+package com.core.event;
+
+public record ProductDeletedEvent(long id) {
+}
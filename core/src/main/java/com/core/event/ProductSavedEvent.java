@@ -0,0 +1,6 @@
+package com.core.event;
+
+import com.core.dto.product.ProductResponseDto;
+
+public record ProductSavedEvent(ProductResponseDto product) {
+}
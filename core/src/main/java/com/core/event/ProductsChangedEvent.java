@@ -0,0 +1,6 @@
+package com.core.event;
+
+import java.util.Map;
+
+public record ProductsChangedEvent(Map<Long, Integer> versionsById) {
+}
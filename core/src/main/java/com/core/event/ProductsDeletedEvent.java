@@ -0,0 +1,6 @@
+package com.core.event;
+
+import java.util.List;
+
+public record ProductsDeletedEvent(List<Long> ids) {
+}
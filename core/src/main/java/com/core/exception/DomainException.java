@@ -0,0 +1,8 @@
+package com.core.exception;
+
+// an expected outcome of a request, not a failure, so no stack trace is filled in
+public abstract class DomainException extends RuntimeException {
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
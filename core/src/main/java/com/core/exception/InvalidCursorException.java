@@ -0,0 +1,7 @@
+package com.core.exception;
+
+public class InvalidCursorException extends DomainException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
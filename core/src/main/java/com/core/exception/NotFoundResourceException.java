@@ -1,6 +1,6 @@
 package com.core.exception;
 
-public class NotFoundResourceException extends RuntimeException{
+public class NotFoundResourceException extends DomainException {
     public NotFoundResourceException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.core.exception;
 
-public class UniqueConstraintException extends RuntimeException {
+public class UniqueConstraintException extends DomainException {
     public UniqueConstraintException(String message) {
         super(message);
     }
@@ -0,0 +1,7 @@
+package com.core.exception;
+
+public class UnknownCurrencyException extends DomainException {
+    public UnknownCurrencyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.core.exception;
+
+public class VersionMismatchException extends DomainException {
+    public VersionMismatchException(String message) {
+        super(message);
+    }
+}
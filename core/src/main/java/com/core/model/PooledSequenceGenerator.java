@@ -0,0 +1,27 @@
+package com.core.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+// takes a block of ids per nextval, the sequences increment by the block size (checked by PooledSequenceIds)
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String STRATEGY = "com.core.model.PooledSequenceGenerator";
+    public static final String BLOCK_SIZE_SETTING = "core.id.block-size";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        var blockSize = serviceRegistry.getService(ConfigurationService.class)
+                .getSetting(BLOCK_SIZE_SETTING, value -> Integer.valueOf(value.toString()), 1);
+
+        params.setProperty(INCREMENT_PARAM, String.valueOf(blockSize));
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
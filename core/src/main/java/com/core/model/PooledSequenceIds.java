@@ -0,0 +1,72 @@
+package com.core.model;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ids for rows written past hibernate, allocated the way PooledSequenceGenerator allocates them: every sequence
+// value starts a block of ids, which holds only while the sequence increment equals the block size, so the
+// increment is checked once per sequence before its first block
+public class PooledSequenceIds {
+
+    private static final String NEXT_BLOCK_STARTS_SQL = """
+            select nextval(cast(:sequence as regclass))
+            from generate_series(1, :count)
+            """;
+    private static final String SEQUENCE_INCREMENT_SQL = """
+            select s.increment_by
+            from pg_sequences s
+            where s.schemaname = current_schema()
+              and s.sequencename = :sequence
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int blockSize;
+    private final Set<String> checkedSequences = ConcurrentHashMap.newKeySet();
+
+    public PooledSequenceIds(NamedParameterJdbcTemplate jdbcTemplate, int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = blockSize;
+    }
+
+    public List<Long> next(String sequence, int count) {
+        if (count == 0) {
+            return List.of();
+        }
+
+        checkIncrement(sequence);
+
+        var blocksCount = (count + blockSize - 1) / blockSize;
+        List<Long> blockStarts = jdbcTemplate.queryForList(NEXT_BLOCK_STARTS_SQL,
+                new MapSqlParameterSource("sequence", sequence).addValue("count", blocksCount), Long.class);
+        List<Long> ids = new ArrayList<>(count);
+
+        for (Long blockStart : blockStarts) {
+            for (int i = 0; i < blockSize && ids.size() < count; i++) {
+                ids.add(blockStart + i);
+            }
+        }
+
+        return ids;
+    }
+
+    private void checkIncrement(String sequence) {
+        if (checkedSequences.contains(sequence)) {
+            return;
+        }
+
+        var increment = jdbcTemplate.queryForObject(SEQUENCE_INCREMENT_SQL,
+                new MapSqlParameterSource("sequence", sequence), Long.class);
+
+        if (increment == null || increment != blockSize) {
+            throw new IllegalStateException(String.format("sequence %s increments by %s, not by the %s %d",
+                    sequence, increment, PooledSequenceGenerator.BLOCK_SIZE_SETTING, blockSize));
+        }
+
+        checkedSequences.add(sequence);
+    }
+}
@@ -1,13 +1,18 @@
 package com.core.model.product;
 
+import com.core.model.PooledSequenceGenerator;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @Entity
 @Table(name = "products")
@@ -15,7 +20,8 @@ public class Product {
     @Id
     @Column(name = "id")
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_s")
-    @SequenceGenerator(name = "products_s", sequenceName = "products_id_seq", allocationSize = 1)
+    @GenericGenerator(name = "products_s", strategy = PooledSequenceGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "products_id_seq"))
     private Long id;
 
     @Column(name = "price", nullable = false)
@@ -73,6 +79,26 @@ public class Product {
         description.setProduct(null);
     }
 
+    public void removeDescriptions(Set<ProductDescription> descriptions) {
+        if (descriptions.isEmpty()) {
+            return;
+        }
+
+        List<ProductDescription> retainedDescriptions = new ArrayList<>(this.descriptions.size());
+
+        for (ProductDescription description : this.descriptions) {
+            if (descriptions.contains(description)) {
+                description.setProduct(null);
+            } else {
+                retainedDescriptions.add(description);
+            }
+        }
+
+        // refilling the managed bag is linear, removing elements one by one shifts its tail every time
+        this.descriptions.clear();
+        this.descriptions.addAll(retainedDescriptions);
+    }
+
     public List<ProductFeature> getFeatures() {
         return features;
     }
@@ -91,6 +117,25 @@ public class Product {
         feature.setProduct(null);
     }
 
+    public void removeFeatures(Set<ProductFeature> features) {
+        if (features.isEmpty()) {
+            return;
+        }
+
+        List<ProductFeature> retainedFeatures = new ArrayList<>(this.features.size());
+
+        for (ProductFeature feature : this.features) {
+            if (features.contains(feature)) {
+                feature.setProduct(null);
+            } else {
+                retainedFeatures.add(feature);
+            }
+        }
+
+        this.features.clear();
+        this.features.addAll(retainedFeatures);
+    }
+
     public LocalDateTime getCreationDate() {
         return creationDate;
     }
@@ -1,8 +1,12 @@
 package com.core.model.product;
 
 import com.core.model.Language;
+import com.core.model.PooledSequenceGenerator;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -13,7 +17,8 @@ public class ProductFeature {
     @Id
     @Column(name = "id")
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_features_s")
-    @SequenceGenerator(name = "product_features_s", sequenceName = "product_features_id_seq", allocationSize = 1)
+    @GenericGenerator(name = "product_features_s", strategy = PooledSequenceGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "product_features_id_seq"))
     private Long id;
 
     @JoinColumn(name = "product_id", nullable = false)
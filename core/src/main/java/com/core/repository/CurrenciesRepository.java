@@ -2,11 +2,28 @@ package com.core.repository;
 
 import com.core.model.Currency;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
 
-public interface CurrenciesRepository extends JpaRepository<Currency, Long> {
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
+public interface CurrenciesRepository extends JpaRepository<Currency, Long>, CurrencyBatchRepository,
+        CurrencyRatesHistoryRepository {
+    String QUERY_CACHE_REGION = "currencies-queries";
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     Optional<Currency> findByCode(String code);
 
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     boolean existsByCode(String code);
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
+    List<Currency> findAllByOrderByIdAsc();
 }
@@ -0,0 +1,8 @@
+package com.core.repository;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public interface CurrencyBatchRepository {
+    int upsertRates(Map<String, BigDecimal> multipliersByCode);
+}
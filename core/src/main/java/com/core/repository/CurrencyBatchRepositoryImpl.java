@@ -0,0 +1,111 @@
+package com.core.repository;
+
+import com.core.model.Currency;
+import com.core.model.PooledSequenceIds;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+public class CurrencyBatchRepositoryImpl implements CurrencyBatchRepository {
+
+    private static final String CURRENCIES_SEQUENCE = "currencies_id_seq";
+    private static final String FIND_IDS_BY_CODES_SQL = """
+            select c.code, c.id
+            from currencies c
+            where c.code = any(:codes)
+            """;
+
+    // unchanged rates are not rewritten and keep their versions
+    private static final String UPSERT_RATES_SQL = """
+            insert into currencies (id, code, multiplier, creation_date, last_update_date, version)
+            select v.id, v.code, v.multiplier, :date, :date, 0
+            from unnest(cast(:ids as bigint[]), cast(:codes as varchar[]), cast(:multipliers as numeric[]))
+                     as v(id, code, multiplier)
+            on conflict (code) do update
+                set multiplier       = excluded.multiplier,
+                    last_update_date = excluded.last_update_date,
+                    version          = currencies.version + 1
+            where currencies.multiplier <> excluded.multiplier
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PooledSequenceIds sequenceIds;
+
+    public CurrencyBatchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                       EntityManagerFactory entityManagerFactory,
+                                       @Value("${core.id.block-size}") int idBlockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.sequenceIds = new PooledSequenceIds(jdbcTemplate, idBlockSize);
+    }
+
+    @Override
+    public int upsertRates(Map<String, BigDecimal> multipliersByCode) {
+        if (multipliersByCode.isEmpty()) {
+            return 0;
+        }
+
+        List<String> codes = List.copyOf(multipliersByCode.keySet());
+        // multipliers go as text, the driver has no array encoding for BigDecimal
+        var parameters = new MapSqlParameterSource("ids", findOrAllocateIds(codes))
+                .addValue("codes", codes.toArray(String[]::new))
+                .addValue("multipliers", codes.stream()
+                        .map(code -> multipliersByCode.get(code).toPlainString())
+                        .toArray(String[]::new))
+                .addValue("date", LocalDateTime.now());
+
+        evictCachedCurrencies();
+
+        return jdbcTemplate.update(UPSERT_RATES_SQL, parameters);
+    }
+
+    // the statement bypasses the session, so the second-level cache is cleared the way hibernate clears it after
+    // a bulk statement: before the write and once again after the transaction, when no reader can cache old rows
+    private void evictCachedCurrencies() {
+        var cache = entityManagerFactory.unwrap(SessionFactory.class)
+                .getCache();
+        Runnable eviction = () -> {
+            cache.evictEntityData(Currency.class);
+            cache.evictQueryRegion(CurrenciesRepository.QUERY_CACHE_REGION);
+        };
+
+        eviction.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    // existing codes go with their own ids, which their rows keep on update, so ids are allocated for new codes only
+    private long[] findOrAllocateIds(List<String> codes) {
+        Map<String, Long> idsByCode = new HashMap<>();
+
+        jdbcTemplate.query(FIND_IDS_BY_CODES_SQL, new MapSqlParameterSource("codes", codes.toArray(String[]::new)),
+                (RowCallbackHandler) rs -> idsByCode.put(rs.getString("code"), rs.getLong("id")));
+
+        var newCodesCount = codes.size() - idsByCode.size();
+        Iterator<Long> newIds = sequenceIds.next(CURRENCIES_SEQUENCE, newCodesCount).iterator();
+
+        return codes.stream()
+                .mapToLong(code -> idsByCode.containsKey(code) ? idsByCode.get(code) : newIds.next())
+                .toArray();
+    }
+}
@@ -0,0 +1,14 @@
+package com.core.repository;
+
+import com.core.dto.CurrencyRateResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public interface CurrencyRatesHistoryRepository {
+    void forEachRate(Consumer<CurrencyRateResponseDto> action);
+
+    // rates of every code valid from after its time, the whole history of a code mapped to null
+    void forEachRateAfter(Map<String, LocalDateTime> validFromByCode, Consumer<CurrencyRateResponseDto> action);
+}
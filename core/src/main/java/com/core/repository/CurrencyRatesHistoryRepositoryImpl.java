@@ -0,0 +1,59 @@
+package com.core.repository;
+
+import com.core.dto.CurrencyRateResponseDto;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class CurrencyRatesHistoryRepositoryImpl implements CurrencyRatesHistoryRepository {
+
+    // rates of a code are read in the order of the (code, valid_from) index, the id orders rates of the same time
+    private static final String FIND_RATES_SQL = """
+            select r.code, r.multiplier, r.valid_from
+            from currency_rates r
+            %s
+            order by r.code, r.valid_from, r.id
+            """;
+    // times go as text, the driver has no array encoding for LocalDateTime
+    private static final String AFTER_CONDITION = """
+            join unnest(cast(:codes as varchar[]), cast(:validFrom as timestamp[])) as a(code, valid_from)
+                 on r.code = a.code and r.valid_from > coalesce(a.valid_from, '-infinity')""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CurrencyRatesHistoryRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void forEachRate(Consumer<CurrencyRateResponseDto> action) {
+        jdbcTemplate.query(String.format(FIND_RATES_SQL, ""), makeRateHandler(action));
+    }
+
+    @Override
+    public void forEachRateAfter(Map<String, LocalDateTime> validFromByCode,
+                                 Consumer<CurrencyRateResponseDto> action) {
+        if (validFromByCode.isEmpty()) {
+            return;
+        }
+
+        List<String> codes = List.copyOf(validFromByCode.keySet());
+        var parameters = new MapSqlParameterSource("codes", codes.toArray(String[]::new))
+                .addValue("validFrom", codes.stream()
+                        .map(validFromByCode::get)
+                        .map(validFrom -> validFrom == null ? null : validFrom.toString())
+                        .toArray(String[]::new));
+
+        jdbcTemplate.query(String.format(FIND_RATES_SQL, AFTER_CONDITION), parameters, makeRateHandler(action));
+    }
+
+    private RowCallbackHandler makeRateHandler(Consumer<CurrencyRateResponseDto> action) {
+        return rs -> action.accept(new CurrencyRateResponseDto(rs.getString("code"), rs.getBigDecimal("multiplier"),
+                rs.getObject("valid_from", LocalDateTime.class)));
+    }
+}
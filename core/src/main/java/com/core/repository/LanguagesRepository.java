@@ -2,15 +2,25 @@ package com.core.repository;
 
 import com.core.model.Language;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 public interface LanguagesRepository extends JpaRepository<Language, Long> {
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Language> findByCode(String code);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByCode(String code);
 
     Stream<Language> findAllByCodeIn(Collection<String> codes);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Language> findAllByOrderByIdAsc();
 }
@@ -0,0 +1,36 @@
+package com.core.repository.product;
+
+import com.core.dto.product.ProductDescriptionPatchDto;
+import com.core.dto.product.ProductFeaturePatchDto;
+import com.core.dto.product.ProductPriceRequestDto;
+import com.core.dto.product.ProductRequestDto;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface ProductBatchRepository {
+    List<Long> insertAll(List<ProductRequestDto> products, Map<String, Long> languageIdsByCode);
+
+    Map<Long, Integer> updatePrices(List<ProductPriceRequestDto> prices);
+
+    Map<Long, Integer> adjustPrices(Collection<Long> ids, BigDecimal percent);
+
+    List<Long> findIdsByIdIn(Collection<Long> ids);
+
+    List<Long> deleteByIdIn(Collection<Long> ids);
+
+    Optional<Integer> patch(long id, Integer expectedVersion, BigDecimal price);
+
+    int updateDescriptions(long productId, Map<Long, ProductDescriptionPatchDto> descriptions,
+                           Map<String, Long> languageIdsByCode);
+
+    int updateFeatures(long productId, Map<Long, ProductFeaturePatchDto> features,
+                       Map<String, Long> languageIdsByCode);
+
+    int deleteDescriptions(long productId, Collection<Long> ids);
+
+    int deleteFeatures(long productId, Collection<Long> ids);
+}
@@ -0,0 +1,336 @@
+package com.core.repository.product;
+
+import com.core.dto.product.ProductDescriptionPatchDto;
+import com.core.dto.product.ProductDescriptionRequestDto;
+import com.core.dto.product.ProductFeaturePatchDto;
+import com.core.dto.product.ProductFeatureRequestDto;
+import com.core.dto.product.ProductPriceRequestDto;
+import com.core.dto.product.ProductRequestDto;
+import com.core.model.PooledSequenceIds;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class ProductBatchRepositoryImpl implements ProductBatchRepository {
+
+    private static final String PRODUCTS_SEQUENCE = "products_id_seq";
+    private static final String DESCRIPTIONS_SEQUENCE = "product_descriptions_id_seq";
+    private static final String FEATURES_SEQUENCE = "product_features_id_seq";
+    private static final String INSERT_PRODUCT_SQL = """
+            insert into products (id, price, creation_date, last_update_date, version)
+            values (:id, :price, :date, :date, 0)
+            """;
+    private static final String INSERT_DESCRIPTION_SQL = """
+            insert into product_descriptions (id, product_id, language_id, title, description, creation_date,
+                                              last_update_date, version)
+            values (:id, :productId, :languageId, :title, :description, :date, :date, 0)
+            """;
+    private static final String INSERT_FEATURE_SQL = """
+            insert into product_features (id, product_id, language_id, name, value, creation_date,
+                                          last_update_date, version)
+            values (:id, :productId, :languageId, :name, :value, :date, :date, 0)
+            """;
+
+    // the version check makes every row an optimistic update, rows with another version are left untouched
+    private static final String UPDATE_PRICES_SQL = """
+            update products p
+            set price            = v.price,
+                last_update_date = :date,
+                version          = p.version + 1
+            from unnest(cast(:ids as bigint[]), cast(:prices as numeric[]), cast(:versions as int[]))
+                     as v(id, price, expected_version)
+            where p.id = v.id
+              and p.version = v.expected_version
+            returning p.id, p.version
+            """;
+    private static final String ADJUST_PRICES_SQL = """
+            update products p
+            set price            = round(p.price * (100 + :percent) / 100, 2),
+                last_update_date = :date,
+                version          = p.version + 1
+            where p.id = any(:ids)
+            returning p.id, p.version
+            """;
+    private static final String FIND_IDS_BY_IDS_SQL = """
+            select p.id
+            from products p
+            where p.id = any(:ids)
+            """;
+
+    // children go with the on delete cascade of their foreign keys, nothing is loaded into the session
+    private static final String DELETE_PRODUCTS_SQL = """
+            delete
+            from products p
+            where p.id = any(:ids)
+            returning p.id
+            """;
+    private static final String PATCH_PRODUCT_SQL = """
+            update products p
+            set price            = coalesce(cast(:price as numeric), p.price),
+                last_update_date = :date,
+                version          = p.version + 1
+            where p.id = :id
+              and (cast(:expectedVersion as int) is null or p.version = :expectedVersion)
+            returning p.version
+            """;
+    // missing fields come as nulls and keep the current values
+    private static final String UPDATE_DESCRIPTIONS_SQL = """
+            update product_descriptions d
+            set language_id      = coalesce(v.language_id, d.language_id),
+                title            = coalesce(v.title, d.title),
+                description      = coalesce(v.description, d.description),
+                last_update_date = :date,
+                version          = d.version + 1
+            from unnest(cast(:ids as bigint[]), cast(:languageIds as bigint[]), cast(:titles as varchar[]),
+                        cast(:descriptions as varchar[])) as v(id, language_id, title, description)
+            where d.id = v.id
+              and d.product_id = :productId
+            """;
+    private static final String UPDATE_FEATURES_SQL = """
+            update product_features f
+            set language_id      = coalesce(v.language_id, f.language_id),
+                name             = coalesce(v.name, f.name),
+                value            = coalesce(v.value, f.value),
+                last_update_date = :date,
+                version          = f.version + 1
+            from unnest(cast(:ids as bigint[]), cast(:languageIds as bigint[]), cast(:names as varchar[]),
+                        cast(:values as varchar[])) as v(id, language_id, name, value)
+            where f.id = v.id
+              and f.product_id = :productId
+            """;
+    private static final String DELETE_DESCRIPTIONS_SQL = """
+            delete
+            from product_descriptions d
+            where d.product_id = :productId
+              and d.id = any(:ids)
+            """;
+    private static final String DELETE_FEATURES_SQL = """
+            delete
+            from product_features f
+            where f.product_id = :productId
+              and f.id = any(:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PooledSequenceIds sequenceIds;
+
+    public ProductBatchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                      @Value("${core.id.block-size}") int idBlockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceIds = new PooledSequenceIds(jdbcTemplate, idBlockSize);
+    }
+
+    @Override
+    public List<Long> insertAll(List<ProductRequestDto> products, Map<String, Long> languageIdsByCode) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+
+        var descriptionsCount = products.stream()
+                .mapToInt(product -> product.descriptions().size())
+                .sum();
+        var featuresCount = products.stream()
+                .mapToInt(product -> product.features().size())
+                .sum();
+        List<Long> ids = sequenceIds.next(PRODUCTS_SEQUENCE, products.size());
+        Iterator<Long> descriptionIds = sequenceIds.next(DESCRIPTIONS_SEQUENCE, descriptionsCount).iterator();
+        Iterator<Long> featureIds = sequenceIds.next(FEATURES_SEQUENCE, featuresCount).iterator();
+        var date = LocalDateTime.now();
+        List<SqlParameterSource> productParameters = new ArrayList<>(products.size());
+        List<SqlParameterSource> descriptionParameters = new ArrayList<>();
+        List<SqlParameterSource> featureParameters = new ArrayList<>();
+
+        for (int i = 0; i < products.size(); i++) {
+            var product = products.get(i);
+            var productId = ids.get(i);
+
+            productParameters.add(new MapSqlParameterSource("id", productId)
+                    .addValue("price", product.price())
+                    .addValue("date", date));
+
+            for (ProductDescriptionRequestDto description : product.descriptions()) {
+                descriptionParameters.add(new MapSqlParameterSource("id", descriptionIds.next())
+                        .addValue("productId", productId)
+                        .addValue("languageId", languageIdsByCode.get(description.languageCode()))
+                        .addValue("title", description.title())
+                        .addValue("description", description.description())
+                        .addValue("date", date));
+            }
+
+            for (ProductFeatureRequestDto feature : product.features()) {
+                featureParameters.add(new MapSqlParameterSource("id", featureIds.next())
+                        .addValue("productId", productId)
+                        .addValue("languageId", languageIdsByCode.get(feature.languageCode()))
+                        .addValue("name", feature.name())
+                        .addValue("value", feature.value())
+                        .addValue("date", date));
+            }
+        }
+
+        // each table gets a single batch, so the driver can rewrite it into multi-row inserts
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, productParameters.toArray(SqlParameterSource[]::new));
+        jdbcTemplate.batchUpdate(INSERT_DESCRIPTION_SQL, descriptionParameters.toArray(SqlParameterSource[]::new));
+        jdbcTemplate.batchUpdate(INSERT_FEATURE_SQL, featureParameters.toArray(SqlParameterSource[]::new));
+
+        return ids;
+    }
+
+    @Override
+    public Map<Long, Integer> updatePrices(List<ProductPriceRequestDto> prices) {
+        if (prices.isEmpty()) {
+            return Map.of();
+        }
+
+        // prices go as text, the driver has no array encoding for BigDecimal
+        var parameters = new MapSqlParameterSource("ids", prices.stream()
+                .mapToLong(ProductPriceRequestDto::id)
+                .toArray())
+                .addValue("prices", prices.stream()
+                        .map(price -> price.price().toPlainString())
+                        .toArray(String[]::new))
+                .addValue("versions", prices.stream()
+                        .mapToInt(ProductPriceRequestDto::expectedVersion)
+                        .toArray())
+                .addValue("date", LocalDateTime.now());
+
+        return queryVersionsById(UPDATE_PRICES_SQL, parameters);
+    }
+
+    @Override
+    public Map<Long, Integer> adjustPrices(Collection<Long> ids, BigDecimal percent) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        var parameters = new MapSqlParameterSource("ids", toArray(ids))
+                .addValue("percent", percent)
+                .addValue("date", LocalDateTime.now());
+
+        return queryVersionsById(ADJUST_PRICES_SQL, parameters);
+    }
+
+    @Override
+    public List<Long> findIdsByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.queryForList(FIND_IDS_BY_IDS_SQL, new MapSqlParameterSource("ids", toArray(ids)),
+                Long.class);
+    }
+
+    @Override
+    public List<Long> deleteByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.queryForList(DELETE_PRODUCTS_SQL, new MapSqlParameterSource("ids", toArray(ids)),
+                Long.class);
+    }
+
+    @Override
+    public Optional<Integer> patch(long id, Integer expectedVersion, BigDecimal price) {
+        var parameters = new MapSqlParameterSource("id", id)
+                .addValue("expectedVersion", expectedVersion)
+                .addValue("price", price)
+                .addValue("date", LocalDateTime.now());
+        List<Integer> versions = jdbcTemplate.queryForList(PATCH_PRODUCT_SQL, parameters, Integer.class);
+
+        return versions.stream()
+                .findFirst();
+    }
+
+    @Override
+    public int updateDescriptions(long productId, Map<Long, ProductDescriptionPatchDto> descriptions,
+                                  Map<String, Long> languageIdsByCode) {
+        if (descriptions.isEmpty()) {
+            return 0;
+        }
+
+        List<ProductDescriptionPatchDto> patches = List.copyOf(descriptions.values());
+        var parameters = new MapSqlParameterSource("productId", productId)
+                .addValue("ids", toArray(descriptions.keySet()))
+                .addValue("languageIds", patches.stream()
+                        .map(description -> findLanguageId(description.languageCode(), languageIdsByCode))
+                        .toArray(Long[]::new))
+                .addValue("titles", patches.stream()
+                        .map(ProductDescriptionPatchDto::title)
+                        .toArray(String[]::new))
+                .addValue("descriptions", patches.stream()
+                        .map(ProductDescriptionPatchDto::description)
+                        .toArray(String[]::new))
+                .addValue("date", LocalDateTime.now());
+
+        return jdbcTemplate.update(UPDATE_DESCRIPTIONS_SQL, parameters);
+    }
+
+    @Override
+    public int updateFeatures(long productId, Map<Long, ProductFeaturePatchDto> features,
+                              Map<String, Long> languageIdsByCode) {
+        if (features.isEmpty()) {
+            return 0;
+        }
+
+        List<ProductFeaturePatchDto> patches = List.copyOf(features.values());
+        var parameters = new MapSqlParameterSource("productId", productId)
+                .addValue("ids", toArray(features.keySet()))
+                .addValue("languageIds", patches.stream()
+                        .map(feature -> findLanguageId(feature.languageCode(), languageIdsByCode))
+                        .toArray(Long[]::new))
+                .addValue("names", patches.stream()
+                        .map(ProductFeaturePatchDto::name)
+                        .toArray(String[]::new))
+                .addValue("values", patches.stream()
+                        .map(ProductFeaturePatchDto::value)
+                        .toArray(String[]::new))
+                .addValue("date", LocalDateTime.now());
+
+        return jdbcTemplate.update(UPDATE_FEATURES_SQL, parameters);
+    }
+
+    @Override
+    public int deleteDescriptions(long productId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return jdbcTemplate.update(DELETE_DESCRIPTIONS_SQL, new MapSqlParameterSource("productId", productId)
+                .addValue("ids", toArray(ids)));
+    }
+
+    @Override
+    public int deleteFeatures(long productId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return jdbcTemplate.update(DELETE_FEATURES_SQL, new MapSqlParameterSource("productId", productId)
+                .addValue("ids", toArray(ids)));
+    }
+
+    private Map<Long, Integer> queryVersionsById(String sql, SqlParameterSource parameters) {
+        Map<Long, Integer> versionsById = new HashMap<>();
+
+        jdbcTemplate.query(sql, parameters, rs -> {
+            versionsById.put(rs.getLong("id"), rs.getInt("version"));
+        });
+
+        return versionsById;
+    }
+
+    private Long findLanguageId(String languageCode, Map<String, Long> languageIdsByCode) {
+        return languageCode == null ? null : languageIdsByCode.get(languageCode);
+    }
+
+    private long[] toArray(Collection<Long> ids) {
+        return ids.stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,41 @@
+package com.core.repository.product;
+
+import com.core.dto.LanguageResponseDto;
+import com.core.dto.product.ProductDescriptionResponseDto;
+import com.core.dto.product.ProductFeatureResponseDto;
+import com.core.dto.product.ProductResponseDto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+class ProductViewBuilder {
+
+    private final long id;
+    private final BigDecimal price;
+    private final int version;
+    private final List<ProductDescriptionResponseDto> descriptions = new ArrayList<>();
+    private final List<ProductFeatureResponseDto> features = new ArrayList<>();
+
+    ProductViewBuilder(long id, BigDecimal price, int version) {
+        this.id = id;
+        this.price = price;
+        this.version = version;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    void addDescription(long descriptionId, LanguageResponseDto language, String title, String description) {
+        descriptions.add(new ProductDescriptionResponseDto(descriptionId, language, title, description));
+    }
+
+    void addFeature(long featureId, LanguageResponseDto language, String name, String value) {
+        features.add(new ProductFeatureResponseDto(featureId, language, name, value));
+    }
+
+    ProductResponseDto build() {
+        return new ProductResponseDto(id, price, version, List.copyOf(descriptions), List.copyOf(features));
+    }
+}
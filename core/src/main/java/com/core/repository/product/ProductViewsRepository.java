@@ -0,0 +1,27 @@
+package com.core.repository.product;
+
+import com.core.dto.product.ProductCursor;
+import com.core.dto.product.ProductFeatureFacetDto;
+import com.core.dto.product.ProductResponseDto;
+import com.core.dto.product.ProductSearchHitDto;
+import com.core.dto.product.ProductsPageRequestDto;
+import com.core.dto.product.ProductsSearchRequestDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface ProductViewsRepository {
+    Optional<ProductResponseDto> findViewById(long id, String languageCode);
+
+    List<ProductResponseDto> findViewsByIdIn(Collection<Long> ids, String languageCode);
+
+    void forEachView(String languageCode, Consumer<ProductResponseDto> action);
+
+    List<ProductCursor> findPageCursors(ProductsPageRequestDto pageRequest, ProductCursor after, int limit);
+
+    List<ProductFeatureFacetDto> findFeatureFacets(ProductsPageRequestDto pageRequest);
+
+    List<ProductSearchHitDto> search(ProductsSearchRequestDto searchRequest, int offset, int limit);
+}
@@ -0,0 +1,336 @@
+package com.core.repository.product;
+
+import com.core.dto.LanguageResponseDto;
+import com.core.dto.product.ProductCursor;
+import com.core.dto.product.ProductFeatureFacetDto;
+import com.core.dto.product.ProductResponseDto;
+import com.core.dto.product.ProductSearchHitDto;
+import com.core.dto.product.ProductSort;
+import com.core.dto.product.ProductsFilterDto;
+import com.core.dto.product.ProductsPageRequestDto;
+import com.core.dto.product.ProductsSearchRequestDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.Consumer;
+
+public class ProductViewsRepositoryImpl implements ProductViewsRepository {
+
+    private static final String DESCRIPTION_ROW = "D";
+
+    private static final String LANGUAGE_CONDITION = "and l.code = :lang";
+    // union instead of join: joining both collections would multiply descriptions by features
+    private static final String FIND_VIEW_BY_ID_SQL = """
+            select p.id as product_id, p.price, p.version, 'D' as row_type, d.id as child_id,
+                   l.id as language_id, l.code as language_code, d.title as name, d.description as value
+            from products p
+                     left join (product_descriptions d join languages l on l.id = d.language_id)
+                               on d.product_id = p.id %1$s
+            where p.id = :id
+            union all
+            select p.id, p.price, p.version, 'F', f.id, l.id, l.code, f.name, f.value
+            from products p
+                     join product_features f on f.product_id = p.id
+                     join languages l on l.id = f.language_id
+            where p.id = :id %1$s
+            order by row_type, child_id
+            """;
+    // keyset pages of the primary key, so no page sorts more than its own ids
+    private static final String FIND_PAGE_IDS_SQL = """
+            select p.id
+            from products p
+            where p.id > :lastId
+            order by p.id
+            limit :limit
+            """;
+    private static final String FIND_PRODUCTS_BY_IDS_SQL = """
+            select p.id, p.price, p.version
+            from products p
+            where p.id = any(:ids)
+            order by p.id
+            """;
+    private static final String FIND_DESCRIPTIONS_BY_PRODUCT_IDS_SQL = """
+            select d.product_id, d.id, l.id as language_id, l.code as language_code, d.title, d.description
+            from product_descriptions d
+                     join languages l on l.id = d.language_id
+            where d.product_id = any(:ids) %1$s
+            order by d.id
+            """;
+    private static final String FIND_FEATURES_BY_PRODUCT_IDS_SQL = """
+            select f.product_id, f.id, l.id as language_id, l.code as language_code, f.name, f.value
+            from product_features f
+                     join languages l on l.id = f.language_id
+            where f.product_id = any(:ids) %1$s
+            order by f.id
+            """;
+    // the query is parsed once per language and matched with the gin index of search_vector against descriptions
+    // of that language; a product is a single hit of its best ranked description, so pages never repeat products
+    private static final String SEARCH_SQL = """
+            with queries as (select l.id as language_id, l.code as language_code,
+                                    websearch_to_tsquery(language_text_search_config(l.code), :query) as query
+                             from languages l
+                             where true %1$s),
+                 hits as (select distinct on (d.product_id) d.product_id, d.id, q.language_id, q.language_code,
+                                                            d.title, ts_rank(d.search_vector, q.query) as rank
+                          from queries q
+                                   join product_descriptions d
+                                        on d.language_id = q.language_id and d.search_vector @@ q.query
+                          order by d.product_id, rank desc, d.id)
+            select h.product_id, h.id, h.language_id, h.language_code, h.title, h.rank
+            from hits h
+            order by h.rank desc, h.product_id
+            limit :limit offset :offset
+            """;
+
+    // semi join answered by the (language_id, name, value, product_id) index without touching the table
+    private static final String FEATURE_CONDITION = """
+            p.id in (select f.product_id
+                     from product_features f
+                     where f.language_id = (select l.id from languages l where l.code = :lang)
+                       and f.name = :featureName%1$d and f.value = any(:featureValues%1$d))""";
+    // facets count at most a fixed number of products of the result set, the first ones by id, so a page without
+    // filters reads features of those products through the product_id index and not every feature of the language
+    private static final String FIND_FEATURE_FACETS_SQL = """
+            select f.name, f.value, count(distinct f.product_id) as count
+            from product_features f
+            where f.language_id = (select l.id from languages l where l.code = :lang)
+              and f.product_id in (select p.id from products p %s order by p.id limit :facetsMaxProducts)
+            group by f.name, f.value
+            order by f.name, count desc, f.value
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int exportPageSize;
+    private final int facetsMaxProducts;
+
+    public ProductViewsRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                      @Value("${core.products.export.page-size}") int exportPageSize,
+                                      @Value("${core.products.facets.max-products}") int facetsMaxProducts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportPageSize = exportPageSize;
+        this.facetsMaxProducts = facetsMaxProducts;
+    }
+
+    @Override
+    public Optional<ProductResponseDto> findViewById(long id, String languageCode) {
+        var parameters = new MapSqlParameterSource("id", id)
+                .addValue("lang", languageCode);
+
+        return jdbcTemplate.query(withLanguage(FIND_VIEW_BY_ID_SQL, languageCode), parameters, rs -> {
+            ProductViewBuilder builder = null;
+
+            while (rs.next()) {
+                if (builder == null) {
+                    builder = new ProductViewBuilder(rs.getLong("product_id"), rs.getBigDecimal("price"),
+                            rs.getInt("version"));
+                }
+
+                addChild(builder, rs);
+            }
+
+            return Optional.ofNullable(builder)
+                    .map(ProductViewBuilder::build);
+        });
+    }
+
+    @Override
+    public List<ProductResponseDto> findViewsByIdIn(Collection<Long> ids, String languageCode) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        var parameters = new MapSqlParameterSource("ids", toArray(ids))
+                .addValue("lang", languageCode);
+        Map<Long, ProductViewBuilder> buildersById = new LinkedHashMap<>();
+
+        jdbcTemplate.query(FIND_PRODUCTS_BY_IDS_SQL, parameters, rs -> {
+            var productId = rs.getLong("id");
+            var builder = new ProductViewBuilder(productId, rs.getBigDecimal("price"), rs.getInt("version"));
+
+            buildersById.put(productId, builder);
+        });
+
+        if (buildersById.isEmpty()) {
+            return List.of();
+        }
+
+        jdbcTemplate.query(withLanguage(FIND_DESCRIPTIONS_BY_PRODUCT_IDS_SQL, languageCode), parameters, rs -> {
+            var builder = buildersById.get(rs.getLong("product_id"));
+
+            builder.addDescription(rs.getLong("id"), makeLanguageDto(rs), rs.getString("title"),
+                    rs.getString("description"));
+        });
+        jdbcTemplate.query(withLanguage(FIND_FEATURES_BY_PRODUCT_IDS_SQL, languageCode), parameters, rs -> {
+            var builder = buildersById.get(rs.getLong("product_id"));
+
+            builder.addFeature(rs.getLong("id"), makeLanguageDto(rs), rs.getString("name"), rs.getString("value"));
+        });
+
+        return buildersById.values()
+                .stream()
+                .map(ProductViewBuilder::build)
+                .toList();
+    }
+
+    @Override
+    public void forEachView(String languageCode, Consumer<ProductResponseDto> action) {
+        var parameters = new MapSqlParameterSource("lastId", 0L)
+                .addValue("limit", exportPageSize);
+        List<Long> ids;
+
+        do {
+            ids = jdbcTemplate.queryForList(FIND_PAGE_IDS_SQL, parameters, Long.class);
+
+            if (!ids.isEmpty()) {
+                findViewsByIdIn(ids, languageCode).forEach(action);
+                parameters.addValue("lastId", ids.get(ids.size() - 1));
+            }
+        } while (ids.size() == exportPageSize);
+    }
+
+    @Override
+    public List<ProductCursor> findPageCursors(ProductsPageRequestDto pageRequest, ProductCursor after, int limit) {
+        var sort = pageRequest.sort();
+        var direction = pageRequest.direction();
+        var sortKey = getSortKey(sort);
+        var order = direction.isAscending() ? "asc" : "desc";
+        var parameters = new MapSqlParameterSource("limit", limit)
+                .addValue("lang", pageRequest.languageCode());
+        List<String> conditions = makeFilterConditions(pageRequest.filter(), parameters);
+
+        if (after != null) {
+            var comparison = direction.isAscending() ? ">" : "<";
+
+            conditions.add(String.format("%s %s %s", sortKey, comparison, getCursorKey(sort)));
+            parameters.addValue("id", after.id())
+                    .addValue("value", after.value());
+        }
+
+        var sql = String.format("select p.id, %s::text as sort_value from products p %s order by %s limit :limit",
+                getSortColumn(sort), makeWhereClause(conditions), getOrderClause(sort, order));
+
+        return jdbcTemplate.query(sql, parameters,
+                (rs, rowNum) -> new ProductCursor(sort, direction, rs.getLong("id"), rs.getString("sort_value")));
+    }
+
+    @Override
+    public List<ProductFeatureFacetDto> findFeatureFacets(ProductsPageRequestDto pageRequest) {
+        var parameters = new MapSqlParameterSource("lang", pageRequest.languageCode())
+                .addValue("facetsMaxProducts", facetsMaxProducts);
+        List<String> conditions = makeFilterConditions(pageRequest.filter(), parameters);
+        var sql = String.format(FIND_FEATURE_FACETS_SQL, makeWhereClause(conditions));
+
+        return jdbcTemplate.query(sql, parameters,
+                (rs, rowNum) -> new ProductFeatureFacetDto(rs.getString("name"), rs.getString("value"),
+                        rs.getLong("count")));
+    }
+
+    @Override
+    public List<ProductSearchHitDto> search(ProductsSearchRequestDto searchRequest, int offset, int limit) {
+        var languageCode = searchRequest.languageCode();
+        var parameters = new MapSqlParameterSource("query", searchRequest.query())
+                .addValue("lang", languageCode)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+
+        return jdbcTemplate.query(withLanguage(SEARCH_SQL, languageCode), parameters,
+                (rs, rowNum) -> new ProductSearchHitDto(rs.getLong("product_id"), rs.getLong("id"),
+                        makeLanguageDto(rs), rs.getString("title"), rs.getFloat("rank")));
+    }
+
+    private String getSortColumn(ProductSort sort) {
+        return switch (sort) {
+            case ID -> "p.id";
+            case PRICE -> "p.price";
+            case LAST_UPDATE_DATE -> "p.last_update_date";
+        };
+    }
+
+    private String getSortKey(ProductSort sort) {
+        return switch (sort) {
+            case ID -> "p.id";
+            case PRICE -> "(p.price, p.id)";
+            case LAST_UPDATE_DATE -> "(p.last_update_date, p.id)";
+        };
+    }
+
+    private String getCursorKey(ProductSort sort) {
+        return switch (sort) {
+            case ID -> ":id";
+            case PRICE -> "(cast(:value as numeric), :id)";
+            case LAST_UPDATE_DATE -> "(cast(:value as timestamp), :id)";
+        };
+    }
+
+    private String getOrderClause(ProductSort sort, String order) {
+        return switch (sort) {
+            case ID -> String.format("p.id %s", order);
+            case PRICE -> String.format("p.price %1$s, p.id %1$s", order);
+            case LAST_UPDATE_DATE -> String.format("p.last_update_date %1$s, p.id %1$s", order);
+        };
+    }
+
+    private List<String> makeFilterConditions(ProductsFilterDto filter, MapSqlParameterSource parameters) {
+        List<String> conditions = new ArrayList<>();
+        var index = 0;
+
+        if (filter.minPrice() != null) {
+            conditions.add("p.price >= :minPrice");
+            parameters.addValue("minPrice", filter.minPrice());
+        }
+
+        if (filter.maxPrice() != null) {
+            conditions.add("p.price <= :maxPrice");
+            parameters.addValue("maxPrice", filter.maxPrice());
+        }
+
+        for (var feature : filter.features().entrySet()) {
+            conditions.add(String.format(FEATURE_CONDITION, index));
+            parameters.addValue("featureName" + index, feature.getKey())
+                    .addValue("featureValues" + index, feature.getValue().toArray(String[]::new));
+            index++;
+        }
+
+        return conditions;
+    }
+
+    private String makeWhereClause(List<String> conditions) {
+        return conditions.isEmpty() ? "" : "where " + String.join(" and ", conditions);
+    }
+
+    private void addChild(ProductViewBuilder builder, ResultSet rs) throws SQLException {
+        var childId = rs.getLong("child_id");
+
+        if (rs.wasNull()) {
+            return;
+        }
+
+        var language = makeLanguageDto(rs);
+        var name = rs.getString("name");
+        var value = rs.getString("value");
+
+        if (DESCRIPTION_ROW.equals(rs.getString("row_type"))) {
+            builder.addDescription(childId, language, name, value);
+        } else {
+            builder.addFeature(childId, language, name, value);
+        }
+    }
+
+    private String withLanguage(String sql, String languageCode) {
+        return String.format(sql, languageCode == null ? "" : LANGUAGE_CONDITION);
+    }
+
+    private LanguageResponseDto makeLanguageDto(ResultSet rs) throws SQLException {
+        return new LanguageResponseDto(rs.getLong("language_id"), rs.getString("language_code"));
+    }
+
+    private long[] toArray(Collection<Long> ids) {
+        return ids.stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+}
@@ -8,8 +8,17 @@ import org.springframework.lang.NonNull;
 
 import java.util.Optional;
 
-public interface ProductsRepository extends JpaRepository<Product, Long> {
+public interface ProductsRepository extends JpaRepository<Product, Long>, ProductViewsRepository,
+        ProductBatchRepository {
+    // a patch can remove every description, the product is still found then
     @NonNull
-    @Query("select p from Product p join fetch p.descriptions d join fetch d.language l where p.id = :id")
+    @Query("select p from Product p left join fetch p.descriptions d left join fetch d.language l where p.id = :id")
     Optional<Product> findByIdWithDescriptions(@NonNull @Param("id") Long id);
+
+    @NonNull
+    @Query("select p from Product p left join fetch p.features f left join fetch f.language l where p.id = :id")
+    Optional<Product> findByIdWithFeatures(@NonNull @Param("id") Long id);
+
+    @Query("select p.version from Product p where p.id = :id")
+    Optional<Integer> findVersionById(@Param("id") long id);
 }
@@ -1,14 +1,18 @@
 package com.core.service;
 
 import com.core.dto.CurrencyRequestDto;
+import com.core.dto.CurrenciesResponseDto;
 import com.core.dto.CurrencyResponseDto;
+import com.core.dto.VersionedDto;
 
 import java.util.Optional;
 
 public interface CurrenciesService {
     CurrencyResponseDto create(CurrencyRequestDto requestDto);
 
-    Optional<CurrencyResponseDto> getByCode(String code);
+    Optional<VersionedDto<CurrencyResponseDto>> getByCode(String code);
+
+    CurrenciesResponseDto getAll();
 
     CurrencyResponseDto update(long id, CurrencyRequestDto requestDto);
 
@@ -1,23 +1,31 @@
 package com.core.service;
 
+import com.core.dto.CurrenciesResponseDto;
 import com.core.dto.CurrencyRequestDto;
 import com.core.dto.CurrencyResponseDto;
+import com.core.dto.VersionedDto;
+import com.core.event.CurrenciesChangedEvent;
 import com.core.exception.NotFoundResourceException;
 import com.core.exception.UniqueConstraintException;
 import com.core.model.Currency;
 import com.core.repository.CurrenciesRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class CurrenciesServiceImpl implements CurrenciesService {
 
     private final CurrenciesRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CurrenciesServiceImpl(CurrenciesRepository repository) {
+    public CurrenciesServiceImpl(CurrenciesRepository repository, ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -31,41 +39,65 @@ public class CurrenciesServiceImpl implements CurrenciesService {
 
         var savedCurrency = repository.save(currency);
 
+        eventPublisher.publishEvent(new CurrenciesChangedEvent(savedCurrency.getId(),
+                Set.of(savedCurrency.getCode())));
+
         return convertCurrencyToDto(savedCurrency);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<CurrencyResponseDto> getByCode(String code) {
+    public Optional<VersionedDto<CurrencyResponseDto>> getByCode(String code) {
         return repository.findByCode(code)
-                .map(this::convertCurrencyToDto);
+                .map(currency -> new VersionedDto<>(convertCurrencyToDto(currency), currency.getVersion(),
+                        currency.getLastUpdateDate()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CurrenciesResponseDto getAll() {
+        List<Currency> currencies = repository.findAllByOrderByIdAsc();
+        List<CurrencyResponseDto> currenciesDto = currencies.stream()
+                .map(this::convertCurrencyToDto)
+                .toList();
+
+        var version = TableVersions.makeVersion(currencies, Currency::getId, Currency::getVersion);
+
+        return new CurrenciesResponseDto(version, currenciesDto);
     }
 
     @Override
     @Transactional
     public CurrencyResponseDto update(long id, CurrencyRequestDto requestDto) {
-        throwErrorIfExistByCode(requestDto.code());
         var currency = repository.findById(id)
                 .orElseThrow(() -> new NotFoundResourceException(String.format("currency with id: %s not found", id)));
 
+        // a currency keeps its own code on a rate change, only a move to another code can clash
+        if (!currency.getCode().equals(requestDto.code())) {
+            throwErrorIfExistByCode(requestDto.code());
+        }
+
+        var oldCode = currency.getCode();
+
         currency.setCode(requestDto.code());
         currency.setMultiplier(requestDto.multiplier());
 
         var updatedCurrency = repository.save(currency);
 
+        eventPublisher.publishEvent(new CurrenciesChangedEvent(updatedCurrency.getId(),
+                Set.copyOf(List.of(oldCode, updatedCurrency.getCode()))));
+
         return convertCurrencyToDto(updatedCurrency);
     }
 
     @Override
     @Transactional
     public void deleteById(long id) {
-        var hasCurrency = repository.existsById(id);
-
-        if (!hasCurrency) {
-            throw new NotFoundResourceException(String.format("currency with id: %s not found", id));
-        }
+        var currency = repository.findById(id)
+                .orElseThrow(() -> new NotFoundResourceException(String.format("currency with id: %s not found", id)));
 
-        repository.deleteById(id);
+        repository.delete(currency);
+        eventPublisher.publishEvent(new CurrenciesChangedEvent(id, Set.of(currency.getCode())));
     }
 
     private void throwErrorIfExistByCode(String code) {
@@ -0,0 +1,16 @@
+package com.core.service;
+
+import com.core.dto.CurrencyRateRequestDto;
+import com.core.dto.CurrencyRateResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface CurrencyRatesService {
+    void updateAll(List<CurrencyRateRequestDto> rates);
+
+    void flush();
+
+    Optional<CurrencyRateResponseDto> getAt(String code, LocalDateTime at);
+}
@@ -0,0 +1,160 @@
+package com.core.service;
+
+import com.core.cache.CurrencyRatesHistory;
+import com.core.dto.CurrencyRateRequestDto;
+import com.core.dto.CurrencyRateResponseDto;
+import com.core.event.CurrencyRatesUpdatedEvent;
+import com.core.repository.CurrenciesRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class CurrencyRatesServiceImpl implements CurrencyRatesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrencyRatesServiceImpl.class);
+    private static final String RATES_METRIC = "core.currencies.rates";
+    private static final String STAGE_TAG = "stage";
+    private static final int MAX_FLUSH_ATTEMPTS = 5;
+
+    private final CurrenciesRepository repository;
+    private final CurrencyRatesHistory ratesHistory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter receivedRates;
+    private final Counter writtenRates;
+    private final Counter droppedRates;
+
+    // only the latest multiplier of a code waits for the next flush, a newer one replaces it
+    private final Map<String, BigDecimal> pendingMultipliers = new ConcurrentHashMap<>();
+    // failed flushes of codes that wait for a retry, guarded by the lock of flush
+    private final Map<String, Integer> failedFlushesByCode = new HashMap<>();
+
+    public CurrencyRatesServiceImpl(CurrenciesRepository repository,
+                                    CurrencyRatesHistory ratesHistory,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.ratesHistory = ratesHistory;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.receivedRates = meterRegistry.counter(RATES_METRIC, STAGE_TAG, "received");
+        this.writtenRates = meterRegistry.counter(RATES_METRIC, STAGE_TAG, "written");
+        this.droppedRates = meterRegistry.counter(RATES_METRIC, STAGE_TAG, "dropped");
+    }
+
+    @Override
+    public void updateAll(List<CurrencyRateRequestDto> rates) {
+        for (CurrencyRateRequestDto rate : rates) {
+            pendingMultipliers.put(rate.code(), rate.multiplier());
+        }
+
+        receivedRates.increment(rates.size());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${core.currencies.rates.flush-interval}")
+    public synchronized void flush() {
+        Map<String, BigDecimal> multipliersByCode = new HashMap<>();
+
+        // a multiplier put after its code is taken stays for the next flush
+        for (String code : Set.copyOf(pendingMultipliers.keySet())) {
+            var multiplier = pendingMultipliers.remove(code);
+
+            if (multiplier != null) {
+                multipliersByCode.put(code, multiplier);
+            }
+        }
+
+        if (!multipliersByCode.isEmpty()) {
+            write(multipliersByCode);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(Map<String, BigDecimal> multipliersByCode) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                var writtenCount = repository.upsertRates(multipliersByCode);
+
+                eventPublisher.publishEvent(new CurrencyRatesUpdatedEvent(multipliersByCode.keySet()));
+                writtenRates.increment(writtenCount);
+            });
+            failedFlushesByCode.keySet().removeAll(multipliersByCode.keySet());
+        } catch (DataIntegrityViolationException e) {
+            // rejected data fails on every retry, halves of the batch are written apart until the rejected codes
+            // are left alone and dropped
+            if (multipliersByCode.size() == 1) {
+                drop(multipliersByCode, e);
+            } else {
+                splitInHalves(multipliersByCode).forEach(this::write);
+            }
+        } catch (RuntimeException e) {
+            retryOrDrop(multipliersByCode, e);
+        }
+    }
+
+    // any failure rolls the write back, multipliers received during the failed flush are newer, so they are kept
+    // over the returned ones
+    private void retryOrDrop(Map<String, BigDecimal> multipliersByCode, RuntimeException e) {
+        Map<String, BigDecimal> exhaustedMultipliers = new HashMap<>();
+
+        multipliersByCode.forEach((code, multiplier) -> {
+            if (failedFlushesByCode.merge(code, 1, Integer::sum) < MAX_FLUSH_ATTEMPTS) {
+                pendingMultipliers.putIfAbsent(code, multiplier);
+            } else {
+                exhaustedMultipliers.put(code, multiplier);
+            }
+        });
+
+        if (exhaustedMultipliers.isEmpty()) {
+            logger.warn("currency rates of {} codes are not written and wait for the next flush: {}",
+                    multipliersByCode.size(), e.toString());
+        } else {
+            drop(exhaustedMultipliers, e);
+        }
+    }
+
+    private void drop(Map<String, BigDecimal> multipliersByCode, RuntimeException e) {
+        failedFlushesByCode.keySet().removeAll(multipliersByCode.keySet());
+        droppedRates.increment(multipliersByCode.size());
+        logger.error("currency rates of codes {} are dropped", multipliersByCode.keySet(), e);
+    }
+
+    private List<Map<String, BigDecimal>> splitInHalves(Map<String, BigDecimal> multipliersByCode) {
+        Map<String, BigDecimal> firstHalf = new HashMap<>();
+        Map<String, BigDecimal> secondHalf = new HashMap<>();
+
+        multipliersByCode.forEach((code, multiplier) ->
+                (firstHalf.size() < multipliersByCode.size() / 2 ? firstHalf : secondHalf).put(code, multiplier));
+
+        return List.of(firstHalf, secondHalf);
+    }
+
+    @Override
+    public Optional<CurrencyRateResponseDto> getAt(String code, LocalDateTime at) {
+        return ratesHistory.getAt(code, at);
+    }
+}
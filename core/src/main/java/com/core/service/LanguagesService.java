@@ -2,6 +2,8 @@ package com.core.service;
 
 import com.core.dto.LanguageRequestDto;
 import com.core.dto.LanguageResponseDto;
+import com.core.dto.LanguagesResponseDto;
+import com.core.dto.VersionedDto;
 
 import java.util.Collection;
 import java.util.List;
@@ -10,7 +12,9 @@ import java.util.Optional;
 public interface LanguagesService {
     LanguageResponseDto create(LanguageRequestDto requestDto);
 
-    Optional<LanguageResponseDto> getByCode(String code);
+    Optional<VersionedDto<LanguageResponseDto>> getByCode(String code);
+
+    LanguagesResponseDto getAll();
 
     List<LanguageResponseDto> getAllByCodeIn(Collection<String> codes);
 
@@ -2,10 +2,14 @@ package com.core.service;
 
 import com.core.dto.LanguageRequestDto;
 import com.core.dto.LanguageResponseDto;
+import com.core.dto.LanguagesResponseDto;
+import com.core.dto.VersionedDto;
+import com.core.event.LanguagesChangedEvent;
 import com.core.exception.NotFoundResourceException;
 import com.core.exception.UniqueConstraintException;
 import com.core.model.Language;
 import com.core.repository.LanguagesRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,9 +21,11 @@ import java.util.Optional;
 public class LanguagesServiceImpl implements LanguagesService {
 
     private final LanguagesRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public LanguagesServiceImpl(LanguagesRepository repository) {
+    public LanguagesServiceImpl(LanguagesRepository repository, ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -32,14 +38,30 @@ public class LanguagesServiceImpl implements LanguagesService {
 
         var savedLanguage = repository.save(language);
 
+        eventPublisher.publishEvent(new LanguagesChangedEvent(savedLanguage.getId()));
+
         return new LanguageResponseDto(savedLanguage.getId(), savedLanguage.getCode());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<LanguageResponseDto> getByCode(String code) {
+    public Optional<VersionedDto<LanguageResponseDto>> getByCode(String code) {
         return repository.findByCode(code)
-                .map(language -> new LanguageResponseDto(language.getId(), language.getCode()));
+                .map(language -> new VersionedDto<>(new LanguageResponseDto(language.getId(), language.getCode()),
+                        language.getVersion(), language.getLastUpdateDate()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LanguagesResponseDto getAll() {
+        List<Language> languages = repository.findAllByOrderByIdAsc();
+        List<LanguageResponseDto> languagesDto = languages.stream()
+                .map(language -> new LanguageResponseDto(language.getId(), language.getCode()))
+                .toList();
+
+        var version = TableVersions.makeVersion(languages, Language::getId, Language::getVersion);
+
+        return new LanguagesResponseDto(version, languagesDto);
     }
 
     @Override
@@ -61,6 +83,8 @@ public class LanguagesServiceImpl implements LanguagesService {
 
         var updatedLanguage = repository.save(language);
 
+        eventPublisher.publishEvent(new LanguagesChangedEvent(id));
+
         return new LanguageResponseDto(id, updatedLanguage.getCode());
     }
 
@@ -74,6 +98,7 @@ public class LanguagesServiceImpl implements LanguagesService {
         }
 
         repository.deleteById(id);
+        eventPublisher.publishEvent(new LanguagesChangedEvent(id));
     }
 
     private void throwErrorIfExistByCode(String code) {
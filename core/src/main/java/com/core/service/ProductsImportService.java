@@ -0,0 +1,10 @@
+package com.core.service;
+
+import com.core.dto.product.ProductImportLine;
+import com.core.dto.product.ProductsImportReportDto;
+
+import java.util.Iterator;
+
+public interface ProductsImportService {
+    ProductsImportReportDto importAll(Iterator<ProductImportLine> lines);
+}
@@ -0,0 +1,175 @@
+package com.core.service;
+
+import com.core.cache.LanguagesCache;
+import com.core.dto.product.*;
+import com.core.model.Language;
+import com.core.repository.product.ProductsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+
+@Service
+public class ProductsImportServiceImpl implements ProductsImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ProductsRepository productsRepository;
+    private final LanguagesCache languagesCache;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ProductsImportServiceImpl(ProductsRepository productsRepository,
+                                     LanguagesCache languagesCache,
+                                     Validator validator,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${core.products.import.chunk-size}") int chunkSize) {
+        this.productsRepository = productsRepository;
+        this.languagesCache = languagesCache;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ProductsImportReportDto importAll(Iterator<ProductImportLine> lines) {
+        var report = new ImportReport();
+        List<ProductImportLine> chunk = new ArrayList<>(chunkSize);
+
+        while (lines.hasNext()) {
+            var line = lines.next();
+
+            if (line.error() != null) {
+                report.addError(line.line(), List.of(line.error()));
+                continue;
+            }
+
+            Set<ConstraintViolation<ProductRequestDto>> violations = validator.validate(line.product());
+
+            if (!violations.isEmpty()) {
+                report.addError(line.line(), violations.stream()
+                        .map(this::extractMessage)
+                        .toList());
+                continue;
+            }
+
+            chunk.add(line);
+
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+
+        importChunk(chunk, report);
+
+        return new ProductsImportReportDto(report.imported, report.failed, report.errors);
+    }
+
+    // a failed chunk is reported for its products and the import goes on with the next one
+    private void importChunk(List<ProductImportLine> chunk, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> languageIdsByCode;
+
+        try {
+            languageIdsByCode = findLanguageIdsByCode(chunk);
+        } catch (RuntimeException e) {
+            chunk.forEach(line -> report.addError(line.line(), List.of(getMessage(e))));
+
+            return;
+        }
+
+        List<ProductImportLine> validLines = new ArrayList<>(chunk.size());
+
+        for (ProductImportLine line : chunk) {
+            Set<String> missingLanguageCodes = getLanguageCodes(line.product())
+                    .filter(code -> !languageIdsByCode.containsKey(code))
+                    .collect(toSet());
+
+            if (missingLanguageCodes.isEmpty()) {
+                validLines.add(line);
+            } else {
+                report.addError(line.line(), List.of(
+                        String.format("languages with code: %s not found", missingLanguageCodes)));
+            }
+        }
+
+        if (validLines.isEmpty()) {
+            return;
+        }
+
+        List<ProductRequestDto> products = validLines.stream()
+                .map(ProductImportLine::product)
+                .toList();
+
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> productsRepository.insertAll(products, languageIdsByCode));
+            report.imported += products.size();
+        } catch (RuntimeException e) {
+            var message = getMessage(e);
+
+            validLines.forEach(line -> report.addError(line.line(), List.of(message)));
+        }
+    }
+
+    private Map<String, Long> findLanguageIdsByCode(List<ProductImportLine> chunk) {
+        Set<String> languageCodes = chunk.stream()
+                .flatMap(line -> getLanguageCodes(line.product()))
+                .collect(toSet());
+
+        return languagesCache.getAllByCodeIn(languageCodes)
+                .values()
+                .stream()
+                .collect(toMap(Language::getCode, Language::getId));
+    }
+
+    private String getMessage(RuntimeException e) {
+        return NestedExceptionUtils.getMostSpecificCause(e)
+                .getMessage();
+    }
+
+    private Stream<String> getLanguageCodes(ProductRequestDto product) {
+        Stream<String> descriptionLanguageCodes = product.descriptions()
+                .stream()
+                .map(ProductDescriptionRequestDto::languageCode);
+        Stream<String> featureLanguageCodes = product.features()
+                .stream()
+                .map(ProductFeatureRequestDto::languageCode);
+
+        return Stream.concat(descriptionLanguageCodes, featureLanguageCodes);
+    }
+
+    private String extractMessage(ConstraintViolation<?> violation) {
+        return String.format("property: %s, has error: %s", violation.getPropertyPath(), violation.getMessage());
+    }
+
+    private static final class ImportReport {
+
+        private final List<ProductImportErrorDto> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        private void addError(long line, List<String> messages) {
+            failed++;
+
+            // the count stays exact, the details are capped to keep memory flat on a broken catalog
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ProductImportErrorDto(line, messages));
+            }
+        }
+    }
+}
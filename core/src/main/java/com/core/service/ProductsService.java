@@ -1,16 +1,36 @@
 package com.core.service;
 
-import com.core.dto.product.ProductRequestDto;
-import com.core.dto.product.ProductResponseDto;
+import com.core.dto.product.*;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ProductsService {
     ProductResponseDto create(ProductRequestDto requestDto);
 
-    Optional<ProductResponseDto> getById(long id);
+    Optional<ProductResponseDto> getById(long id, String languageCode);
+
+    Optional<Integer> getVersionById(long id);
+
+    List<ProductResponseDto> getAllByIdIn(List<Long> ids, String languageCode);
+
+    ProductsPageDto getPage(ProductsPageRequestDto pageRequest);
+
+    ProductsSearchPageDto search(ProductsSearchRequestDto searchRequest);
+
+    void exportAll(String languageCode, Consumer<ProductResponseDto> action);
 
     ProductResponseDto update(long id, ProductRequestDto requestDto);
 
+    ProductResponseDto patch(long id, Integer expectedVersion, ProductPatchRequestDto patch);
+
+    ProductPricesReportDto updatePrices(List<ProductPriceRequestDto> prices);
+
+    ProductPricesReportDto adjustPrices(ProductPricesAdjustmentRequestDto adjustment);
+
     void deleteById(long id);
+
+    ProductsDeletionReportDto deleteAllByIdIn(Set<Long> ids);
 }
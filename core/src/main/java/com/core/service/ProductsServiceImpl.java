@@ -1,18 +1,29 @@
 package com.core.service;
 
+import com.core.cache.LanguagesCache;
+import com.core.cache.ProductsCache;
 import com.core.dto.LanguageResponseDto;
 import com.core.dto.product.*;
+import com.core.event.ProductDeletedEvent;
+import com.core.event.ProductSavedEvent;
+import com.core.event.ProductsChangedEvent;
+import com.core.event.ProductsDeletedEvent;
+import com.core.exception.InvalidFilterException;
 import com.core.exception.NotFoundResourceException;
+import com.core.exception.VersionMismatchException;
 import com.core.model.Language;
 import com.core.model.product.Product;
 import com.core.model.product.ProductDescription;
 import com.core.model.product.ProductFeature;
-import com.core.repository.product.ProductFeaturesRepository;
 import com.core.repository.product.ProductsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -22,22 +33,34 @@ import static java.util.stream.Collectors.toSet;
 @Service
 public class ProductsServiceImpl implements ProductsService {
 
+    private static final String CHILDREN_CHANGES_METRIC = "core.products.update.children";
+    private static final String CHILD_TAG = "child";
+    private static final String CHANGE_TAG = "change";
+    private static final String DESCRIPTION_CHILD = "description";
+    private static final String FEATURE_CHILD = "feature";
+
     private final ProductsRepository productsRepository;
-    private final ProductFeaturesRepository featuresRepository;
-    private final LanguagesService languagesService;
+    private final LanguagesCache languagesCache;
+    private final ProductsCache productsCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
     public ProductsServiceImpl(ProductsRepository productsRepository,
-                               ProductFeaturesRepository featuresRepository,
-                               LanguagesService languagesService) {
+                               LanguagesCache languagesCache,
+                               ProductsCache productsCache,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry) {
         this.productsRepository = productsRepository;
-        this.featuresRepository = featuresRepository;
-        this.languagesService = languagesService;
+        this.languagesCache = languagesCache;
+        this.productsCache = productsCache;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     @Transactional
     public ProductResponseDto create(ProductRequestDto requestDto) {
-        Map<String, LanguageResponseDto> languagesByCode = findLanguagesOrThrow(requestDto);
+        Map<String, Language> languagesByCode = findLanguagesOrThrow(requestDto);
         var product = new Product();
 
         product.setPrice(requestDto.price());
@@ -45,14 +68,85 @@ public class ProductsServiceImpl implements ProductsService {
         addFeaturesToProduct(product, requestDto.features(), languagesByCode);
 
         var savedProduct = productsRepository.save(product);
+        var productDto = makeProductDto(savedProduct);
+
+        eventPublisher.publishEvent(new ProductSavedEvent(productDto));
+
+        return productDto;
+    }
+
+    @Override
+    public Optional<ProductResponseDto> getById(long id, String languageCode) {
+        Optional<ProductResponseDto> cachedProduct = productsCache.get(id);
+
+        if (cachedProduct.isPresent()) {
+            return cachedProduct.map(product -> filterByLanguage(product, languageCode));
+        }
+
+        if (languageCode != null) {
+            return productsRepository.findViewById(id, languageCode);
+        }
+
+        Optional<ProductResponseDto> product = productsRepository.findViewById(id, null);
+
+        product.ifPresent(productsCache::put);
+
+        return product;
+    }
+
+    @Override
+    public Optional<Integer> getVersionById(long id) {
+        Optional<Integer> cachedVersion = productsCache.get(id)
+                .map(ProductResponseDto::version);
+
+        return cachedVersion.isPresent() ? cachedVersion : productsRepository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponseDto> getAllByIdIn(List<Long> ids, String languageCode) {
+        return findViewsInOrder(new LinkedHashSet<>(ids), languageCode);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductsPageDto getPage(ProductsPageRequestDto pageRequest) {
+        if (pageRequest.languageCode() == null && (pageRequest.filter().hasFeatures() || pageRequest.facets())) {
+            throw new InvalidFilterException("feature filters and facets require a language");
+        }
+
+        var cursor = pageRequest.cursor();
+        var after = cursor == null ? null : ProductCursor.decode(cursor, pageRequest.sort(), pageRequest.direction());
+        var size = pageRequest.size();
+        List<ProductCursor> cursors = productsRepository.findPageCursors(pageRequest, after, size + 1);
+        var hasNextPage = cursors.size() > size;
+        List<ProductCursor> pageCursors = hasNextPage ? cursors.subList(0, size) : cursors;
+        List<Long> ids = pageCursors.stream()
+                .map(ProductCursor::id)
+                .toList();
+        var nextCursor = hasNextPage ? pageCursors.get(size - 1).encode() : null;
+
+        List<ProductFeatureFacetDto> facets = pageRequest.facets() ? productsRepository.findFeatureFacets(pageRequest)
+                : null;
+
+        return new ProductsPageDto(findViewsInOrder(ids, pageRequest.languageCode()), nextCursor, facets);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductsSearchPageDto search(ProductsSearchRequestDto searchRequest) {
+        var page = searchRequest.page();
+        var size = searchRequest.size();
+        List<ProductSearchHitDto> hits = productsRepository.search(searchRequest, page * size, size + 1);
+        var hasNextPage = hits.size() > size;
 
-        return makeProductDto(savedProduct);
+        return new ProductsSearchPageDto(hasNextPage ? hits.subList(0, size) : hits, hasNextPage ? page + 1 : null);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<ProductResponseDto> getById(long id) {
-        return findProductById(id).map(this::makeProductDto);
+    public void exportAll(String languageCode, Consumer<ProductResponseDto> action) {
+        productsRepository.forEachView(languageCode, action);
     }
 
     @Override
@@ -60,111 +154,284 @@ public class ProductsServiceImpl implements ProductsService {
     public ProductResponseDto update(long id, ProductRequestDto requestDto) {
         var product = findProductById(id).orElseThrow(
                 () -> new NotFoundResourceException(String.format("product with id: %s not found", id)));
-        Map<String, LanguageResponseDto> languagesByCode = findLanguagesOrThrow(requestDto);
+        Map<String, Language> languagesByCode = findLanguagesOrThrow(requestDto);
 
         product.setPrice(requestDto.price());
-        updateDescriptions(product, requestDto.descriptions(), languagesByCode);
-        updateFeatures(product, requestDto.features(), languagesByCode);
 
-        var savedProduct = productsRepository.save(product);
+        var descriptionsChanges = updateDescriptions(product, requestDto.descriptions(), languagesByCode);
+        var featuresChanges = updateFeatures(product, requestDto.features(), languagesByCode);
+
+        // changes of children alone do not make the product dirty, touch it to bump the version
+        if (descriptionsChanges.hasChanges() || featuresChanges.hasChanges()) {
+            product.setLastUpdateDate(LocalDateTime.now());
+        }
+
+        countChildrenChanges(DESCRIPTION_CHILD, descriptionsChanges);
+        countChildrenChanges(FEATURE_CHILD, featuresChanges);
+
+        var savedProduct = productsRepository.saveAndFlush(product);
+        var productDto = makeProductDto(savedProduct);
+
+        eventPublisher.publishEvent(new ProductSavedEvent(productDto));
+
+        return productDto;
+    }
+
+    @Override
+    @Transactional
+    public ProductResponseDto patch(long id, Integer expectedVersion, ProductPatchRequestDto patch) {
+        Stream<String> descriptionLanguageCodes = patch.descriptions()
+                .values()
+                .stream()
+                .filter(Objects::nonNull)
+                .map(ProductDescriptionPatchDto::languageCode);
+        Stream<String> featureLanguageCodes = patch.features()
+                .values()
+                .stream()
+                .filter(Objects::nonNull)
+                .map(ProductFeaturePatchDto::languageCode);
+        Set<String> languageCodes = Stream.concat(descriptionLanguageCodes, featureLanguageCodes)
+                .filter(Objects::nonNull)
+                .collect(toSet());
+        Map<String, Long> languageIdsByCode = findLanguageIdsOrThrow(languageCodes);
+        // the product row is updated first, so its version guards the whole patch
+        Optional<Integer> version = productsRepository.patch(id, expectedVersion, patch.price());
+
+        if (version.isEmpty()) {
+            if (productsRepository.existsById(id)) {
+                throw new VersionMismatchException(
+                        String.format("product with id: %s has not version: %s", id, expectedVersion));
+            }
+
+            throw new NotFoundResourceException(String.format("product with id: %s not found", id));
+        }
+
+        Map<Long, ProductDescriptionPatchDto> updatedDescriptions = withoutNullValues(patch.descriptions());
+        Set<Long> removedDescriptionIds = keysOfNullValues(patch.descriptions());
+        var changedDescriptionsCount = productsRepository.deleteDescriptions(id, removedDescriptionIds)
+                + productsRepository.updateDescriptions(id, updatedDescriptions, languageIdsByCode);
+
+        if (changedDescriptionsCount != patch.descriptions().size()) {
+            throw new NotFoundResourceException(String.format("descriptions with ids: %s of product: %s not found",
+                    patch.descriptions().keySet(), id));
+        }
+
+        Map<Long, ProductFeaturePatchDto> updatedFeatures = withoutNullValues(patch.features());
+        Set<Long> removedFeatureIds = keysOfNullValues(patch.features());
+        var changedFeaturesCount = productsRepository.deleteFeatures(id, removedFeatureIds)
+                + productsRepository.updateFeatures(id, updatedFeatures, languageIdsByCode);
+
+        if (changedFeaturesCount != patch.features().size()) {
+            throw new NotFoundResourceException(String.format("features with ids: %s of product: %s not found",
+                    patch.features().keySet(), id));
+        }
+
+        var productDto = productsRepository.findViewById(id, null)
+                .orElseThrow(() -> new NotFoundResourceException(String.format("product with id: %s not found", id)));
+
+        eventPublisher.publishEvent(new ProductSavedEvent(productDto));
+
+        return productDto;
+    }
+
+    @Override
+    @Transactional
+    public ProductPricesReportDto updatePrices(List<ProductPriceRequestDto> prices) {
+        // one statement cannot update a row twice, so a repeated id keeps its last price
+        Map<Long, ProductPriceRequestDto> pricesById = prices.stream()
+                .collect(toMap(ProductPriceRequestDto::id, Function.identity(), (first, second) -> second,
+                        LinkedHashMap::new));
+        Map<Long, Integer> versionsById = productsRepository.updatePrices(List.copyOf(pricesById.values()));
+
+        return makePricesReport(pricesById.keySet(), versionsById);
+    }
+
+    @Override
+    @Transactional
+    public ProductPricesReportDto adjustPrices(ProductPricesAdjustmentRequestDto adjustment) {
+        Map<Long, Integer> versionsById = productsRepository.adjustPrices(adjustment.ids(), adjustment.percent());
 
-        return makeProductDto(savedProduct);
+        return makePricesReport(adjustment.ids(), versionsById);
     }
 
     @Override
     @Transactional
     public void deleteById(long id) {
-        var hasProduct = productsRepository.existsById(id);
+        List<Long> deletedIds = productsRepository.deleteByIdIn(List.of(id));
 
-        if (!hasProduct) {
+        if (deletedIds.isEmpty()) {
             throw new NotFoundResourceException(String.format("product with id: %s not found", id));
         }
 
-        productsRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductDeletedEvent(id));
+    }
+
+    @Override
+    @Transactional
+    public ProductsDeletionReportDto deleteAllByIdIn(Set<Long> ids) {
+        List<Long> deletedIds = productsRepository.deleteByIdIn(ids);
+        Set<Long> deletedIdsSet = new HashSet<>(deletedIds);
+        List<Long> notFoundIds = ids.stream()
+                .filter(id -> !deletedIdsSet.contains(id))
+                .toList();
+
+        if (!deletedIds.isEmpty()) {
+            eventPublisher.publishEvent(new ProductsDeletedEvent(deletedIds));
+        }
+
+        return new ProductsDeletionReportDto(deletedIds.size(), notFoundIds);
+    }
+
+    private ProductPricesReportDto makePricesReport(Collection<Long> ids, Map<Long, Integer> versionsById) {
+        List<Long> notUpdatedIds = ids.stream()
+                .filter(id -> !versionsById.containsKey(id))
+                .toList();
+        Set<Long> existingIds = new HashSet<>(productsRepository.findIdsByIdIn(notUpdatedIds));
+        List<Long> conflictedIds = notUpdatedIds.stream()
+                .filter(existingIds::contains)
+                .toList();
+        List<Long> notFoundIds = notUpdatedIds.stream()
+                .filter(id -> !existingIds.contains(id))
+                .toList();
+
+        if (!versionsById.isEmpty()) {
+            eventPublisher.publishEvent(new ProductsChangedEvent(versionsById));
+        }
+
+        return new ProductPricesReportDto(versionsById.size(), conflictedIds, notFoundIds);
     }
 
-    private void updateFeatures(Product product, List<ProductFeatureRequestDto> features,
-                                Map<String, LanguageResponseDto> languagesByCode) {
-        List<ProductFeature> savedFeatures = new ArrayList<>(product.getFeatures());
+    private List<ProductResponseDto> findViewsInOrder(Collection<Long> ids, String languageCode) {
+        Map<Long, ProductResponseDto> productsById = productsRepository.findViewsByIdIn(ids, languageCode)
+                .stream()
+                .collect(toMap(ProductResponseDto::id, Function.identity()));
+
+        return ids.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private ProductResponseDto filterByLanguage(ProductResponseDto product, String languageCode) {
+        if (languageCode == null) {
+            return product;
+        }
+
+        List<ProductDescriptionResponseDto> descriptions = product.descriptions()
+                .stream()
+                .filter(description -> languageCode.equals(description.language().code()))
+                .toList();
+        List<ProductFeatureResponseDto> features = product.features()
+                .stream()
+                .filter(feature -> languageCode.equals(feature.language().code()))
+                .toList();
+
+        return new ProductResponseDto(product.id(), product.price(), product.version(), descriptions, features);
+    }
+
+    private ChildrenChanges updateFeatures(Product product, List<ProductFeatureRequestDto> features,
+                                           Map<String, Language> languagesByCode) {
         List<ProductFeatureRequestDto> newFeatures = features.stream()
                 .filter(feature -> feature.id() == null)
                 .toList();
         Map<Long, ProductFeatureRequestDto> featuresForUpdateById = features.stream()
                 .filter(feature -> feature.id() != null)
                 .collect(toMap(ProductFeatureRequestDto::id, Function.identity()));
+        Set<ProductFeature> removedFeatures = new HashSet<>();
+        var updatedCount = 0;
 
-        addFeaturesToProduct(product, newFeatures, languagesByCode);
-
-        for (ProductFeature feature : savedFeatures) {
-            var featureId = feature.getId();
-            var featureDto = featuresForUpdateById.get(featureId);
+        for (ProductFeature feature : product.getFeatures()) {
+            var featureDto = featuresForUpdateById.get(feature.getId());
 
             if (featureDto == null) {
-                product.removeFeature(feature);
+                removedFeatures.add(feature);
                 continue;
             }
 
-            var languageDto = languagesByCode.get(featureDto.languageCode());
-            var language = makeLanguage(languageDto);
+            var language = languagesByCode.get(featureDto.languageCode());
+            var hasChanges = !Objects.equals(feature.getName(), featureDto.name())
+                    || !Objects.equals(feature.getValue(), featureDto.value())
+                    || !Objects.equals(feature.getLanguage().getId(), language.getId());
 
-            feature.setName(featureDto.name());
-            feature.setValue(featureDto.value());
-            feature.setLanguage(language);
+            if (hasChanges) {
+                feature.setName(featureDto.name());
+                feature.setValue(featureDto.value());
+                feature.setLanguage(language);
+                updatedCount++;
+            }
         }
+
+        var unchangedCount = product.getFeatures().size() - removedFeatures.size() - updatedCount;
+
+        product.removeFeatures(removedFeatures);
+        addFeaturesToProduct(product, newFeatures, languagesByCode);
+
+        return new ChildrenChanges(newFeatures.size(), updatedCount, removedFeatures.size(), unchangedCount);
     }
 
-    private void updateDescriptions(Product product, List<ProductDescriptionRequestDto> descriptions,
-                                    Map<String, LanguageResponseDto> languagesByCode) {
-        List<ProductDescription> savedDescriptions = new ArrayList<>(product.getDescriptions());
+    private ChildrenChanges updateDescriptions(Product product, List<ProductDescriptionRequestDto> descriptions,
+                                               Map<String, Language> languagesByCode) {
         List<ProductDescriptionRequestDto> newDescriptions = descriptions.stream()
                 .filter(description -> description.id() == null)
                 .toList();
         Map<Long, ProductDescriptionRequestDto> descriptionsForUpdateById = descriptions.stream()
                 .filter(description -> description.id() != null)
                 .collect(toMap(ProductDescriptionRequestDto::id, Function.identity()));
+        Set<ProductDescription> removedDescriptions = new HashSet<>();
+        var updatedCount = 0;
 
-        addDescriptionsToProduct(product, newDescriptions, languagesByCode);
-
-        for (ProductDescription description : savedDescriptions) {
-            var descriptionId = description.getId();
-            var descriptionDto = descriptionsForUpdateById.get(descriptionId);
+        for (ProductDescription description : product.getDescriptions()) {
+            var descriptionDto = descriptionsForUpdateById.get(description.getId());
 
             if (descriptionDto == null) {
-                product.removeDescription(description);
+                removedDescriptions.add(description);
                 continue;
             }
 
-            var languageDto = languagesByCode.get(descriptionDto.languageCode());
-            var language = makeLanguage(languageDto);
+            var language = languagesByCode.get(descriptionDto.languageCode());
+            var hasChanges = !Objects.equals(description.getTitle(), descriptionDto.title())
+                    || !Objects.equals(description.getDescription(), descriptionDto.description())
+                    || !Objects.equals(description.getLanguage().getId(), language.getId());
 
-            description.setTitle(descriptionDto.title());
-            description.setDescription(descriptionDto.description());
-            description.setLanguage(language);
+            if (hasChanges) {
+                description.setTitle(descriptionDto.title());
+                description.setDescription(descriptionDto.description());
+                description.setLanguage(language);
+                updatedCount++;
+            }
         }
-    }
 
-    private Optional<Product> findProductById(long id) {
-        var product = productsRepository.findByIdWithDescriptions(id)
-                .orElse(null);
+        var unchangedCount = product.getDescriptions().size() - removedDescriptions.size() - updatedCount;
 
-        if (product == null) {
-            return Optional.empty();
-        }
+        product.removeDescriptions(removedDescriptions);
+        addDescriptionsToProduct(product, newDescriptions, languagesByCode);
 
-        List<ProductFeature> features = featuresRepository.findAllByProductId(id)
-                .toList();
+        return new ChildrenChanges(newDescriptions.size(), updatedCount, removedDescriptions.size(),
+                unchangedCount);
+    }
 
-        product.setFeatures(features);
+    private void countChildrenChanges(String child, ChildrenChanges changes) {
+        meterRegistry.counter(CHILDREN_CHANGES_METRIC, CHILD_TAG, child, CHANGE_TAG, "inserted")
+                .increment(changes.inserted());
+        meterRegistry.counter(CHILDREN_CHANGES_METRIC, CHILD_TAG, child, CHANGE_TAG, "updated")
+                .increment(changes.updated());
+        meterRegistry.counter(CHILDREN_CHANGES_METRIC, CHILD_TAG, child, CHANGE_TAG, "deleted")
+                .increment(changes.deleted());
+        meterRegistry.counter(CHILDREN_CHANGES_METRIC, CHILD_TAG, child, CHANGE_TAG, "unchanged")
+                .increment(changes.unchanged());
+    }
 
-        return Optional.of(product);
+    private Optional<Product> findProductById(long id) {
+        // the second fetch initializes features of the same managed instance, replacing the orphan-removal
+        // collection with a detached list would fail on flush
+        return productsRepository.findByIdWithDescriptions(id)
+                .flatMap(product -> productsRepository.findByIdWithFeatures(id));
     }
 
     private void addFeaturesToProduct(Product product, List<ProductFeatureRequestDto> features,
-                                      Map<String, LanguageResponseDto> languagesByCode) {
+                                      Map<String, Language> languagesByCode) {
         for (ProductFeatureRequestDto featureDto : features) {
-            var languageCode = featureDto.languageCode();
-            var languageDto = languagesByCode.get(languageCode);
-            var language = makeLanguage(languageDto);
+            var language = languagesByCode.get(featureDto.languageCode());
             var feature = makeFeature(featureDto, language);
 
             product.addFeature(feature);
@@ -182,11 +449,9 @@ public class ProductsServiceImpl implements ProductsService {
     }
 
     private void addDescriptionsToProduct(Product product, List<ProductDescriptionRequestDto> descriptions,
-                                          Map<String, LanguageResponseDto> languagesByCode) {
+                                          Map<String, Language> languagesByCode) {
         for (ProductDescriptionRequestDto descriptionDto : descriptions) {
-            var languageCode = descriptionDto.languageCode();
-            var languageDto = languagesByCode.get(languageCode);
-            var language = makeLanguage(languageDto);
+            var language = languagesByCode.get(descriptionDto.languageCode());
             var description = makeDescription(descriptionDto, language);
 
             product.addDescription(description);
@@ -203,7 +468,27 @@ public class ProductsServiceImpl implements ProductsService {
         return description;
     }
 
-    private Map<String, LanguageResponseDto> findLanguagesOrThrow(ProductRequestDto requestDto) {
+    private <T> Map<Long, T> withoutNullValues(Map<Long, T> patches) {
+        Map<Long, T> values = new LinkedHashMap<>();
+
+        patches.forEach((id, patch) -> {
+            if (patch != null) {
+                values.put(id, patch);
+            }
+        });
+
+        return values;
+    }
+
+    private Set<Long> keysOfNullValues(Map<Long, ?> patches) {
+        return patches.entrySet()
+                .stream()
+                .filter(entry -> entry.getValue() == null)
+                .map(Map.Entry::getKey)
+                .collect(toSet());
+    }
+
+    private Map<String, Language> findLanguagesOrThrow(ProductRequestDto requestDto) {
         Stream<String> descriptionLanguageCodes = requestDto.descriptions()
                 .stream()
                 .map(ProductDescriptionRequestDto::languageCode);
@@ -212,30 +497,34 @@ public class ProductsServiceImpl implements ProductsService {
                 .map(ProductFeatureRequestDto::languageCode);
         Set<String> languageCodes = Stream.concat(descriptionLanguageCodes, featuresLanguageCodes)
                 .collect(toSet());
-        List<LanguageResponseDto> foundedLanguages = languagesService.getAllByCodeIn(languageCodes);
-        boolean hasAllLanguages = languageCodes.size() != foundedLanguages.size();
 
-        if (hasAllLanguages) {
-            Set<String> foundedLanguageCodes = foundedLanguages.stream()
-                    .map(LanguageResponseDto::code)
-                    .collect(toSet());
-
-            languageCodes.retainAll(foundedLanguageCodes);
+        return findLanguagesOrThrow(languageCodes);
+    }
 
-            throw new NotFoundResourceException(String.format("languages with id: %s not found", languageCodes));
+    private Map<String, Long> findLanguageIdsOrThrow(Set<String> languageCodes) {
+        if (languageCodes.isEmpty()) {
+            return Map.of();
         }
 
-        return foundedLanguages.stream()
-                .collect(toMap(LanguageResponseDto::code, Function.identity()));
+        return findLanguagesOrThrow(languageCodes).values()
+                .stream()
+                .collect(toMap(Language::getCode, Language::getId));
     }
 
-    private Language makeLanguage(LanguageResponseDto languageDto) {
-        var language = new Language();
+    private Map<String, Language> findLanguagesOrThrow(Set<String> languageCodes) {
+        Map<String, Language> foundLanguages = languagesCache.getAllByCodeIn(languageCodes);
+        boolean hasMissingLanguages = languageCodes.size() != foundLanguages.size();
+
+        if (hasMissingLanguages) {
+            Set<String> missingLanguageCodes = new TreeSet<>(languageCodes);
 
-        language.setId(languageDto.id());
-        language.setCode(languageDto.code());
+            missingLanguageCodes.removeAll(foundLanguages.keySet());
+
+            throw new NotFoundResourceException(String.format("languages with code: %s not found",
+                    missingLanguageCodes));
+        }
 
-        return language;
+        return foundLanguages;
     }
 
     private ProductResponseDto makeProductDto(Product product) {
@@ -249,8 +538,9 @@ public class ProductsServiceImpl implements ProductsService {
                 .toList();
         var productId = product.getId();
         var price = product.getPrice();
+        var version = product.getVersion();
 
-        return new ProductResponseDto(productId, price, descriptions, features);
+        return new ProductResponseDto(productId, price, version, descriptions, features);
     }
 
     private ProductDescriptionResponseDto makeDescriptionDto(ProductDescription description) {
@@ -272,4 +562,11 @@ public class ProductsServiceImpl implements ProductsService {
 
         return new ProductFeatureResponseDto(featureId, languageDto, featureName, featureValue);
     }
+
+    private record ChildrenChanges(int inserted, int updated, int deleted, int unchanged) {
+
+        private boolean hasChanges() {
+            return inserted > 0 || updated > 0 || deleted > 0;
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package com.core.service;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+final class TableVersions {
+
+    private TableVersions() {
+    }
+
+    // ids are never reused: a kept create raises the max id, a delete without one lowers the count and updates
+    // alone raise the sum of versions, so a committed change moves the version off the one read right before it.
+    // It is not a digest of the rows though: the same value can stand for different contents, e.g. a write that
+    // skips the version column, so it is only good as a revalidation tag, not as a unique table version
+    static <T> String makeVersion(List<T> rows, ToLongFunction<T> id, ToIntFunction<T> version) {
+        long maxId = 0;
+        long versionsSum = 0;
+
+        for (T row : rows) {
+            maxId = Math.max(maxId, id.applyAsLong(row));
+            versionsSum += version.applyAsInt(row);
+        }
+
+        return rows.size() + "-" + maxId + "-" + versionsSum;
+    }
+}
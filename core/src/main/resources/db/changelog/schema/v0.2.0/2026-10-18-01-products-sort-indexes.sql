@@ -0,0 +1,6 @@
+--liquibase formatted sql
+--changeset skharitonov:2026-10-18-add-sort-indexes-to-products-table
+create index if not exists products_price_id_index on products (price, id);
+create index if not exists products_last_update_date_id_index on products (last_update_date, id);
+--rollback drop index products_last_update_date_id_index;
+--rollback drop index products_price_id_index;
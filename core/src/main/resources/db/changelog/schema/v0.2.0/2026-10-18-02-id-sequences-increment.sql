@@ -0,0 +1,14 @@
+--liquibase formatted sql
+--changeset skharitonov:2026-10-18-increment-id-sequences-by-block-size runOnChange:true
+-- ids are allocated by blocks of idBlockSize starting at each sequence value, existing rows stay below the next
+-- value, so the sequences only need a new increment
+alter sequence currencies_id_seq increment by ${idBlockSize};
+alter sequence languages_id_seq increment by ${idBlockSize};
+alter sequence products_id_seq increment by ${idBlockSize};
+alter sequence product_descriptions_id_seq increment by ${idBlockSize};
+alter sequence product_features_id_seq increment by ${idBlockSize};
+--rollback alter sequence product_features_id_seq increment by 1;
+--rollback alter sequence product_descriptions_id_seq increment by 1;
+--rollback alter sequence products_id_seq increment by 1;
+--rollback alter sequence languages_id_seq increment by 1;
+--rollback alter sequence currencies_id_seq increment by 1;
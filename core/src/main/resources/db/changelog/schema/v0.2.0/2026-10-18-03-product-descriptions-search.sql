@@ -0,0 +1,70 @@
+--liquibase formatted sql
+--changeset skharitonov:2026-10-18-create-language-text-search-config-function splitStatements:false
+-- words of languages without a built-in config are only lower cased, without stemming and stop words
+create or replace function language_text_search_config(language_code varchar) returns regconfig
+    language sql
+    immutable
+    parallel safe
+as
+$$
+select case upper(language_code)
+           when 'DA' then 'danish'
+           when 'DE' then 'german'
+           when 'EN' then 'english'
+           when 'ES' then 'spanish'
+           when 'FI' then 'finnish'
+           when 'FR' then 'french'
+           when 'HU' then 'hungarian'
+           when 'IT' then 'italian'
+           when 'NL' then 'dutch'
+           when 'NO' then 'norwegian'
+           when 'PT' then 'portuguese'
+           when 'RO' then 'romanian'
+           when 'RU' then 'russian'
+           when 'SV' then 'swedish'
+           when 'TR' then 'turkish'
+           else 'simple'
+           end::regconfig
+$$;
+--rollback drop function language_text_search_config(varchar);
+
+--changeset skharitonov:2026-10-18-create-product-description-text-search-config-function splitStatements:false
+create or replace function set_product_description_text_search_config() returns trigger
+    language plpgsql
+as
+$$
+begin
+    select language_text_search_config(l.code)
+    into new.text_search_config
+    from languages l
+    where l.id = new.language_id;
+
+    return new;
+end;
+$$;
+--rollback drop function set_product_description_text_search_config();
+
+--changeset skharitonov:2026-10-18-add-search-vector-to-product-descriptions-table
+-- a generated column can not read the languages table, so the config is copied into the row by a trigger
+alter table product_descriptions
+    add column if not exists text_search_config regconfig;
+update product_descriptions d
+set text_search_config = language_text_search_config(l.code)
+from languages l
+where l.id = d.language_id;
+alter table product_descriptions
+    alter column text_search_config set not null;
+alter table product_descriptions
+    add column if not exists search_vector tsvector generated always as (
+            setweight(to_tsvector(text_search_config, title), 'A') ||
+            setweight(to_tsvector(text_search_config, description), 'B')) stored;
+create trigger product_descriptions_text_search_config_trigger
+    before insert or update of language_id
+    on product_descriptions
+    for each row
+execute function set_product_description_text_search_config();
+create index if not exists product_descriptions_search_vector_index on product_descriptions using gin (search_vector);
+--rollback drop index product_descriptions_search_vector_index;
+--rollback drop trigger product_descriptions_text_search_config_trigger on product_descriptions;
+--rollback alter table product_descriptions drop column search_vector;
+--rollback alter table product_descriptions drop column text_search_config;
@@ -0,0 +1,6 @@
+--liquibase formatted sql
+--changeset skharitonov:2026-10-18-add-facet-index-to-product-features-table
+-- feature filters and facet counts of a language are answered from this index alone
+create index if not exists product_features_language_id_name_value_product_id_index
+    on product_features (language_id, name, value, product_id);
+--rollback drop index product_features_language_id_name_value_product_id_index;
@@ -0,0 +1,9 @@
+--liquibase formatted sql
+--changeset skharitonov:2026-10-18-add-foreign-key-indexes-to-product-children-tables
+-- language_id of product_features is the leading column of its facet index already
+create index if not exists product_descriptions_product_id_index on product_descriptions (product_id);
+create index if not exists product_descriptions_language_id_index on product_descriptions (language_id);
+create index if not exists product_features_product_id_index on product_features (product_id);
+--rollback drop index product_features_product_id_index;
+--rollback drop index product_descriptions_language_id_index;
+--rollback drop index product_descriptions_product_id_index;
@@ -0,0 +1,47 @@
+--liquibase formatted sql
+--changeset skharitonov:2026-10-18-create-currency-rates-table
+-- append-only history of multipliers, a null multiplier ends the history of a deleted or renamed code
+create table if not exists currency_rates
+(
+    id         bigserial primary key,
+    code       varchar(3) not null,
+    multiplier numeric,
+    valid_from timestamp  not null
+);
+create index if not exists currency_rates_code_valid_from_index on currency_rates (code, valid_from);
+-- the update date comes from the application clock, so it is kept from running ahead of the database one
+insert into currency_rates (code, multiplier, valid_from)
+select c.code, c.multiplier, least(c.last_update_date, localtimestamp)
+from currencies c;
+--rollback drop table currency_rates;
+
+--changeset skharitonov:2026-10-18-create-currency-rates-recording-function splitStatements:false
+create or replace function record_currency_rate() returns trigger
+    language plpgsql
+as
+$$
+begin
+    -- every row takes the database clock and not the transaction start or the application clock, so rows of a code
+    -- are ordered the way they are written, even the ones of one transaction
+    if tg_op = 'DELETE' or (tg_op = 'UPDATE' and old.code <> new.code) then
+        insert into currency_rates (code, multiplier, valid_from)
+        values (old.code, null, clock_timestamp()::timestamp);
+    end if;
+
+    if tg_op = 'INSERT' or (tg_op = 'UPDATE' and (old.code <> new.code or old.multiplier <> new.multiplier)) then
+        insert into currency_rates (code, multiplier, valid_from)
+        values (new.code, new.multiplier, clock_timestamp()::timestamp);
+    end if;
+
+    return null;
+end;
+$$;
+--rollback drop function record_currency_rate();
+
+--changeset skharitonov:2026-10-18-add-currency-rates-trigger-to-currencies-table
+create trigger currencies_currency_rates_trigger
+    after insert or update or delete
+    on currencies
+    for each row
+execute function record_currency_rate();
+--rollback drop trigger currencies_currency_rates_trigger on currencies;
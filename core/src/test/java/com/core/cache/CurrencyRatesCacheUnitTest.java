@@ -0,0 +1,143 @@
+package com.core.cache;
+
+import com.core.cache.CurrencyRatesCache.CurrencyRate;
+import com.core.event.CurrenciesChangedEvent;
+import com.core.event.CurrencyRatesUpdatedEvent;
+import com.core.model.Currency;
+import com.core.repository.CurrenciesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("currency rates cache")
+class CurrencyRatesCacheUnitTest {
+
+    private static final String RUB_CODE = "RUB";
+    private static final String USD_CODE = "USD";
+    private static final String XXX_CODE = "XXX";
+    private static final int READERS_COUNT = 8;
+
+    private CurrenciesRepository repository;
+    private CurrencyRatesCache currencyRatesCache;
+
+    @BeforeEach
+    void setUp() {
+        this.repository = mock(CurrenciesRepository.class);
+        this.currencyRatesCache = new CurrencyRatesCache(repository);
+    }
+
+    @Test
+    @DisplayName("should load rates once and return them from memory")
+    void shouldLoadRatesOnceAndReturnThemFromMemory() {
+        when(repository.findAll()).thenReturn(List.of(makeCurrency(RUB_CODE, BigDecimal.ONE),
+                makeCurrency(USD_CODE, BigDecimal.valueOf(74))));
+
+        assertThat(currencyRatesCache.get(USD_CODE)).contains(new CurrencyRate(USD_CODE, BigDecimal.valueOf(74)));
+        assertThat(currencyRatesCache.get(RUB_CODE)).contains(new CurrencyRate(RUB_CODE, BigDecimal.ONE));
+
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("should load rates once when many requests read them before first load")
+    void shouldLoadRatesOnceWhenManyRequestsReadThemBeforeFirstLoad() throws Exception {
+        var executor = Executors.newFixedThreadPool(READERS_COUNT);
+        var start = new CountDownLatch(1);
+
+        when(repository.findAll()).thenReturn(List.of(makeCurrency(USD_CODE, BigDecimal.valueOf(74))));
+
+        try {
+            List<Future<Optional<CurrencyRate>>> rates = new ArrayList<>();
+
+            for (int i = 0; i < READERS_COUNT; i++) {
+                rates.add(executor.submit(() -> {
+                    start.await();
+
+                    return currencyRatesCache.get(USD_CODE);
+                }));
+            }
+
+            start.countDown();
+
+            for (var rate : rates) {
+                assertThat(rate.get()).contains(new CurrencyRate(USD_CODE, BigDecimal.valueOf(74)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("should not load rates when currency rates updated before first read")
+    void shouldNotLoadRatesWhenCurrencyRatesUpdatedBeforeFirstRead() {
+        currencyRatesCache.onCurrencyRatesUpdated(new CurrencyRatesUpdatedEvent(Set.of(USD_CODE)));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("should not return currency without positive multiplier")
+    void shouldNotReturnCurrencyWithoutPositiveMultiplier() {
+        when(repository.findAll()).thenReturn(List.of(makeCurrency(XXX_CODE, BigDecimal.ZERO)));
+
+        assertThat(currencyRatesCache.get(XXX_CODE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should swap rates when currencies changed")
+    void shouldSwapRatesWhenCurrenciesChanged() {
+        when(repository.findAll()).thenReturn(List.of(makeCurrency(USD_CODE, BigDecimal.valueOf(74))))
+                .thenReturn(List.of(makeCurrency(USD_CODE, BigDecimal.valueOf(75))));
+
+        assertThat(currencyRatesCache.get(USD_CODE)).contains(new CurrencyRate(USD_CODE, BigDecimal.valueOf(74)));
+
+        currencyRatesCache.onCurrenciesChanged(new CurrenciesChangedEvent(1L, Set.of(USD_CODE)));
+
+        assertThat(currencyRatesCache.get(USD_CODE)).contains(new CurrencyRate(USD_CODE, BigDecimal.valueOf(75)));
+    }
+
+    @Test
+    @DisplayName("should swap rates when currency rates updated")
+    void shouldSwapRatesWhenCurrencyRatesUpdated() {
+        when(repository.findAll()).thenReturn(List.of(makeCurrency(USD_CODE, BigDecimal.valueOf(74))))
+                .thenReturn(List.of(makeCurrency(USD_CODE, BigDecimal.valueOf(76))));
+
+        assertThat(currencyRatesCache.get(USD_CODE)).contains(new CurrencyRate(USD_CODE, BigDecimal.valueOf(74)));
+
+        currencyRatesCache.onCurrencyRatesUpdated(new CurrencyRatesUpdatedEvent(Set.of(USD_CODE)));
+
+        assertThat(currencyRatesCache.get(USD_CODE)).contains(new CurrencyRate(USD_CODE, BigDecimal.valueOf(76)));
+    }
+
+    @Test
+    @DisplayName("should convert price to currency and back")
+    void shouldConvertPriceToCurrencyAndBack() {
+        var rate = new CurrencyRate(USD_CODE, BigDecimal.valueOf(74));
+
+        assertThat(rate.convert(new BigDecimal("150000"))).isEqualByComparingTo("2027.03");
+        assertThat(rate.convertBack(new BigDecimal("10.5"))).isEqualByComparingTo("777");
+    }
+
+    private Currency makeCurrency(String code, BigDecimal multiplier) {
+        var currency = new Currency();
+
+        currency.setCode(code);
+        currency.setMultiplier(multiplier);
+
+        return currency;
+    }
+}
@@ -0,0 +1,198 @@
+package com.core.cache;
+
+import com.core.dto.CurrencyRateResponseDto;
+import com.core.event.CurrenciesChangedEvent;
+import com.core.event.CurrencyRatesUpdatedEvent;
+import com.core.repository.CurrenciesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("currency rates history")
+class CurrencyRatesHistoryUnitTest {
+
+    private static final String USD_CODE = "USD";
+    private static final String GBP_CODE = "GBP";
+    private static final LocalDateTime FIRST_DATE = LocalDateTime.of(2026, 10, 18, 12, 0, 0, 123_456_000);
+    private static final LocalDateTime SECOND_DATE = FIRST_DATE.plusHours(1);
+    private static final LocalDateTime THIRD_DATE = FIRST_DATE.plusHours(2);
+
+    private List<CurrencyRateResponseDto> recordedRates;
+    private CurrenciesRepository repository;
+    private CurrencyRatesHistory ratesHistory;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        this.recordedRates = new ArrayList<>();
+        this.repository = mock(CurrenciesRepository.class);
+        this.ratesHistory = new CurrencyRatesHistory(repository);
+
+        doAnswer(invocation -> {
+            sortedRecordedRates().forEach(invocation.<Consumer<CurrencyRateResponseDto>>getArgument(0));
+
+            return null;
+        }).when(repository)
+                .forEachRate(any());
+        doAnswer(invocation -> {
+            Map<String, LocalDateTime> validFromByCode = invocation.getArgument(0);
+
+            sortedRecordedRates().stream()
+                    .filter(rate -> validFromByCode.containsKey(rate.code()))
+                    .filter(rate -> validFromByCode.get(rate.code()) == null
+                            || rate.validFrom().isAfter(validFromByCode.get(rate.code())))
+                    .forEach(invocation.<Consumer<CurrencyRateResponseDto>>getArgument(1));
+
+            return null;
+        }).when(repository)
+                .forEachRateAfter(any(), any());
+    }
+
+    @Test
+    @DisplayName("should return rate valid at requested time")
+    void shouldReturnRateValidAtRequestedTime() {
+        var first = record(USD_CODE, BigDecimal.valueOf(74), FIRST_DATE);
+        var second = record(USD_CODE, BigDecimal.valueOf(75), SECOND_DATE);
+
+        assertThat(ratesHistory.getAt(USD_CODE, FIRST_DATE.minusNanos(1_000))).isEmpty();
+        assertThat(ratesHistory.getAt(USD_CODE, FIRST_DATE)).contains(first);
+        assertThat(ratesHistory.getAt(USD_CODE, SECOND_DATE.minusNanos(1_000))).contains(first);
+        assertThat(ratesHistory.getAt(USD_CODE, SECOND_DATE)).contains(second);
+        assertThat(ratesHistory.getAt(USD_CODE, THIRD_DATE)).contains(second);
+        assertThat(ratesHistory.getAt(GBP_CODE, THIRD_DATE)).isEmpty();
+
+        verify(repository, times(1))
+                .forEachRate(any());
+    }
+
+    @Test
+    @DisplayName("should return rate recorded last of rates valid from same time")
+    void shouldReturnRateRecordedLastOfRatesValidFromSameTime() {
+        record(USD_CODE, BigDecimal.valueOf(74), FIRST_DATE);
+        record(USD_CODE, BigDecimal.valueOf(75), FIRST_DATE);
+
+        var third = record(USD_CODE, BigDecimal.valueOf(76), FIRST_DATE);
+
+        assertThat(ratesHistory.getAt(USD_CODE, FIRST_DATE)).contains(third);
+        assertThat(ratesHistory.getAt(USD_CODE, SECOND_DATE)).contains(third);
+    }
+
+    @Test
+    @DisplayName("should not return rate after end of currency")
+    void shouldNotReturnRateAfterEndOfCurrency() {
+        var first = record(USD_CODE, BigDecimal.valueOf(74), FIRST_DATE);
+
+        record(USD_CODE, null, SECOND_DATE);
+
+        assertThat(ratesHistory.getAt(USD_CODE, FIRST_DATE)).contains(first);
+        assertThat(ratesHistory.getAt(USD_CODE, THIRD_DATE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should append only new rates of updated codes when currency rates updated")
+    void shouldAppendOnlyNewRatesOfUpdatedCodesWhenCurrencyRatesUpdated() {
+        var gbp = record(GBP_CODE, BigDecimal.valueOf(100), FIRST_DATE);
+        var usd = record(USD_CODE, BigDecimal.valueOf(74), FIRST_DATE);
+
+        assertThat(ratesHistory.getAt(USD_CODE, THIRD_DATE)).contains(usd);
+
+        var updatedUsd = record(USD_CODE, BigDecimal.valueOf(75), SECOND_DATE);
+
+        ratesHistory.onCurrencyRatesUpdated(new CurrencyRatesUpdatedEvent(Set.of(USD_CODE)));
+
+        assertThat(ratesHistory.getAt(USD_CODE, THIRD_DATE)).contains(updatedUsd);
+        assertThat(ratesHistory.getAt(USD_CODE, SECOND_DATE.minusNanos(1_000))).contains(usd);
+        assertThat(ratesHistory.getAt(GBP_CODE, THIRD_DATE)).contains(gbp);
+
+        verify(repository, times(1))
+                .forEachRate(any());
+        verify(repository, times(1))
+                .forEachRateAfter(eq(Map.of(USD_CODE, FIRST_DATE)), any());
+    }
+
+    @Test
+    @DisplayName("should return every rate of many appended updates")
+    void shouldReturnEveryRateOfManyAppendedUpdates() {
+        List<CurrencyRateResponseDto> rates = new ArrayList<>();
+
+        rates.add(record(USD_CODE, BigDecimal.ZERO, FIRST_DATE));
+        ratesHistory.getAt(USD_CODE, FIRST_DATE);
+
+        for (int i = 1; i < 50; i++) {
+            rates.add(record(USD_CODE, BigDecimal.valueOf(i), FIRST_DATE.plusMinutes(i)));
+            ratesHistory.onCurrencyRatesUpdated(new CurrencyRatesUpdatedEvent(Set.of(USD_CODE)));
+        }
+
+        for (var rate : rates) {
+            assertThat(ratesHistory.getAt(USD_CODE, rate.validFrom().plusSeconds(30))).contains(rate);
+        }
+
+        assertThat(ratesHistory.getAt(USD_CODE, FIRST_DATE.minusNanos(1_000))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should add and end timelines of changed codes when currencies changed")
+    void shouldAddAndEndTimelinesOfChangedCodesWhenCurrenciesChanged() {
+        var usd = record(USD_CODE, BigDecimal.valueOf(74), FIRST_DATE);
+
+        assertThat(ratesHistory.getAt(USD_CODE, THIRD_DATE)).contains(usd);
+
+        record(USD_CODE, null, SECOND_DATE);
+
+        var gbp = record(GBP_CODE, BigDecimal.valueOf(100), SECOND_DATE);
+
+        ratesHistory.onCurrenciesChanged(new CurrenciesChangedEvent(1L, Set.of(USD_CODE, GBP_CODE)));
+
+        assertThat(ratesHistory.getAt(USD_CODE, THIRD_DATE)).isEmpty();
+        assertThat(ratesHistory.getAt(USD_CODE, FIRST_DATE)).contains(usd);
+        assertThat(ratesHistory.getAt(GBP_CODE, THIRD_DATE)).contains(gbp);
+
+        Map<String, LocalDateTime> validFromByCode = new HashMap<>();
+
+        validFromByCode.put(USD_CODE, FIRST_DATE);
+        validFromByCode.put(GBP_CODE, null);
+
+        verify(repository, times(1))
+                .forEachRate(any());
+        verify(repository, times(1))
+                .forEachRateAfter(eq(validFromByCode), any());
+    }
+
+    @Test
+    @DisplayName("should load committed rates on first read when currency rates updated before it")
+    void shouldLoadCommittedRatesOnFirstReadWhenCurrencyRatesUpdatedBeforeIt() {
+        var usd = record(USD_CODE, BigDecimal.valueOf(74), FIRST_DATE);
+
+        ratesHistory.onCurrencyRatesUpdated(new CurrencyRatesUpdatedEvent(Set.of(USD_CODE)));
+
+        verify(repository, never())
+                .forEachRateAfter(any(), any());
+
+        assertThat(ratesHistory.getAt(USD_CODE, SECOND_DATE)).contains(usd);
+    }
+
+    private CurrencyRateResponseDto record(String code, BigDecimal multiplier, LocalDateTime validFrom) {
+        var rate = new CurrencyRateResponseDto(code, multiplier, validFrom);
+
+        recordedRates.add(rate);
+
+        return rate;
+    }
+
+    // the order of the (code, valid_from) index, rates of the same time are in the order they were recorded
+    private List<CurrencyRateResponseDto> sortedRecordedRates() {
+        return recordedRates.stream()
+                .sorted(Comparator.comparing(CurrencyRateResponseDto::code)
+                        .thenComparing(CurrencyRateResponseDto::validFrom))
+                .toList();
+    }
+}
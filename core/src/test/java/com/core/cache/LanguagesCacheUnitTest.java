@@ -0,0 +1,81 @@
+package com.core.cache;
+
+import com.core.event.LanguagesChangedEvent;
+import com.core.model.Language;
+import com.core.repository.LanguagesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("languages cache")
+class LanguagesCacheUnitTest {
+
+    private static final String RU_CODE = "RU";
+    private static final String EN_CODE = "EN";
+    private static final String DE_CODE = "DE";
+    private static final long FIRST_LANGUAGE_ID = 1L;
+    private static final long SECOND_LANGUAGE_ID = 2L;
+
+    private LanguagesRepository repository;
+    private LanguagesCache languagesCache;
+
+    @BeforeEach
+    void setUp() {
+        this.repository = mock(LanguagesRepository.class);
+        this.languagesCache = new LanguagesCache(repository);
+    }
+
+    @Test
+    @DisplayName("should load languages once and share them between calls")
+    void shouldLoadLanguagesOnceAndShareThemBetweenCalls() {
+        when(repository.findAll()).thenReturn(List.of(makeLanguage(FIRST_LANGUAGE_ID, RU_CODE),
+                makeLanguage(SECOND_LANGUAGE_ID, EN_CODE)));
+
+        var firstLanguages = languagesCache.getAllByCodeIn(Set.of(RU_CODE, EN_CODE));
+        var secondLanguages = languagesCache.getAllByCodeIn(Set.of(EN_CODE));
+
+        assertThat(firstLanguages).containsOnlyKeys(RU_CODE, EN_CODE);
+        assertThat(firstLanguages.get(EN_CODE).getId()).isEqualTo(SECOND_LANGUAGE_ID);
+        assertThat(secondLanguages.get(EN_CODE)).isSameAs(firstLanguages.get(EN_CODE));
+
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("should skip unknown and null codes")
+    void shouldSkipUnknownAndNullCodes() {
+        when(repository.findAll()).thenReturn(List.of(makeLanguage(FIRST_LANGUAGE_ID, RU_CODE)));
+
+        assertThat(languagesCache.getAllByCodeIn(Arrays.asList(RU_CODE, DE_CODE, null)))
+                .containsOnlyKeys(RU_CODE);
+    }
+
+    @Test
+    @DisplayName("should swap languages when languages changed")
+    void shouldSwapLanguagesWhenLanguagesChanged() {
+        when(repository.findAll()).thenReturn(List.of(makeLanguage(FIRST_LANGUAGE_ID, RU_CODE)))
+                .thenReturn(List.of(makeLanguage(FIRST_LANGUAGE_ID, DE_CODE)));
+
+        assertThat(languagesCache.getAllByCodeIn(Set.of(RU_CODE))).containsOnlyKeys(RU_CODE);
+
+        languagesCache.onLanguagesChanged(new LanguagesChangedEvent(FIRST_LANGUAGE_ID));
+
+        assertThat(languagesCache.getAllByCodeIn(Set.of(RU_CODE, DE_CODE))).containsOnlyKeys(DE_CODE);
+    }
+
+    private Language makeLanguage(long id, String code) {
+        var language = new Language();
+
+        language.setId(id);
+        language.setCode(code);
+
+        return language;
+    }
+}
@@ -0,0 +1,249 @@
+package com.core.cache;
+
+import com.core.dto.product.ProductResponseDto;
+import com.core.event.ProductDeletedEvent;
+import com.core.event.ProductSavedEvent;
+import com.core.event.ProductsChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("product json cache")
+class ProductJsonCacheUnitTest {
+
+    private static final int SLAB_SIZE = 4096;
+    private static final long MAX_BYTES = 1024L * 1024L;
+    private static final long FIRST_PRODUCT_ID = 1L;
+    private static final long SECOND_PRODUCT_ID = 2L;
+    private static final String RU_LANGUAGE_CODE = "RU";
+    private static final String EN_LANGUAGE_CODE = "EN";
+
+    @Test
+    @DisplayName("should return put json")
+    void shouldReturnPutJson() {
+        var productJsonCache = new ProductJsonCache(MAX_BYTES, SLAB_SIZE, false);
+        var json = makeJson(FIRST_PRODUCT_ID, 100);
+
+        productJsonCache.put(FIRST_PRODUCT_ID, null, false, 1, json);
+
+        assertThat(read(productJsonCache, FIRST_PRODUCT_ID, null)).isNotEmpty()
+                .get()
+                .satisfies(productJson -> {
+                    assertThat(productJson.version()).isEqualTo(1);
+                    assertThat(productJson.gzipped()).isFalse();
+                    assertThat(productJson.content()).isEqualTo(json);
+                });
+        assertThat(read(productJsonCache, FIRST_PRODUCT_ID, RU_LANGUAGE_CODE)).isEmpty();
+        assertThat(productJsonCache.getVersion(FIRST_PRODUCT_ID)).contains(1);
+    }
+
+    @Test
+    @DisplayName("should keep gzipped and plain json apart for clients accepting gzip and not")
+    void shouldKeepGzippedAndPlainJsonApartForClientsAcceptingGzipAndNot() throws IOException {
+        var productJsonCache = new ProductJsonCache(MAX_BYTES, SLAB_SIZE, true);
+        var json = makeJson(FIRST_PRODUCT_ID, 2000);
+
+        productJsonCache.put(FIRST_PRODUCT_ID, RU_LANGUAGE_CODE, true, 0, json);
+
+        var gzippedJson = read(productJsonCache, FIRST_PRODUCT_ID, RU_LANGUAGE_CODE, true).orElseThrow();
+
+        assertThat(gzippedJson.gzipped()).isTrue();
+        assertThat(gzippedJson.content().length).isLessThan(json.length);
+        try (var gzipStream = new GZIPInputStream(new ByteArrayInputStream(gzippedJson.content()))) {
+            assertThat(gzipStream.readAllBytes()).isEqualTo(json);
+        }
+        assertThat(read(productJsonCache, FIRST_PRODUCT_ID, RU_LANGUAGE_CODE, false)).isEmpty();
+
+        productJsonCache.put(FIRST_PRODUCT_ID, RU_LANGUAGE_CODE, false, 0, json);
+
+        assertThat(read(productJsonCache, FIRST_PRODUCT_ID, RU_LANGUAGE_CODE, false)).isNotEmpty()
+                .get()
+                .satisfies(plainJson -> {
+                    assertThat(plainJson.gzipped()).isFalse();
+                    assertThat(plainJson.content()).isEqualTo(json);
+                });
+        assertThat(read(productJsonCache, FIRST_PRODUCT_ID, RU_LANGUAGE_CODE, true)).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("should not replace json with stale version")
+    void shouldNotReplaceJsonWithStaleVersion() {
+        var productJsonCache = new ProductJsonCache(MAX_BYTES, SLAB_SIZE, false);
+        var newerJson = makeJson(FIRST_PRODUCT_ID, 100);
+
+        productJsonCache.put(FIRST_PRODUCT_ID, null, false, 2, newerJson);
+        productJsonCache.put(FIRST_PRODUCT_ID, null, false, 1, makeJson(FIRST_PRODUCT_ID, 200));
+
+        assertThat(read(productJsonCache, FIRST_PRODUCT_ID, null)).isNotEmpty()
+                .get()
+                .satisfies(productJson -> assertThat(productJson.content()).isEqualTo(newerJson));
+    }
+
+    @Test
+    @DisplayName("should evict json in all languages when product saved")
+    void shouldEvictJsonInAllLanguagesWhenProductSaved() {
+        var productJsonCache = new ProductJsonCache(MAX_BYTES, SLAB_SIZE, false);
+        var product = new ProductResponseDto(FIRST_PRODUCT_ID, BigDecimal.ONE, 1, emptyList(), emptyList());
+
+        productJsonCache.put(FIRST_PRODUCT_ID, RU_LANGUAGE_CODE, false, 0, makeJson(FIRST_PRODUCT_ID, 100));
+        productJsonCache.put(FIRST_PRODUCT_ID, EN_LANGUAGE_CODE, false, 0, makeJson(FIRST_PRODUCT_ID, 100));
+        productJsonCache.onProductSaved(new ProductSavedEvent(product));
+        productJsonCache.put(FIRST_PRODUCT_ID, RU_LANGUAGE_CODE, false, 0, makeJson(FIRST_PRODUCT_ID, 100));
+
+        assertThat(read(productJsonCache, FIRST_PRODUCT_ID, RU_LANGUAGE_CODE)).isEmpty();
+        assertThat(read(productJsonCache, FIRST_PRODUCT_ID, EN_LANGUAGE_CODE)).isEmpty();
+        assertThat(productJsonCache.getVersion(FIRST_PRODUCT_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should evict json of changed products")
+    void shouldEvictJsonOfChangedProducts() {
+        var productJsonCache = new ProductJsonCache(MAX_BYTES, SLAB_SIZE, false);
+
+        productJsonCache.put(FIRST_PRODUCT_ID, null, false, 0, makeJson(FIRST_PRODUCT_ID, 100));
+        productJsonCache.put(SECOND_PRODUCT_ID, null, false, 3, makeJson(SECOND_PRODUCT_ID, 100));
+        productJsonCache.onProductsChanged(new ProductsChangedEvent(Map.of(FIRST_PRODUCT_ID, 1)));
+
+        assertThat(read(productJsonCache, FIRST_PRODUCT_ID, null)).isEmpty();
+        assertThat(read(productJsonCache, SECOND_PRODUCT_ID, null)).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("should not cache json of deleted product")
+    void shouldNotCacheJsonOfDeletedProduct() {
+        var productJsonCache = new ProductJsonCache(MAX_BYTES, SLAB_SIZE, false);
+
+        productJsonCache.put(FIRST_PRODUCT_ID, null, false, 0, makeJson(FIRST_PRODUCT_ID, 100));
+        productJsonCache.onProductDeleted(new ProductDeletedEvent(FIRST_PRODUCT_ID));
+        productJsonCache.put(FIRST_PRODUCT_ID, null, false, 0, makeJson(FIRST_PRODUCT_ID, 100));
+
+        assertThat(read(productJsonCache, FIRST_PRODUCT_ID, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should evict least recently used json when byte budget exceeded")
+    void shouldEvictLeastRecentlyUsedJsonWhenByteBudgetExceeded() {
+        // a single slab holds four of the smallest chunks
+        var productJsonCache = new ProductJsonCache(SLAB_SIZE, SLAB_SIZE, false);
+
+        for (long id = FIRST_PRODUCT_ID; id <= 4L; id++) {
+            productJsonCache.put(id, null, false, 0, makeJson(id, 1000));
+        }
+        read(productJsonCache, FIRST_PRODUCT_ID, null);
+        productJsonCache.put(5L, null, false, 0, makeJson(5L, 1000));
+
+        assertThat(read(productJsonCache, FIRST_PRODUCT_ID, null)).isNotEmpty();
+        assertThat(read(productJsonCache, SECOND_PRODUCT_ID, null)).isEmpty();
+        assertThat(read(productJsonCache, 5L, null)).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("should move slab of least recently used json to size class short of memory")
+    void shouldMoveSlabOfLeastRecentlyUsedJsonToSizeClassShortOfMemory() {
+        // two slabs of four of the smallest chunks, both taken by the smallest class
+        var productJsonCache = new ProductJsonCache(2L * SLAB_SIZE, SLAB_SIZE, false);
+
+        for (long id = FIRST_PRODUCT_ID; id <= 8L; id++) {
+            productJsonCache.put(id, null, false, 0, makeJson(id, 1000));
+        }
+        productJsonCache.put(9L, null, false, 0, makeJson(9L, 3000));
+
+        assertThat(read(productJsonCache, 9L, null)).isNotEmpty();
+        assertThat(read(productJsonCache, FIRST_PRODUCT_ID, null)).isEmpty();
+        assertThat(read(productJsonCache, 4L, null)).isEmpty();
+        assertThat(read(productJsonCache, 5L, null)).isNotEmpty();
+        assertThat(read(productJsonCache, 8L, null)).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("should not cache json larger than slab")
+    void shouldNotCacheJsonLargerThanSlab() {
+        var productJsonCache = new ProductJsonCache(MAX_BYTES, SLAB_SIZE, false);
+
+        productJsonCache.put(FIRST_PRODUCT_ID, null, false, 0, makeJson(FIRST_PRODUCT_ID, SLAB_SIZE + 1));
+
+        assertThat(read(productJsonCache, FIRST_PRODUCT_ID, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should not reuse memory of json evicted while it is written")
+    void shouldNotReuseMemoryOfJsonEvictedWhileItIsWritten() throws IOException {
+        // a single slab holds four of the smallest chunks
+        var productJsonCache = new ProductJsonCache(SLAB_SIZE, SLAB_SIZE, false);
+        var json = makeJson(FIRST_PRODUCT_ID, 1000);
+
+        productJsonCache.put(FIRST_PRODUCT_ID, null, false, 0, json);
+
+        productJsonCache.writeTo(FIRST_PRODUCT_ID, null, false, (version, content, gzipped) -> {
+            productJsonCache.evict(FIRST_PRODUCT_ID, 1);
+
+            for (long id = SECOND_PRODUCT_ID; id <= 5L; id++) {
+                productJsonCache.put(id, null, false, 0, makeJson(id, 1000));
+            }
+
+            assertThat(toBytes(content)).isEqualTo(json);
+        });
+
+        assertThat(read(productJsonCache, FIRST_PRODUCT_ID, null)).isEmpty();
+
+        // the released chunk is reused instead of evicting another json
+        productJsonCache.put(6L, null, false, 0, makeJson(6L, 1000));
+
+        assertThat(read(productJsonCache, 6L, null)).isNotEmpty();
+        assertThat(read(productJsonCache, 3L, null)).isNotEmpty();
+    }
+
+    private Optional<ReadJson> read(ProductJsonCache productJsonCache, long id, String languageCode) {
+        return read(productJsonCache, id, languageCode, false);
+    }
+
+    private Optional<ReadJson> read(ProductJsonCache productJsonCache, long id, String languageCode,
+                                    boolean acceptGzip) {
+        List<ReadJson> jsons = new ArrayList<>();
+
+        try {
+            productJsonCache.writeTo(id, languageCode, acceptGzip,
+                    (version, content, gzipped) -> jsons.add(new ReadJson(version, toBytes(content), gzipped)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return jsons.stream()
+                .findFirst();
+    }
+
+    private byte[] toBytes(ByteBuffer content) {
+        var bytes = new byte[content.remaining()];
+
+        content.duplicate()
+                .get(bytes);
+
+        return bytes;
+    }
+
+    private byte[] makeJson(long id, int length) {
+        var content = new byte[length];
+        var prefix = ("{\"id\":" + id + ",\"title\":\"").getBytes(StandardCharsets.UTF_8);
+
+        Arrays.fill(content, (byte) 'a');
+        System.arraycopy(prefix, 0, content, 0, prefix.length);
+        content[length - 2] = '"';
+        content[length - 1] = '}';
+
+        return content;
+    }
+
+    private record ReadJson(int version, byte[] content, boolean gzipped) {
+    }
+}
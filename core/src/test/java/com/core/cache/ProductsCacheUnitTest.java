@@ -0,0 +1,144 @@
+package com.core.cache;
+
+import com.core.dto.product.ProductResponseDto;
+import com.core.event.ProductDeletedEvent;
+import com.core.event.ProductsDeletedEvent;
+import com.core.event.ProductSavedEvent;
+import com.core.event.ProductsChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("products cache")
+class ProductsCacheUnitTest {
+
+    private static final int MAX_SIZE = 2;
+    private static final int LARGE_MAX_SIZE = 32;
+    private static final long FIRST_PRODUCT_ID = 1L;
+    private static final long SECOND_PRODUCT_ID = 2L;
+    private static final long THIRD_PRODUCT_ID = 3L;
+
+    private ProductsCache productsCache;
+
+    @BeforeEach
+    void setUp() {
+        this.productsCache = new ProductsCache(MAX_SIZE);
+    }
+
+    @Test
+    @DisplayName("should return put product")
+    void shouldReturnPutProduct() {
+        var product = makeProduct(FIRST_PRODUCT_ID, 0, BigDecimal.ONE);
+
+        productsCache.put(product);
+
+        assertThat(productsCache.get(FIRST_PRODUCT_ID)).contains(product);
+    }
+
+    @Test
+    @DisplayName("should replace product with newer version")
+    void shouldReplaceProductWithNewerVersion() {
+        var newerProduct = makeProduct(FIRST_PRODUCT_ID, 1, BigDecimal.TEN);
+
+        productsCache.put(makeProduct(FIRST_PRODUCT_ID, 0, BigDecimal.ONE));
+        productsCache.onProductSaved(new ProductSavedEvent(newerProduct));
+
+        assertThat(productsCache.get(FIRST_PRODUCT_ID)).contains(newerProduct);
+    }
+
+    @Test
+    @DisplayName("should not replace product with stale version")
+    void shouldNotReplaceProductWithStaleVersion() {
+        var newerProduct = makeProduct(FIRST_PRODUCT_ID, 2, BigDecimal.TEN);
+
+        productsCache.put(newerProduct);
+        productsCache.put(makeProduct(FIRST_PRODUCT_ID, 1, BigDecimal.ONE));
+
+        assertThat(productsCache.get(FIRST_PRODUCT_ID)).contains(newerProduct);
+    }
+
+    @Test
+    @DisplayName("should not return deleted product even when stale version is put after delete")
+    void shouldNotReturnDeletedProductEvenWhenStaleVersionIsPutAfterDelete() {
+        var product = makeProduct(FIRST_PRODUCT_ID, 1, BigDecimal.ONE);
+
+        productsCache.put(product);
+        productsCache.onProductDeleted(new ProductDeletedEvent(FIRST_PRODUCT_ID));
+        productsCache.put(product);
+
+        assertThat(productsCache.get(FIRST_PRODUCT_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should not return products deleted in bulk")
+    void shouldNotReturnProductsDeletedInBulk() {
+        var product = makeProduct(FIRST_PRODUCT_ID, 1, BigDecimal.ONE);
+
+        productsCache.put(product);
+        productsCache.onProductsDeleted(new ProductsDeletedEvent(List.of(FIRST_PRODUCT_ID)));
+        productsCache.put(product);
+
+        assertThat(productsCache.get(FIRST_PRODUCT_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should cache only changed or newer version after products changed")
+    void shouldCacheOnlyChangedOrNewerVersionAfterProductsChanged() {
+        var changedProduct = makeProduct(FIRST_PRODUCT_ID, 2, BigDecimal.TEN);
+
+        productsCache.put(makeProduct(FIRST_PRODUCT_ID, 1, BigDecimal.ONE));
+        productsCache.onProductsChanged(new ProductsChangedEvent(Map.of(FIRST_PRODUCT_ID, 2)));
+
+        assertThat(productsCache.get(FIRST_PRODUCT_ID)).isEmpty();
+
+        productsCache.put(makeProduct(FIRST_PRODUCT_ID, 1, BigDecimal.ONE));
+
+        assertThat(productsCache.get(FIRST_PRODUCT_ID)).isEmpty();
+
+        productsCache.put(changedProduct);
+
+        assertThat(productsCache.get(FIRST_PRODUCT_ID)).contains(changedProduct);
+    }
+
+    @Test
+    @DisplayName("should evict least recently used product when max size exceeded")
+    void shouldEvictLeastRecentlyUsedProductWhenMaxSizeExceeded() {
+        productsCache.put(makeProduct(FIRST_PRODUCT_ID, 0, BigDecimal.ONE));
+        productsCache.put(makeProduct(SECOND_PRODUCT_ID, 0, BigDecimal.ONE));
+        productsCache.get(FIRST_PRODUCT_ID);
+        productsCache.put(makeProduct(THIRD_PRODUCT_ID, 0, BigDecimal.ONE));
+
+        assertThat(productsCache.get(FIRST_PRODUCT_ID)).isNotEmpty();
+        assertThat(productsCache.get(SECOND_PRODUCT_ID)).isEmpty();
+        assertThat(productsCache.get(THIRD_PRODUCT_ID)).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("should evict batch of least recently used products when large cache exceeded")
+    void shouldEvictBatchOfLeastRecentlyUsedProductsWhenLargeCacheExceeded() {
+        var largeCache = new ProductsCache(LARGE_MAX_SIZE);
+
+        LongStream.rangeClosed(FIRST_PRODUCT_ID, LARGE_MAX_SIZE)
+                .forEach(id -> largeCache.put(makeProduct(id, 0, BigDecimal.ONE)));
+        largeCache.get(FIRST_PRODUCT_ID);
+        largeCache.put(makeProduct(LARGE_MAX_SIZE + 1, 0, BigDecimal.ONE));
+
+        assertThat(largeCache.get(FIRST_PRODUCT_ID)).isNotEmpty();
+        assertThat(LongStream.rangeClosed(SECOND_PRODUCT_ID, 4L))
+                .allMatch(id -> largeCache.get(id).isEmpty());
+        assertThat(LongStream.rangeClosed(5L, LARGE_MAX_SIZE + 1))
+                .allMatch(id -> largeCache.get(id).isPresent());
+    }
+
+    private ProductResponseDto makeProduct(long id, int version, BigDecimal price) {
+        return new ProductResponseDto(id, price, version, emptyList(), emptyList());
+    }
+}
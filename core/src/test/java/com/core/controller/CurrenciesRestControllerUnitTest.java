@@ -1,11 +1,19 @@
 package com.core.controller;
 
+import com.core.dto.CurrenciesResponseDto;
+import com.core.dto.CurrencyRateRequestDto;
+import com.core.dto.CurrencyRateResponseDto;
+import com.core.dto.CurrencyRatesRequestDto;
 import com.core.dto.CurrencyRequestDto;
 import com.core.dto.CurrencyResponseDto;
+import com.core.dto.VersionedDto;
 import com.core.exception.NotFoundResourceException;
 import com.core.exception.UniqueConstraintException;
 import com.core.service.CurrenciesService;
+import com.core.service.CurrencyRatesService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,28 +24,38 @@ import org.mockito.InOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
-import static org.springframework.http.HttpHeaders.LOCATION;
+import static org.springframework.http.HttpHeaders.*;
 import static org.springframework.http.HttpStatus.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CurrenciesRestController.class)
+@Import(SimpleMeterRegistry.class)
 @DisplayName("currencies REST controller")
 class CurrenciesRestControllerUnitTest {
 
     private static final String CURRENCY_DOMAIN_URL = "/currency/";
     private static final String CURRENCY_BY_CODE_URL = "/currency/{code}";
     private static final String CURRENCY_BY_ID_URL = "/currency/{id}";
+    private static final String CURRENCIES_URL = "/currencies";
+    private static final String CURRENCY_RATES_URL = "/currencies/rates";
+    private static final String CURRENCY_RATE_URL = "/currency/{code}/rate";
+    private static final String CURRENCIES_CACHE_CONTROL = "no-cache, public";
+    private static final LocalDateTime LAST_UPDATE_DATE = LocalDateTime.of(2026, 10, 18, 12, 0);
     private static final String RUB_CODE = "RUB";
     private static final long FIRST_CURRENCY_ID = 1L;
     private static final String GBP_CODE = "GBP";
@@ -49,9 +67,15 @@ class CurrenciesRestControllerUnitTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockBean
     private CurrenciesService currenciesService;
 
+    @MockBean
+    private CurrencyRatesService currencyRatesService;
+
     private InOrder inOrder;
 
     @BeforeEach
@@ -130,17 +154,65 @@ class CurrenciesRestControllerUnitTest {
         var expectedCurrency = new CurrencyResponseDto(FIRST_CURRENCY_ID, code, BigDecimal.ONE);
         var requestBuilder = get(CURRENCY_BY_CODE_URL, code);
 
-        when(currenciesService.getByCode(code)).thenReturn(Optional.of(expectedCurrency));
+        when(currenciesService.getByCode(code))
+                .thenReturn(Optional.of(new VersionedDto<>(expectedCurrency, 3, LAST_UPDATE_DATE)));
 
         mvc.perform(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(header().string(ETAG, "\"" + FIRST_CURRENCY_ID + "-3\""))
+                .andExpect(header().string(CACHE_CONTROL, CURRENCIES_CACHE_CONTROL))
+                .andExpect(header().exists(LAST_MODIFIED))
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedCurrency)));
 
         inOrder.verify(currenciesService, times(1))
                 .getByCode(code);
     }
 
+    @Test
+    @DisplayName("should response NOT_MODIFIED when currency by code was not modified since requested date")
+    void shouldResponseNotModifiedWhenCurrencyByCodeWasNotModifiedSinceRequestedDate() throws Exception {
+        var currency = new CurrencyResponseDto(FIRST_CURRENCY_ID, RUB_CODE, BigDecimal.ONE);
+
+        when(currenciesService.getByCode(RUB_CODE))
+                .thenReturn(Optional.of(new VersionedDto<>(currency, 3, LAST_UPDATE_DATE)));
+
+        var modifiedSince = mvc.perform(get(CURRENCY_BY_CODE_URL, RUB_CODE))
+                .andReturn()
+                .getResponse()
+                .getHeader(LAST_MODIFIED);
+
+        mvc.perform(get(CURRENCY_BY_CODE_URL, RUB_CODE).header(IF_MODIFIED_SINCE, modifiedSince))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("should return all currencies with version of table")
+    void shouldReturnAllCurrenciesWithVersionOfTable() throws Exception {
+        var expectedCurrencies = new CurrenciesResponseDto("2a", List.of(new CurrencyResponseDto(FIRST_CURRENCY_ID,
+                RUB_CODE, BigDecimal.ONE)));
+
+        when(currenciesService.getAll()).thenReturn(expectedCurrencies);
+
+        mvc.perform(get(CURRENCIES_URL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(header().string(ETAG, "\"2a\""))
+                .andExpect(header().string(CACHE_CONTROL, CURRENCIES_CACHE_CONTROL))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedCurrencies)));
+    }
+
+    @Test
+    @DisplayName("should response NOT_MODIFIED when currencies have requested version")
+    void shouldResponseNotModifiedWhenCurrenciesHaveRequestedVersion() throws Exception {
+        when(currenciesService.getAll()).thenReturn(new CurrenciesResponseDto("2a", List.of()));
+
+        mvc.perform(get(CURRENCIES_URL).header(IF_NONE_MATCH, "\"2a\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("should response NOT_FOUND when currency by code not found")
     void shouldResponseNotFoundWhenCurrencyNotFoundByCode() throws Exception {
@@ -262,6 +334,99 @@ class CurrenciesRestControllerUnitTest {
                 .andExpect(jsonPath("$.messages[*]", not(blankOrNullString())));
     }
 
+    @Test
+    @DisplayName("should accept currency rates")
+    void shouldAcceptCurrencyRates() throws Exception {
+        var rates = List.of(new CurrencyRateRequestDto(RUB_CODE, BigDecimal.ONE),
+                new CurrencyRateRequestDto(USD_CODE, BigDecimal.TEN));
+        var requestBuilder = post(CURRENCY_RATES_URL)
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CurrencyRatesRequestDto(rates)));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isAccepted());
+
+        verify(currencyRatesService, times(1))
+                .updateAll(rates);
+    }
+
+    @ParameterizedTest
+    @MethodSource("makeNotValidCurrencyRates")
+    @DisplayName("should response BAD_REQUEST when currency rates are not valid")
+    void shouldResponseBadRequestWhenCurrencyRatesAreNotValid(CurrencyRatesRequestDto rates) throws Exception {
+        var requestBuilder = post(CURRENCY_RATES_URL)
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(rates));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(jsonPath("$.status", is(BAD_REQUEST.name())))
+                .andExpect(jsonPath("$.messages").isNotEmpty());
+
+        verifyNoInteractions(currencyRatesService);
+    }
+
+    @Test
+    @DisplayName("should return currency rate at requested time")
+    void shouldReturnCurrencyRateAtRequestedTime() throws Exception {
+        var rate = new CurrencyRateResponseDto(USD_CODE, BigDecimal.TEN, LAST_UPDATE_DATE);
+        var requestBuilder = get(CURRENCY_RATE_URL, USD_CODE)
+                .param("at", "2026-10-18T13:30:00");
+
+        when(currencyRatesService.getAt(USD_CODE, LocalDateTime.of(2026, 10, 18, 13, 30)))
+                .thenReturn(Optional.of(rate));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(rate)));
+    }
+
+    @Test
+    @DisplayName("should response NOT_FOUND when currency rate at requested time not found")
+    void shouldResponseNotFoundWhenCurrencyRateAtRequestedTimeNotFound() throws Exception {
+        var requestBuilder = get(CURRENCY_RATE_URL, USD_CODE)
+                .param("at", "2026-10-18T13:30:00");
+
+        when(currencyRatesService.getAt(any(), any())).thenReturn(Optional.empty());
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(jsonPath("$.status", is(NOT_FOUND.name())))
+                .andExpect(jsonPath("$.messages").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("should count errors by type and status")
+    void shouldCountErrorsByTypeAndStatus() throws Exception {
+        var counter = meterRegistry.counter("core.http.errors", "type", "NotFoundResourceException", "status", "404");
+        var count = counter.count();
+
+        when(currenciesService.getByCode(RUB_CODE)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(get(CURRENCY_BY_CODE_URL, RUB_CODE))
+                    .andExpect(status().isNotFound());
+        }
+
+        assertThat(counter.count()).isEqualTo(count + 3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "yesterday", "2026-10-18"})
+    @DisplayName("should response BAD_REQUEST when time of currency rate is not valid")
+    void shouldResponseBadRequestWhenTimeOfCurrencyRateIsNotValid(String at) throws Exception {
+        var requestBuilder = get(CURRENCY_RATE_URL, USD_CODE)
+                .param("at", at);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(currencyRatesService);
+    }
+
     @Test
     @DisplayName("should delete currency by id")
     void shouldDeleteCurrencyById() throws Exception {
@@ -324,4 +489,17 @@ class CurrenciesRestControllerUnitTest {
         return Stream.of(currencyWithNullCode, currencyWithEmptyCode, currencyWithBlankCode,
                 currencyWithNegativeMultiplier, both);
     }
-}
\ No newline at end of file
+
+    private static Stream<CurrencyRatesRequestDto> makeNotValidCurrencyRates() {
+        var emptyRates = new CurrencyRatesRequestDto(List.of());
+        var rateWithLongCode = new CurrencyRatesRequestDto(List.of(new CurrencyRateRequestDto("RUBL", BigDecimal.ONE)));
+        var rateWithNegativeMultiplier = new CurrencyRatesRequestDto(
+                List.of(new CurrencyRateRequestDto(RUB_CODE, BigDecimal.valueOf(-1))));
+        var rateWithZeroMultiplier = new CurrencyRatesRequestDto(
+                List.of(new CurrencyRateRequestDto(RUB_CODE, BigDecimal.ZERO)));
+        var rateWithNullMultiplier = new CurrencyRatesRequestDto(List.of(new CurrencyRateRequestDto(RUB_CODE, null)));
+
+        return Stream.of(emptyRates, rateWithLongCode, rateWithNegativeMultiplier, rateWithZeroMultiplier,
+                rateWithNullMultiplier);
+    }
+}
@@ -2,10 +2,13 @@ package com.core.controller;
 
 import com.core.dto.LanguageRequestDto;
 import com.core.dto.LanguageResponseDto;
+import com.core.dto.LanguagesResponseDto;
+import com.core.dto.VersionedDto;
 import com.core.exception.NotFoundResourceException;
 import com.core.exception.UniqueConstraintException;
 import com.core.service.LanguagesService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,21 +19,25 @@ import org.mockito.InOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
-import static org.springframework.http.HttpHeaders.LOCATION;
+import static org.springframework.http.HttpHeaders.*;
 import static org.springframework.http.HttpStatus.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(LanguagesRestController.class)
+@Import(SimpleMeterRegistry.class)
 @DisplayName("languages REST controller")
 class LanguagesRestControllerUnitTest {
 
@@ -40,6 +47,9 @@ class LanguagesRestControllerUnitTest {
     private static final String LANGUAGE_DOMAIN_URL = "/language/";
     private static final String LANGUAGE_BY_CODE_URL = "/language/{code}";
     private static final String LANGUAGE_BY_ID_URL = "/language/{id}";
+    private static final String LANGUAGES_URL = "/languages";
+    private static final String REFERENCE_CACHE_CONTROL = "max-age=300, public";
+    private static final LocalDateTime LAST_UPDATE_DATE = LocalDateTime.of(2026, 10, 18, 12, 0);
     private static final long FIRST_LANGUAGE_ID = 1L;
 
     @Autowired
@@ -128,15 +138,60 @@ class LanguagesRestControllerUnitTest {
         var expectedLanguage = new LanguageResponseDto(FIRST_LANGUAGE_ID, code);
         var requestBuilder = get(LANGUAGE_BY_CODE_URL, code);
 
-        when(languagesService.getByCode(code)).thenReturn(Optional.of(expectedLanguage));
+        when(languagesService.getByCode(code))
+                .thenReturn(Optional.of(new VersionedDto<>(expectedLanguage, 3, LAST_UPDATE_DATE)));
 
         mvc.perform(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(header().string(ETAG, "\"" + FIRST_LANGUAGE_ID + "-3\""))
+                .andExpect(header().string(CACHE_CONTROL, REFERENCE_CACHE_CONTROL))
+                .andExpect(header().exists(LAST_MODIFIED))
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedLanguage)));
         inOrder.verify(languagesService, times(1)).getByCode(code);
     }
 
+    @Test
+    @DisplayName("should response NOT_MODIFIED when language by code has requested tag")
+    void shouldResponseNotModifiedWhenLanguageByCodeHasRequestedTag() throws Exception {
+        var language = new LanguageResponseDto(FIRST_LANGUAGE_ID, RU_CODE);
+        var requestBuilder = get(LANGUAGE_BY_CODE_URL, RU_CODE)
+                .header(IF_NONE_MATCH, "\"" + FIRST_LANGUAGE_ID + "-3\"");
+
+        when(languagesService.getByCode(RU_CODE))
+                .thenReturn(Optional.of(new VersionedDto<>(language, 3, LAST_UPDATE_DATE)));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("should return all languages with version of table")
+    void shouldReturnAllLanguagesWithVersionOfTable() throws Exception {
+        var expectedLanguages = new LanguagesResponseDto("2a", List.of(new LanguageResponseDto(FIRST_LANGUAGE_ID,
+                RU_CODE)));
+
+        when(languagesService.getAll()).thenReturn(expectedLanguages);
+
+        mvc.perform(get(LANGUAGES_URL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(header().string(ETAG, "\"2a\""))
+                .andExpect(header().string(CACHE_CONTROL, REFERENCE_CACHE_CONTROL))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedLanguages)));
+    }
+
+    @Test
+    @DisplayName("should response NOT_MODIFIED when languages have requested version")
+    void shouldResponseNotModifiedWhenLanguagesHaveRequestedVersion() throws Exception {
+        when(languagesService.getAll()).thenReturn(new LanguagesResponseDto("2a", List.of()));
+
+        mvc.perform(get(LANGUAGES_URL).header(IF_NONE_MATCH, "\"2a\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("should response NOT_FOUND when language by code not found")
     void shouldResponseNotFoundWhenLanguageNotFoundByCode() throws Exception {
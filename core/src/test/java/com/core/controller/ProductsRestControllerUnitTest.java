@@ -1,44 +1,99 @@
 package com.core.controller;
 
+import com.core.cache.CurrencyRatesCache;
+import com.core.cache.CurrencyRatesCache.CurrencyRate;
+import com.core.cache.ProductJsonCache;
+import com.core.cache.ProductJsonCache.JsonWriter;
 import com.core.dto.LanguageResponseDto;
 import com.core.dto.product.*;
+import com.core.exception.InvalidCursorException;
+import com.core.exception.InvalidFilterException;
 import com.core.exception.NotFoundResourceException;
+import com.core.exception.VersionMismatchException;
+import com.core.service.ProductsImportService;
 import com.core.service.ProductsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InOrder;
+import org.springframework.data.domain.Sort;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.HttpHeaders.LOCATION;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ProductsRestController.class)
+@Import(SimpleMeterRegistry.class)
 @DisplayName("products REST controller")
 class ProductsRestControllerUnitTest {
 
     private static final String PRODUCT_DOMAIN_URL = "/product/";
     private static final String PRODUCT_BY_ID_URL = "/product/{id}";
+    private static final String IDS_PARAM = "ids";
+    private static final String PRODUCTS_URL = "/products";
+    private static final String PRODUCTS_EXPORT_URL = "/products/export";
+    private static final String PRODUCTS_SEARCH_URL = "/products/search";
+    private static final String QUERY_PARAM = "q";
+    private static final String PAGE_PARAM = "page";
+    private static final String PRODUCTS_IMPORT_URL = "/products/import";
+    private static final String PRODUCTS_PRICES_URL = "/products/prices";
+    private static final String PRODUCTS_PRICES_ADJUSTMENT_URL = "/products/prices/adjustment";
+    private static final String PRODUCTS_DELETION_URL = "/products/deletion";
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    private static final String SORT_PARAM = "sort";
+    private static final String DIRECTION_PARAM = "direction";
+    private static final String CURSOR_PARAM = "cursor";
+    private static final String SIZE_PARAM = "size";
+    private static final String LANGUAGE_PARAM = "lang";
+    private static final String NEXT_CURSOR = "UFJJQ0V8REVTQ3wyfDE1MDAwMA";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final String FACETS_PARAM = "facets";
+    private static final String MIN_PRICE_PARAM = "minPrice";
+    private static final String CURRENCY_PARAM = "currency";
+    private static final String USD_CODE = "USD";
+    private static final String MAX_PRICE_PARAM = "maxPrice";
+    private static final String FEATURE_PARAM_PREFIX = "feature.";
+    private static final ProductsFilterDto NO_FILTER = new ProductsFilterDto(Map.of(), null, null);
     private static final String RU_MAC_DESCRIPTION =
             "С появлением чипа M1 MacBook Pro 13 дюймов становится невероятно производительным и быстрым.";
     private static final String RU_MAC_TITLE = "Ноутбук Apple MacBook Pro 13 Late 2020";
@@ -62,6 +117,7 @@ class ProductsRestControllerUnitTest {
     private static final String ASUS_SCREEN_FEATURE_VALUE = "13.3 (1920x1080) OLED";
     private static final String ASUS_CPU_FEATURE_VALUE = "Intel Core i5 1135G7 (4x2400 МГц)";
     private static final long FIRST_PRODUCT_ID = 1L;
+    private static final long SECOND_PRODUCT_ID = 2L;
     private static final long FIRST_LANGUAGE_ID = 1L;
     private static final long FIRST_DESCRIPTION_ID = 1L;
     private static final long FIRST_FEATURE_ID = 1L;
@@ -80,6 +136,15 @@ class ProductsRestControllerUnitTest {
     @MockBean
     private ProductsService productsService;
 
+    @MockBean
+    private ProductsImportService productsImportService;
+
+    @MockBean
+    private ProductJsonCache productJsonCache;
+
+    @MockBean
+    private CurrencyRatesCache currencyRatesCache;
+
     private InOrder inOrder;
 
     private Map<String, LanguageResponseDto> languagesByCode;
@@ -106,7 +171,7 @@ class ProductsRestControllerUnitTest {
                 .map(this::convertFeatureToDto)
                 .toList();
         var price = product.price();
-        var expectedProduct = new ProductResponseDto(FIRST_PRODUCT_ID, price, expectedDescriptions, expectedFeatures);
+        var expectedProduct = new ProductResponseDto(FIRST_PRODUCT_ID, price, 0, expectedDescriptions, expectedFeatures);
         var requestBuilder = post(PRODUCT_DOMAIN_URL)
                 .contentType(APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(product));
@@ -151,15 +216,658 @@ class ProductsRestControllerUnitTest {
         var requestBuilder = get(PRODUCT_BY_ID_URL, id);
         var expectedProduct = makeProductById(id);
 
-        when(productsService.getById(id)).thenReturn(Optional.of(expectedProduct));
+        when(productsService.getById(id, null)).thenReturn(Optional.of(expectedProduct));
 
         mvc.perform(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(header().string(ETAG, "\"" + id + "-0\""))
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedProduct)));
 
         inOrder.verify(productsService, times(1))
-                .getById(id);
+                .getById(id, null);
+    }
+
+    @Test
+    @DisplayName("should return product by id with price in requested currency")
+    void shouldReturnProductByIdWithPriceInRequestedCurrency() throws Exception {
+        var product = makeProductById(FIRST_PRODUCT_ID);
+        var expectedProduct = new ProductResponseDto(FIRST_PRODUCT_ID, new BigDecimal("0.01"), product.version(),
+                product.descriptions(), product.features());
+        var requestBuilder = get(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
+                .param(CURRENCY_PARAM, USD_CODE);
+
+        when(currencyRatesCache.get(USD_CODE))
+                .thenReturn(Optional.of(new CurrencyRate(USD_CODE, BigDecimal.valueOf(74))));
+        when(productsService.getById(FIRST_PRODUCT_ID, null)).thenReturn(Optional.of(product));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(header().string(ETAG, "\"" + FIRST_PRODUCT_ID + "-0-" + USD_CODE + "74\""))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedProduct), true));
+
+        verifyNoInteractions(productJsonCache);
+    }
+
+    @Test
+    @DisplayName("should response BAD_REQUEST when requested currency is unknown")
+    void shouldResponseBadRequestWhenRequestedCurrencyIsUnknown() throws Exception {
+        var requestBuilder = get(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
+                .param(CURRENCY_PARAM, USD_CODE);
+
+        when(currencyRatesCache.get(USD_CODE)).thenReturn(Optional.empty());
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(jsonPath("$.status", is(BAD_REQUEST.name())))
+                .andExpect(jsonPath("$.messages").isNotEmpty());
+
+        verifyNoInteractions(productsService);
+    }
+
+    @Test
+    @DisplayName("should response NOT_MODIFIED when product version not changed")
+    void shouldResponseNotModifiedWhenProductVersionNotChanged() throws Exception {
+        var requestBuilder = get(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
+                .param(LANGUAGE_PARAM, RU_LANGUAGE_CODE)
+                .header(IF_NONE_MATCH, "\"" + FIRST_PRODUCT_ID + "-3-" + RU_LANGUAGE_CODE + "\"");
+
+        when(productsService.getVersionById(FIRST_PRODUCT_ID)).thenReturn(Optional.of(3));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(ETAG, "\"" + FIRST_PRODUCT_ID + "-3-" + RU_LANGUAGE_CODE + "\""))
+                .andExpect(content().string(emptyString()));
+
+        inOrder.verify(productsService, times(1))
+                .getVersionById(FIRST_PRODUCT_ID);
+        inOrder.verify(productsService, never())
+                .getById(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("should return product by id when product version changed")
+    void shouldReturnProductByIdWhenProductVersionChanged() throws Exception {
+        var expectedProduct = makeProductById(FIRST_PRODUCT_ID);
+        var requestBuilder = get(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
+                .header(IF_NONE_MATCH, "\"" + FIRST_PRODUCT_ID + "-1\"");
+
+        when(productsService.getVersionById(FIRST_PRODUCT_ID)).thenReturn(Optional.of(0));
+        when(productsService.getById(FIRST_PRODUCT_ID, null)).thenReturn(Optional.of(expectedProduct));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(header().string(ETAG, "\"" + FIRST_PRODUCT_ID + "-0\""))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedProduct), true));
+
+        inOrder.verify(productsService, times(1))
+                .getVersionById(FIRST_PRODUCT_ID);
+        inOrder.verify(productsService, times(1))
+                .getById(FIRST_PRODUCT_ID, null);
+    }
+
+    @Test
+    @DisplayName("should return product by id in requested language")
+    void shouldReturnProductByIdInRequestedLanguage() throws Exception {
+        var expectedProduct = makeProductById(FIRST_PRODUCT_ID);
+        var requestBuilder = get(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
+                .param(LANGUAGE_PARAM, RU_LANGUAGE_CODE);
+
+        when(productsService.getById(FIRST_PRODUCT_ID, RU_LANGUAGE_CODE)).thenReturn(Optional.of(expectedProduct));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedProduct), true));
+
+        inOrder.verify(productsService, times(1))
+                .getById(FIRST_PRODUCT_ID, RU_LANGUAGE_CODE);
+    }
+
+    @Test
+    @DisplayName("should put serialized product into json cache on miss")
+    void shouldPutSerializedProductIntoJsonCacheOnMiss() throws Exception {
+        var expectedProduct = makeProductById(FIRST_PRODUCT_ID);
+        var expectedJson = objectMapper.writeValueAsBytes(expectedProduct);
+        var requestBuilder = get(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
+                .param(LANGUAGE_PARAM, RU_LANGUAGE_CODE);
+
+        when(productsService.getById(FIRST_PRODUCT_ID, RU_LANGUAGE_CODE)).thenReturn(Optional.of(expectedProduct));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(expectedJson));
+
+        verify(productJsonCache, times(1))
+                .put(FIRST_PRODUCT_ID, RU_LANGUAGE_CODE, false, expectedProduct.version(), expectedJson);
+    }
+
+    @Test
+    @DisplayName("should put serialized product into json cache for encoding accepted by client")
+    void shouldPutSerializedProductIntoJsonCacheForEncodingAcceptedByClient() throws Exception {
+        var expectedProduct = makeProductById(FIRST_PRODUCT_ID);
+        var expectedJson = objectMapper.writeValueAsBytes(expectedProduct);
+        var requestBuilder = get(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
+                .header(ACCEPT_ENCODING, "gzip, deflate");
+
+        when(productsService.getById(FIRST_PRODUCT_ID, null)).thenReturn(Optional.of(expectedProduct));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(expectedJson));
+
+        verify(productJsonCache, times(1))
+                .writeTo(eq(FIRST_PRODUCT_ID), isNull(), eq(true), any());
+        verify(productJsonCache, times(1))
+                .put(FIRST_PRODUCT_ID, null, true, expectedProduct.version(), expectedJson);
+    }
+
+    @Test
+    @DisplayName("should return product by id from json cache")
+    void shouldReturnProductByIdFromJsonCache() throws Exception {
+        var expectedJson = objectMapper.writeValueAsBytes(makeProductById(FIRST_PRODUCT_ID));
+        var requestBuilder = get(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID);
+
+        stubCachedJson(expectedJson, false);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(header().string(ETAG, "\"" + FIRST_PRODUCT_ID + "-2\""))
+                .andExpect(header().doesNotExist(CONTENT_ENCODING))
+                .andExpect(content().bytes(expectedJson));
+
+        verify(productsService, never())
+                .getById(anyLong(), any());
+        verify(productJsonCache, never())
+                .put(anyLong(), any(), anyBoolean(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("should return gzipped product by id from json cache when client accepts gzip")
+    void shouldReturnGzippedProductByIdFromJsonCacheWhenClientAcceptsGzip() throws Exception {
+        var expectedContent = new byte[]{31, -117, 8, 0};
+        var requestBuilder = get(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
+                .header(ACCEPT_ENCODING, "gzip, deflate");
+
+        stubCachedJson(expectedContent, true);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(header().string(ETAG, "W/\"" + FIRST_PRODUCT_ID + "-2\""))
+                .andExpect(header().string(CONTENT_ENCODING, "gzip"))
+                .andExpect(content().bytes(expectedContent));
+
+        verify(productsService, never())
+                .getById(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("should response NOT_MODIFIED when json cache holds same product version")
+    void shouldResponseNotModifiedWhenJsonCacheHoldsSameProductVersion() throws Exception {
+        var requestBuilder = get(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
+                .header(IF_NONE_MATCH, "\"" + FIRST_PRODUCT_ID + "-2\"");
+
+        when(productJsonCache.getVersion(FIRST_PRODUCT_ID)).thenReturn(Optional.of(2));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isNotModified());
+
+        verify(productsService, never())
+                .getVersionById(anyLong());
+    }
+
+    @Test
+    @DisplayName("should return products by ids")
+    void shouldReturnProductsByIds() throws Exception {
+        List<ProductResponseDto> expectedProducts = List.of(makeProductById(SECOND_PRODUCT_ID),
+                makeProductById(FIRST_PRODUCT_ID));
+        List<Long> ids = List.of(SECOND_PRODUCT_ID, FIRST_PRODUCT_ID);
+        var requestBuilder = get(PRODUCT_DOMAIN_URL)
+                .param(IDS_PARAM, SECOND_PRODUCT_ID + "," + FIRST_PRODUCT_ID);
+
+        when(productsService.getAllByIdIn(ids, null)).thenReturn(expectedProducts);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedProducts), true));
+
+        inOrder.verify(productsService, times(1))
+                .getAllByIdIn(ids, null);
+    }
+
+    @Test
+    @DisplayName("should return products by ids with prices in requested currency")
+    void shouldReturnProductsByIdsWithPricesInRequestedCurrency() throws Exception {
+        var product = makeProductById(FIRST_PRODUCT_ID);
+        var expectedProducts = List.of(new ProductResponseDto(FIRST_PRODUCT_ID, new BigDecimal("0.50"),
+                product.version(), product.descriptions(), product.features()));
+        var requestBuilder = get(PRODUCT_DOMAIN_URL)
+                .param(IDS_PARAM, String.valueOf(FIRST_PRODUCT_ID))
+                .param(CURRENCY_PARAM, USD_CODE);
+
+        when(currencyRatesCache.get(USD_CODE)).thenReturn(Optional.of(new CurrencyRate(USD_CODE, new BigDecimal("2"))));
+        when(productsService.getAllByIdIn(List.of(FIRST_PRODUCT_ID), null)).thenReturn(List.of(product));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedProducts), true));
+    }
+
+    @ParameterizedTest
+    @MethodSource("makeNotValidProductIds")
+    @DisplayName("should response BAD_REQUEST when product ids are not valid")
+    void shouldResponseBadRequestWhenProductIdsAreNotValid(String ids) throws Exception {
+        var requestBuilder = get(PRODUCT_DOMAIN_URL)
+                .param(IDS_PARAM, ids);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(jsonPath("$.status", notNullValue()))
+                .andExpect(jsonPath("$.status", is(BAD_REQUEST.name())))
+                .andExpect(jsonPath("$.date", notNullValue()))
+                .andExpect(jsonPath("$.date").isString())
+                .andExpect(jsonPath("$.messages").isArray())
+                .andExpect(jsonPath("$.messages").isNotEmpty())
+                .andExpect(jsonPath("$.messages[*]", not(blankOrNullString())));
+
+        verifyNoInteractions(productsService);
+    }
+
+    @Test
+    @DisplayName("should return products page")
+    void shouldReturnProductsPage() throws Exception {
+        var expectedPage = new ProductsPageDto(List.of(makeProductById(SECOND_PRODUCT_ID)), NEXT_CURSOR, null);
+        var pageRequest = new ProductsPageRequestDto(ProductSort.PRICE, Sort.Direction.DESC, null, 1,
+                RU_LANGUAGE_CODE, NO_FILTER, false);
+        var requestBuilder = get(PRODUCTS_URL)
+                .param(SORT_PARAM, ProductSort.PRICE.name())
+                .param(DIRECTION_PARAM, Sort.Direction.DESC.name())
+                .param(SIZE_PARAM, "1")
+                .param(LANGUAGE_PARAM, RU_LANGUAGE_CODE);
+
+        when(productsService.getPage(pageRequest)).thenReturn(expectedPage);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedPage), true));
+
+        inOrder.verify(productsService, times(1))
+                .getPage(pageRequest);
+    }
+
+    @Test
+    @DisplayName("should return products page with default parameters")
+    void shouldReturnProductsPageWithDefaultParameters() throws Exception {
+        var expectedPage = new ProductsPageDto(List.of(makeProductById(FIRST_PRODUCT_ID)), null, null);
+        var pageRequest = new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, null, DEFAULT_PAGE_SIZE,
+                null, NO_FILTER, false);
+
+        when(productsService.getPage(pageRequest)).thenReturn(expectedPage);
+
+        mvc.perform(get(PRODUCTS_URL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedPage), true));
+
+        inOrder.verify(productsService, times(1))
+                .getPage(pageRequest);
+    }
+
+    @Test
+    @DisplayName("should return products page filtered by features with facets")
+    void shouldReturnProductsPageFilteredByFeaturesWithFacets() throws Exception {
+        var facets = List.of(new ProductFeatureFacetDto(EN_CPU_FEATURE_NAME, MAC_CPU_FEATURE_VALUE, 1),
+                new ProductFeatureFacetDto(EN_SCREEN_FEATURE_NAME, MAC_SCREEN_FEATURE_VALUE, 1));
+        var expectedPage = new ProductsPageDto(List.of(makeProductById(FIRST_PRODUCT_ID)), null, facets);
+        var filter = new ProductsFilterDto(Map.of(
+                EN_SCREEN_FEATURE_NAME, Set.of(MAC_SCREEN_FEATURE_VALUE, ASUS_SCREEN_FEATURE_VALUE),
+                EN_CPU_FEATURE_NAME, Set.of(MAC_CPU_FEATURE_VALUE)), null, null);
+        var pageRequest = new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, null, DEFAULT_PAGE_SIZE,
+                EN_LANGUAGE_CODE, filter, true);
+        var requestBuilder = get(PRODUCTS_URL)
+                .param(FEATURE_PARAM_PREFIX + EN_SCREEN_FEATURE_NAME, MAC_SCREEN_FEATURE_VALUE,
+                        ASUS_SCREEN_FEATURE_VALUE)
+                .param(FEATURE_PARAM_PREFIX + EN_CPU_FEATURE_NAME, MAC_CPU_FEATURE_VALUE)
+                .param(FACETS_PARAM, "true")
+                .param(LANGUAGE_PARAM, EN_LANGUAGE_CODE);
+
+        when(productsService.getPage(pageRequest)).thenReturn(expectedPage);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedPage), true));
+
+        inOrder.verify(productsService, times(1))
+                .getPage(pageRequest);
+    }
+
+    @Test
+    @DisplayName("should return products page filtered by price range")
+    void shouldReturnProductsPageFilteredByPriceRange() throws Exception {
+        var expectedPage = new ProductsPageDto(List.of(makeProductById(SECOND_PRODUCT_ID)), null, null);
+        var filter = new ProductsFilterDto(Map.of(), new BigDecimal("50000"), new BigDecimal("100000.50"));
+        var pageRequest = new ProductsPageRequestDto(ProductSort.PRICE, Sort.Direction.ASC, null, DEFAULT_PAGE_SIZE,
+                null, filter, false);
+        var requestBuilder = get(PRODUCTS_URL)
+                .param(SORT_PARAM, ProductSort.PRICE.name())
+                .param(MIN_PRICE_PARAM, "50000")
+                .param(MAX_PRICE_PARAM, "100000.50");
+
+        when(productsService.getPage(pageRequest)).thenReturn(expectedPage);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedPage), true));
+
+        inOrder.verify(productsService, times(1))
+                .getPage(pageRequest);
+    }
+
+    @Test
+    @DisplayName("should return products page with prices and price range in requested currency")
+    void shouldReturnProductsPageWithPricesAndPriceRangeInRequestedCurrency() throws Exception {
+        var product = makeProductById(SECOND_PRODUCT_ID);
+        var expectedPage = new ProductsPageDto(List.of(new ProductResponseDto(SECOND_PRODUCT_ID,
+                new BigDecimal("0.50"), product.version(), product.descriptions(), product.features())), null, null);
+        var filter = new ProductsFilterDto(Map.of(), new BigDecimal("20"), new BigDecimal("200.00"));
+        var pageRequest = new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, null, DEFAULT_PAGE_SIZE,
+                null, filter, false);
+        var requestBuilder = get(PRODUCTS_URL)
+                .param(CURRENCY_PARAM, USD_CODE)
+                .param(MIN_PRICE_PARAM, "10")
+                .param(MAX_PRICE_PARAM, "100.00");
+
+        when(currencyRatesCache.get(USD_CODE)).thenReturn(Optional.of(new CurrencyRate(USD_CODE, new BigDecimal("2"))));
+        when(productsService.getPage(pageRequest)).thenReturn(new ProductsPageDto(List.of(product), null, null));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedPage), true));
+
+        inOrder.verify(productsService, times(1))
+                .getPage(pageRequest);
+    }
+
+    @Test
+    @DisplayName("should response BAD_REQUEST when min price is greater than max price")
+    void shouldResponseBadRequestWhenMinPriceIsGreaterThanMaxPrice() throws Exception {
+        var requestBuilder = get(PRODUCTS_URL)
+                .param(MIN_PRICE_PARAM, "100")
+                .param(MAX_PRICE_PARAM, "99.99");
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(jsonPath("$.status", is(BAD_REQUEST.name())))
+                .andExpect(jsonPath("$.messages").isNotEmpty());
+
+        verifyNoInteractions(productsService);
+    }
+
+    @Test
+    @DisplayName("should response BAD_REQUEST when features are filtered without language")
+    void shouldResponseBadRequestWhenFeaturesAreFilteredWithoutLanguage() throws Exception {
+        var filter = new ProductsFilterDto(Map.of(EN_SCREEN_FEATURE_NAME, Set.of(MAC_SCREEN_FEATURE_VALUE)), null,
+                null);
+        var pageRequest = new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, null, DEFAULT_PAGE_SIZE,
+                null, filter, false);
+        var requestBuilder = get(PRODUCTS_URL)
+                .param(FEATURE_PARAM_PREFIX + EN_SCREEN_FEATURE_NAME, MAC_SCREEN_FEATURE_VALUE);
+
+        when(productsService.getPage(pageRequest)).thenThrow(new InvalidFilterException("language is required"));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(jsonPath("$.status", is(BAD_REQUEST.name())))
+                .andExpect(jsonPath("$.messages").isNotEmpty());
+    }
+
+    @ParameterizedTest
+    @MethodSource("makeNotValidPageParameters")
+    @DisplayName("should response BAD_REQUEST when page parameters are not valid")
+    void shouldResponseBadRequestWhenPageParametersAreNotValid(String name, String value) throws Exception {
+        var requestBuilder = get(PRODUCTS_URL)
+                .param(name, value);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(jsonPath("$.status", notNullValue()))
+                .andExpect(jsonPath("$.status", is(BAD_REQUEST.name())))
+                .andExpect(jsonPath("$.date", notNullValue()))
+                .andExpect(jsonPath("$.date").isString())
+                .andExpect(jsonPath("$.messages").isArray())
+                .andExpect(jsonPath("$.messages").isNotEmpty())
+                .andExpect(jsonPath("$.messages[*]", not(blankOrNullString())));
+
+        verifyNoInteractions(productsService);
+    }
+
+    @Test
+    @DisplayName("should response BAD_REQUEST when page cursor is not valid")
+    void shouldResponseBadRequestWhenPageCursorIsNotValid() throws Exception {
+        var pageRequest = new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, NEXT_CURSOR,
+                DEFAULT_PAGE_SIZE, null, NO_FILTER, false);
+        var requestBuilder = get(PRODUCTS_URL)
+                .param(CURSOR_PARAM, NEXT_CURSOR);
+
+        when(productsService.getPage(pageRequest)).thenThrow(new InvalidCursorException("cursor is not valid"));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(jsonPath("$.status", is(BAD_REQUEST.name())))
+                .andExpect(jsonPath("$.messages").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("should return products search page")
+    void shouldReturnProductsSearchPage() throws Exception {
+        var hit = new ProductSearchHitDto(FIRST_PRODUCT_ID, FIRST_DESCRIPTION_ID,
+                languagesByCode.get(EN_LANGUAGE_CODE), EN_MAC_TITLE, 0.6f);
+        var expectedPage = new ProductsSearchPageDto(List.of(hit), 2);
+        var searchRequest = new ProductsSearchRequestDto("macbook pro", EN_LANGUAGE_CODE, 1, 1);
+        var requestBuilder = get(PRODUCTS_SEARCH_URL)
+                .param(QUERY_PARAM, "macbook pro")
+                .param(PAGE_PARAM, "1")
+                .param(SIZE_PARAM, "1")
+                .param(LANGUAGE_PARAM, EN_LANGUAGE_CODE);
+
+        when(productsService.search(searchRequest)).thenReturn(expectedPage);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedPage), true));
+
+        inOrder.verify(productsService, times(1))
+                .search(searchRequest);
+    }
+
+    @Test
+    @DisplayName("should search products in all languages with default parameters")
+    void shouldSearchProductsInAllLanguagesWithDefaultParameters() throws Exception {
+        var searchRequest = new ProductsSearchRequestDto("macbook", null, 0, DEFAULT_PAGE_SIZE);
+
+        when(productsService.search(searchRequest)).thenReturn(new ProductsSearchPageDto(List.of(), null));
+
+        mvc.perform(get(PRODUCTS_SEARCH_URL).param(QUERY_PARAM, "macbook"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").isEmpty());
+
+        inOrder.verify(productsService, times(1))
+                .search(searchRequest);
+    }
+
+    @ParameterizedTest
+    @MethodSource("makeNotValidSearchParameters")
+    @DisplayName("should response BAD_REQUEST when search parameters are not valid")
+    void shouldResponseBadRequestWhenSearchParametersAreNotValid(String name, String value) throws Exception {
+        var requestBuilder = get(PRODUCTS_SEARCH_URL)
+                .param(name, value);
+
+        if (!QUERY_PARAM.equals(name)) {
+            requestBuilder.param(QUERY_PARAM, "macbook");
+        }
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(BAD_REQUEST.name())))
+                .andExpect(jsonPath("$.messages").isNotEmpty());
+
+        verifyNoInteractions(productsService);
+    }
+
+    @Test
+    @DisplayName("should export products as newline delimited json")
+    @SuppressWarnings("unchecked")
+    void shouldExportProductsAsNewlineDelimitedJson() throws Exception {
+        List<ProductResponseDto> products = List.of(makeProductById(FIRST_PRODUCT_ID),
+                makeProductById(SECOND_PRODUCT_ID));
+        var expectedContent = new StringBuilder();
+
+        for (var product : products) {
+            expectedContent.append(objectMapper.writeValueAsString(product))
+                    .append('\n');
+        }
+
+        doAnswer(invocation -> {
+            products.forEach(invocation.getArgument(1, Consumer.class));
+            return null;
+        }).when(productsService).exportAll(isNull(), any());
+
+        mvc.perform(get(PRODUCTS_EXPORT_URL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_NDJSON))
+                .andExpect(content().bytes(expectedContent.toString().getBytes(StandardCharsets.UTF_8)));
+
+        inOrder.verify(productsService, times(1))
+                .exportAll(isNull(), any());
+    }
+
+    @Test
+    @DisplayName("should import products from newline delimited json")
+    void shouldImportProductsFromNewlineDelimitedJson() throws Exception {
+        List<ProductRequestDto> products = makeRequestProducts().toList();
+        var content = objectMapper.writeValueAsString(products.get(0)) + '\n' +
+                "{\"price\": \"unknown\"}" + '\n' +
+                objectMapper.writeValueAsString(products.get(1)) + '\n';
+        var requestBuilder = post(PRODUCTS_IMPORT_URL)
+                .contentType(APPLICATION_NDJSON)
+                .content(content.getBytes(StandardCharsets.UTF_8));
+        List<ProductImportLine> lines = new ArrayList<>();
+        var expectedReport = new ProductsImportReportDto(2, 1, List.of(new ProductImportErrorDto(2, List.of("error"))));
+
+        when(productsImportService.importAll(any())).thenAnswer(invocation -> {
+            Iterator<ProductImportLine> iterator = invocation.getArgument(0);
+
+            iterator.forEachRemaining(lines::add);
+
+            return expectedReport;
+        });
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedReport), true));
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).isEqualTo(new ProductImportLine(1, products.get(0), null));
+        assertThat(lines.get(1).line()).isEqualTo(2);
+        assertThat(lines.get(1).product()).isNull();
+        assertThat(lines.get(1).error()).contains("unknown");
+        assertThat(lines.get(2)).isEqualTo(new ProductImportLine(3, products.get(1), null));
+    }
+
+    @Test
+    @DisplayName("should import products from json array")
+    void shouldImportProductsFromJsonArray() throws Exception {
+        List<ProductRequestDto> products = makeRequestProducts().toList();
+        var requestBuilder = post(PRODUCTS_IMPORT_URL)
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(products));
+        List<ProductImportLine> lines = new ArrayList<>();
+
+        when(productsImportService.importAll(any())).thenAnswer(invocation -> {
+            Iterator<ProductImportLine> iterator = invocation.getArgument(0);
+
+            iterator.forEachRemaining(lines::add);
+
+            return new ProductsImportReportDto(lines.size(), 0, List.of());
+        });
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)));
+
+        assertThat(lines).extracting(ProductImportLine::product)
+                .containsExactlyElementsOf(products);
+    }
+
+    @Test
+    @DisplayName("should report index of product in json array")
+    void shouldReportIndexOfProductInJsonArray() throws Exception {
+        List<ProductRequestDto> products = makeRequestProducts().toList();
+        var content = "[" + objectMapper.writeValueAsString(products.get(0)) + ",{\"price\": \"unknown\"}," +
+                objectMapper.writeValueAsString(products.get(1)) + "]";
+        var requestBuilder = post(PRODUCTS_IMPORT_URL)
+                .contentType(APPLICATION_JSON)
+                .content(content.getBytes(StandardCharsets.UTF_8));
+        List<ProductImportLine> lines = new ArrayList<>();
+
+        when(productsImportService.importAll(any())).thenAnswer(invocation -> {
+            Iterator<ProductImportLine> iterator = invocation.getArgument(0);
+
+            iterator.forEachRemaining(lines::add);
+
+            return new ProductsImportReportDto(2, 1, List.of());
+        });
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk());
+
+        assertThat(lines).extracting(ProductImportLine::line)
+                .containsExactly(1L, 2L, 3L);
+        assertThat(lines.get(1).product()).isNull();
+    }
+
+    @Test
+    @DisplayName("should stop import on malformed json")
+    void shouldStopImportOnMalformedJson() throws Exception {
+        var product = makeRequestProducts().findFirst()
+                .orElseThrow();
+        var content = objectMapper.writeValueAsString(product) + '\n' + "{\"price\": }" + '\n' +
+                objectMapper.writeValueAsString(product) + '\n';
+        var requestBuilder = post(PRODUCTS_IMPORT_URL)
+                .contentType(APPLICATION_NDJSON)
+                .content(content.getBytes(StandardCharsets.UTF_8));
+        List<ProductImportLine> lines = new ArrayList<>();
+
+        when(productsImportService.importAll(any())).thenAnswer(invocation -> {
+            Iterator<ProductImportLine> iterator = invocation.getArgument(0);
+
+            iterator.forEachRemaining(lines::add);
+
+            return new ProductsImportReportDto(1, 1, List.of());
+        });
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk());
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(1).line()).isEqualTo(2);
+        assertThat(lines.get(1).error()).isNotBlank();
     }
 
     @Test
@@ -167,7 +875,7 @@ class ProductsRestControllerUnitTest {
     void shouldResponseNotFoundWhenProductByIdNotFound() throws Exception {
         var requestBuilder = get(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID);
 
-        when(productsService.getById(FIRST_PRODUCT_ID)).thenReturn(Optional.empty());
+        when(productsService.getById(FIRST_PRODUCT_ID, null)).thenReturn(Optional.empty());
 
         mvc.perform(requestBuilder)
                 .andExpect(status().isNotFound())
@@ -212,7 +920,7 @@ class ProductsRestControllerUnitTest {
                 .map(this::convertFeatureToDto)
                 .toList();
         var price = product.price();
-        var expectedProduct = new ProductResponseDto(FIRST_PRODUCT_ID, price, expectedDescriptions, expectedFeatures);
+        var expectedProduct = new ProductResponseDto(FIRST_PRODUCT_ID, price, 0, expectedDescriptions, expectedFeatures);
         var requestBuilder = put(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
                 .contentType(APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(product));
@@ -282,6 +990,225 @@ class ProductsRestControllerUnitTest {
                 .deleteById(FIRST_PRODUCT_ID);
     }
 
+    @Test
+    @DisplayName("should delete all products by ids")
+    void shouldDeleteAllProductsByIds() throws Exception {
+        var requestDto = new ProductsDeletionRequestDto(Set.of(FIRST_PRODUCT_ID, SECOND_PRODUCT_ID));
+        var expectedReport = new ProductsDeletionReportDto(1, List.of(SECOND_PRODUCT_ID));
+        var requestBuilder = post(PRODUCTS_DELETION_URL)
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto));
+
+        when(productsService.deleteAllByIdIn(requestDto.ids())).thenReturn(expectedReport);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedReport), true));
+
+        inOrder.verify(productsService, times(1))
+                .deleteAllByIdIn(requestDto.ids());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"ids\": []}", "{\"ids\": [0]}", "{\"ids\": [null]}", "{}"})
+    @DisplayName("should response BAD_REQUEST when ids for deletion are not valid")
+    void shouldResponseBadRequestWhenIdsForDeletionAreNotValid(String requestJson) throws Exception {
+        var requestBuilder = post(PRODUCTS_DELETION_URL)
+                .contentType(APPLICATION_JSON)
+                .content(requestJson);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.messages").isNotEmpty());
+
+        verifyNoInteractions(productsService);
+    }
+
+    @Test
+    @DisplayName("should patch product guarded by version from If-Match")
+    void shouldPatchProductGuardedByVersionFromIfMatch() throws Exception {
+        Map<Long, ProductFeaturePatchDto> features = new HashMap<>();
+
+        features.put(FIRST_FEATURE_ID, new ProductFeaturePatchDto(null, null, ASUS_CPU_FEATURE_VALUE));
+        features.put(SECOND_FEATURE_ID, null);
+
+        var patchDto = new ProductPatchRequestDto(BigDecimal.TEN, Map.of(), features);
+        var product = makeProductById(FIRST_PRODUCT_ID);
+        var requestBuilder = patch(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
+                .contentType(MERGE_PATCH_JSON)
+                .header(IF_MATCH, "\"1-3\"")
+                .content("{\"price\": 10, \"features\": {\"1\": {\"value\": \"" + ASUS_CPU_FEATURE_VALUE
+                        + "\"}, \"2\": null}}");
+
+        when(productsService.patch(FIRST_PRODUCT_ID, 3, patchDto)).thenReturn(product);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(header().string(ETAG, "\"1-0\""))
+                .andExpect(content().json(objectMapper.writeValueAsString(product), true));
+
+        inOrder.verify(productsService, times(1))
+                .patch(FIRST_PRODUCT_ID, 3, patchDto);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"W/\"1-3-EN\"", "\"1-3\""})
+    @DisplayName("should take version from any tag of product")
+    void shouldTakeVersionFromAnyTagOfProduct(String ifMatch) throws Exception {
+        var patchDto = new ProductPatchRequestDto(BigDecimal.TEN, null, null);
+        var requestBuilder = patch(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
+                .contentType(MERGE_PATCH_JSON)
+                .header(IF_MATCH, ifMatch)
+                .content("{\"price\": 10}");
+
+        when(productsService.patch(FIRST_PRODUCT_ID, 3, patchDto)).thenReturn(makeProductById(FIRST_PRODUCT_ID));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk());
+
+        inOrder.verify(productsService, times(1))
+                .patch(FIRST_PRODUCT_ID, 3, patchDto);
+    }
+
+    @Test
+    @DisplayName("should patch product without version guard when If-Match is missing")
+    void shouldPatchProductWithoutVersionGuardWhenIfMatchIsMissing() throws Exception {
+        var patchDto = new ProductPatchRequestDto(BigDecimal.TEN, null, null);
+        var requestBuilder = patch(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
+                .contentType(APPLICATION_JSON)
+                .content("{\"price\": 10}");
+
+        when(productsService.patch(FIRST_PRODUCT_ID, null, patchDto)).thenReturn(makeProductById(FIRST_PRODUCT_ID));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk());
+
+        inOrder.verify(productsService, times(1))
+                .patch(FIRST_PRODUCT_ID, null, patchDto);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\"2-3\"", "\"1-x\"", "\"1\""})
+    @DisplayName("should response PRECONDITION_FAILED when If-Match is not a tag of product")
+    void shouldResponsePreconditionFailedWhenIfMatchIsNotTagOfProduct(String ifMatch) throws Exception {
+        var requestBuilder = patch(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
+                .contentType(MERGE_PATCH_JSON)
+                .header(IF_MATCH, ifMatch)
+                .content("{\"price\": 10}");
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status", is(PRECONDITION_FAILED.name())));
+
+        verifyNoInteractions(productsService);
+    }
+
+    @Test
+    @DisplayName("should response PRECONDITION_FAILED when product version has changed")
+    void shouldResponsePreconditionFailedWhenProductVersionHasChanged() throws Exception {
+        var requestBuilder = patch(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
+                .contentType(MERGE_PATCH_JSON)
+                .header(IF_MATCH, "\"1-3\"")
+                .content("{\"price\": 10}");
+
+        when(productsService.patch(anyLong(), any(), any())).thenThrow(new VersionMismatchException("conflict"));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.messages", hasItem("conflict")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"price\": -1}", "{\"features\": {\"1\": {\"name\": \"\"}}}",
+            "{\"descriptions\": {\"1\": {\"title\": \"\"}}}", "{\"descriptions\": {\"0\": null}}",
+            "{\"features\": {\"1\": {\"languageCode\": \"ENGL\"}}}"})
+    @DisplayName("should response BAD_REQUEST when product patch is not valid")
+    void shouldResponseBadRequestWhenProductPatchIsNotValid(String patchJson) throws Exception {
+        var requestBuilder = patch(PRODUCT_BY_ID_URL, FIRST_PRODUCT_ID)
+                .contentType(MERGE_PATCH_JSON)
+                .content(patchJson);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(BAD_REQUEST.name())));
+
+        verifyNoInteractions(productsService);
+    }
+
+    @Test
+    @DisplayName("should update product prices")
+    void shouldUpdateProductPrices() throws Exception {
+        var requestDto = new ProductPricesRequestDto(List.of(
+                new ProductPriceRequestDto(FIRST_PRODUCT_ID, BigDecimal.TEN, 0),
+                new ProductPriceRequestDto(SECOND_PRODUCT_ID, BigDecimal.ONE, 3)));
+        var expectedReport = new ProductPricesReportDto(1, List.of(SECOND_PRODUCT_ID), List.of());
+        var requestBuilder = patch(PRODUCTS_PRICES_URL)
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto));
+
+        when(productsService.updatePrices(requestDto.prices())).thenReturn(expectedReport);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedReport), true));
+
+        inOrder.verify(productsService, times(1))
+                .updatePrices(requestDto.prices());
+    }
+
+    @ParameterizedTest
+    @MethodSource("makeNotValidProductPrices")
+    @DisplayName("should response BAD_REQUEST when product prices are not valid")
+    void shouldResponseBadRequestWhenProductPricesAreNotValid(ProductPricesRequestDto requestDto) throws Exception {
+        var requestBuilder = patch(PRODUCTS_PRICES_URL)
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(jsonPath("$.status", is(BAD_REQUEST.name())))
+                .andExpect(jsonPath("$.messages").isNotEmpty());
+
+        verifyNoInteractions(productsService);
+    }
+
+    @Test
+    @DisplayName("should adjust product prices by percent")
+    void shouldAdjustProductPricesByPercent() throws Exception {
+        var requestDto = new ProductPricesAdjustmentRequestDto(Set.of(FIRST_PRODUCT_ID, SECOND_PRODUCT_ID),
+                BigDecimal.valueOf(-15));
+        var expectedReport = new ProductPricesReportDto(2, List.of(), List.of());
+        var requestBuilder = post(PRODUCTS_PRICES_ADJUSTMENT_URL)
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto));
+
+        when(productsService.adjustPrices(requestDto)).thenReturn(expectedReport);
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedReport), true));
+
+        inOrder.verify(productsService, times(1))
+                .adjustPrices(requestDto);
+    }
+
+    @Test
+    @DisplayName("should response BAD_REQUEST when price adjustment percent is less than minus hundred")
+    void shouldResponseBadRequestWhenPriceAdjustmentPercentIsLessThanMinusHundred() throws Exception {
+        var requestDto = new ProductPricesAdjustmentRequestDto(Set.of(FIRST_PRODUCT_ID), BigDecimal.valueOf(-101));
+        var requestBuilder = post(PRODUCTS_PRICES_ADJUSTMENT_URL)
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto));
+
+        mvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.messages").isNotEmpty());
+
+        verifyNoInteractions(productsService);
+    }
+
     @Test
     @DisplayName("should response NOT_FOUND when product for delete not found")
     void shouldResponseNotFoundWhenProductForDeleteNotFound() throws Exception {
@@ -348,7 +1275,16 @@ class ProductsRestControllerUnitTest {
         var feature = new ProductFeatureResponseDto(FIRST_FEATURE_ID, language, RU_CPU_FEATURE_NAME,
                 MAC_CPU_FEATURE_VALUE);
 
-        return new ProductResponseDto(id, BigDecimal.ONE, List.of(description), List.of(feature));
+        return new ProductResponseDto(id, BigDecimal.ONE, 0, List.of(description), List.of(feature));
+    }
+
+    private void stubCachedJson(byte[] content, boolean gzipped) throws IOException {
+        when(productJsonCache.writeTo(eq(FIRST_PRODUCT_ID), isNull(), eq(gzipped), any())).thenAnswer(invocation -> {
+            invocation.<JsonWriter>getArgument(3)
+                    .write(2, ByteBuffer.wrap(content), gzipped);
+
+            return true;
+        });
     }
 
     private static Stream<ProductRequestDto> makeRequestProducts() {
@@ -395,6 +1331,48 @@ class ProductsRestControllerUnitTest {
         return Stream.of(mac, asus);
     }
 
+    private static Stream<ProductPricesRequestDto> makeNotValidProductPrices() {
+        return Stream.of(
+                new ProductPricesRequestDto(List.of()),
+                new ProductPricesRequestDto(List.of(new ProductPriceRequestDto(null, BigDecimal.ONE, 0))),
+                new ProductPricesRequestDto(List.of(new ProductPriceRequestDto(FIRST_PRODUCT_ID, BigDecimal.ONE,
+                        null))),
+                new ProductPricesRequestDto(List.of(new ProductPriceRequestDto(FIRST_PRODUCT_ID,
+                        BigDecimal.valueOf(-1), 0)))
+        );
+    }
+
+    private static Stream<String> makeNotValidProductIds() {
+        var tooManyIds = LongStream.rangeClosed(1, 101)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        return Stream.of("0", "1,-1", "", tooManyIds);
+    }
+
+    private static Stream<Arguments> makeNotValidPageParameters() {
+        return Stream.of(Arguments.of(SIZE_PARAM, "0"), Arguments.of(SIZE_PARAM, "101"),
+                Arguments.of(SIZE_PARAM, "one"), Arguments.of(SORT_PARAM, "TITLE"),
+                Arguments.of(DIRECTION_PARAM, "UP"), Arguments.of(LANGUAGE_PARAM, ""),
+                Arguments.of(LANGUAGE_PARAM, "ENGL"), Arguments.of(FACETS_PARAM, "maybe"),
+                Arguments.of(MIN_PRICE_PARAM, "-1"), Arguments.of(MAX_PRICE_PARAM, "cheap"),
+                Arguments.of(CURRENCY_PARAM, "US"),
+                Arguments.of(FEATURE_PARAM_PREFIX, MAC_SCREEN_FEATURE_VALUE),
+                Arguments.of(FEATURE_PARAM_PREFIX + "n".repeat(151), MAC_SCREEN_FEATURE_VALUE),
+                Arguments.of(FEATURE_PARAM_PREFIX + EN_SCREEN_FEATURE_NAME, ""),
+                Arguments.of(FEATURE_PARAM_PREFIX + EN_SCREEN_FEATURE_NAME, "v".repeat(101)));
+    }
+
+    private static Stream<Arguments> makeNotValidSearchParameters() {
+        return Stream.of(
+                Arguments.of(QUERY_PARAM, " "),
+                Arguments.of(QUERY_PARAM, "q".repeat(201)),
+                Arguments.of(PAGE_PARAM, "-1"),
+                Arguments.of(PAGE_PARAM, "101"),
+                Arguments.of(SIZE_PARAM, "0"),
+                Arguments.of(LANGUAGE_PARAM, "ENGL"));
+    }
+
     private static Stream<ProductRequestDto> makeNotValidProducts() {
         var ruMacDescription = new ProductDescriptionRequestDto(FIRST_DESCRIPTION_ID, RU_LANGUAGE_CODE, RU_MAC_TITLE,
                 RU_MAC_DESCRIPTION);
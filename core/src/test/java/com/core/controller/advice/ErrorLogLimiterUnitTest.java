@@ -0,0 +1,61 @@
+package com.core.controller.advice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("error log limiter")
+class ErrorLogLimiterUnitTest {
+
+    private static final int LIMIT_PER_INTERVAL = 2;
+    private static final Duration INTERVAL = Duration.ofSeconds(1);
+    private static final String NOT_FOUND_TYPE = "NotFoundResourceException";
+    private static final String CONFLICT_TYPE = "UniqueConstraintException";
+
+    private AtomicLong nanoClock;
+    private ErrorLogLimiter logLimiter;
+
+    @BeforeEach
+    void setUp() {
+        this.nanoClock = new AtomicLong();
+        this.logLimiter = new ErrorLogLimiter(LIMIT_PER_INTERVAL, INTERVAL, nanoClock::get);
+    }
+
+    @Test
+    @DisplayName("should log limited number of records per interval and report suppressed ones")
+    void shouldLogLimitedNumberOfRecordsPerIntervalAndReportSuppressedOnes() {
+        List<Long> loggedRecords = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            logLimiter.log(NOT_FOUND_TYPE, loggedRecords::add);
+        }
+
+        assertThat(loggedRecords).containsExactly(0L, 0L);
+
+        nanoClock.addAndGet(INTERVAL.toNanos());
+        logLimiter.log(NOT_FOUND_TYPE, loggedRecords::add);
+        logLimiter.log(NOT_FOUND_TYPE, loggedRecords::add);
+
+        assertThat(loggedRecords).containsExactly(0L, 0L, 3L, 0L);
+    }
+
+    @Test
+    @DisplayName("should limit every error type separately")
+    void shouldLimitEveryErrorTypeSeparately() {
+        List<String> loggedTypes = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            logLimiter.log(NOT_FOUND_TYPE, suppressedCount -> loggedTypes.add(NOT_FOUND_TYPE));
+            logLimiter.log(CONFLICT_TYPE, suppressedCount -> loggedTypes.add(CONFLICT_TYPE));
+        }
+
+        assertThat(loggedTypes).containsExactly(NOT_FOUND_TYPE, CONFLICT_TYPE, NOT_FOUND_TYPE, CONFLICT_TYPE);
+    }
+}
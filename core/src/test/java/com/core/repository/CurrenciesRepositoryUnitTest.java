@@ -1,9 +1,11 @@
 package com.core.repository;
 
+import com.core.dto.CurrencyRateResponseDto;
 import com.core.model.Currency;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +20,13 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static com.core.constants.ContainerConstants.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -37,6 +46,7 @@ class CurrenciesRepositoryUnitTest {
     private static final String RUB_CODE = "RUB";
     private static final String USD_CODE = "USD";
     private static final String GBP_CODE = "GBP";
+    private static final String CHF_CODE = "CHF";
 
     @TestConfiguration
     static class CurrenciesRepositoryUnitTestConfig {
@@ -83,4 +93,91 @@ class CurrenciesRepositoryUnitTest {
     void shouldCheckOnExistCurrencyByCode(String code) {
         assertTrue(repository.existsByCode(code));
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional
+    @DisplayName("should insert new and update changed rates skipping unchanged ones")
+    void shouldInsertNewAndUpdateChangedRatesSkippingUnchangedOnes() {
+        var usdVersion = repository.findByCode(USD_CODE)
+                .orElseThrow()
+                .getVersion();
+        var gbpVersion = repository.findByCode(GBP_CODE)
+                .orElseThrow()
+                .getVersion();
+
+        em.clear();
+
+        var writtenCount = repository.upsertRates(Map.of(USD_CODE, BigDecimal.valueOf(75), GBP_CODE,
+                BigDecimal.valueOf(100), CHF_CODE, BigDecimal.valueOf(80)));
+
+        assertThat(writtenCount).isEqualTo(2);
+        assertThat(repository.findByCode(USD_CODE)).get()
+                .satisfies(usd -> {
+                    assertThat(usd.getMultiplier()).isEqualByComparingTo("75");
+                    assertThat(usd.getVersion()).isEqualTo(usdVersion + 1);
+                });
+        assertThat(repository.findByCode(GBP_CODE)).get()
+                .extracting(Currency::getVersion)
+                .isEqualTo(gbpVersion);
+        assertThat(repository.findByCode(CHF_CODE)).get()
+                .extracting(Currency::getMultiplier)
+                .satisfies(multiplier -> assertThat(multiplier).isEqualByComparingTo("80"));
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("should not allocate ids when only existing rates are updated")
+    void shouldNotAllocateIdsWhenOnlyExistingRatesAreUpdated() {
+        var usdId = repository.findByCode(USD_CODE)
+                .orElseThrow()
+                .getId();
+        var lastSequenceValue = getLastSequenceValue();
+
+        em.clear();
+        repository.upsertRates(Map.of(USD_CODE, BigDecimal.valueOf(76), GBP_CODE, BigDecimal.valueOf(101)));
+
+        assertThat(getLastSequenceValue()).isEqualTo(lastSequenceValue);
+        assertThat(repository.findByCode(USD_CODE)).get()
+                .extracting(Currency::getId)
+                .isEqualTo(usdId);
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("should record every change of currency rate in history")
+    void shouldRecordEveryChangeOfCurrencyRateInHistory() {
+        repository.upsertRates(Map.of(USD_CODE, BigDecimal.valueOf(75), GBP_CODE, BigDecimal.valueOf(100)));
+
+        var usd = repository.findByCode(USD_CODE)
+                .orElseThrow();
+
+        repository.delete(usd);
+        em.flush();
+
+        List<CurrencyRateResponseDto> rates = new ArrayList<>();
+        Map<String, LocalDateTime> validFromByCode = new HashMap<>();
+
+        validFromByCode.put(USD_CODE, null);
+        validFromByCode.put(GBP_CODE, null);
+        repository.forEachRateAfter(validFromByCode, rates::add);
+
+        assertThat(rates).extracting(CurrencyRateResponseDto::code)
+                .containsExactly(GBP_CODE, USD_CODE, USD_CODE, USD_CODE);
+        assertThat(rates).extracting(CurrencyRateResponseDto::multiplier)
+                .usingElementComparator(Comparator.nullsFirst(Comparator.<BigDecimal>naturalOrder()))
+                .containsExactly(BigDecimal.valueOf(100), BigDecimal.valueOf(74), BigDecimal.valueOf(75), null);
+        assertThat(rates.get(3).validFrom()).isAfter(rates.get(2).validFrom());
+
+        List<CurrencyRateResponseDto> newRates = new ArrayList<>();
+
+        repository.forEachRateAfter(Map.of(USD_CODE, rates.get(1).validFrom()), newRates::add);
+
+        assertThat(newRates).containsExactly(rates.get(2), rates.get(3));
+    }
+
+    private Object getLastSequenceValue() {
+        return em.getEntityManager()
+                .createNativeQuery("select last_value from currencies_id_seq")
+                .getSingleResult();
+    }
+}
@@ -1,8 +1,11 @@
 package com.core.repository;
 
 import com.core.model.Language;
+import com.core.model.product.ProductDescription;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -101,4 +104,109 @@ class LanguagesRepositoryUnitTest {
         assertThat(languages).isNotEmpty()
                 .containsExactlyElementsOf(expectedLanguages);
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional
+    @DisplayName("should allocate ids of new languages from one sequence block")
+    void shouldAllocateIdsOfNewLanguagesFromOneSequenceBlock() {
+        var sequenceValue = (Number) em.getEntityManager()
+                .createNativeQuery("select last_value from languages_id_seq")
+                .getSingleResult();
+        var firstLanguage = new Language();
+        var secondLanguage = new Language();
+
+        firstLanguage.setCode("DE");
+        secondLanguage.setCode("FR");
+        repository.saveAndFlush(firstLanguage);
+        repository.saveAndFlush(secondLanguage);
+
+        var nextSequenceValue = (Number) em.getEntityManager()
+                .createNativeQuery("select last_value from languages_id_seq")
+                .getSingleResult();
+
+        assertThat(secondLanguage.getId()).isEqualTo(firstLanguage.getId() + 1);
+        assertThat(nextSequenceValue.longValue()).isEqualTo(firstLanguage.getId());
+        assertThat(nextSequenceValue.longValue()).isGreaterThan(sequenceValue.longValue());
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should return language by id from second level cache")
+    void shouldReturnLanguageByIdFromSecondLevelCache() {
+        var languageId = repository.findByCode(RU_CODE)
+                .orElseThrow()
+                .getId();
+        var statistics = getStatistics();
+
+        em.clear();
+        statistics.clear();
+
+        assertThat(repository.findById(languageId)).map(Language::getCode)
+                .contains(RU_CODE);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should return language by code from query cache")
+    void shouldReturnLanguageByCodeFromQueryCache() {
+        repository.findByCode(EN_CODE);
+
+        var statistics = getStatistics();
+
+        em.clear();
+        statistics.clear();
+
+        assertThat(repository.findByCode(EN_CODE)).map(Language::getCode)
+                .contains(EN_CODE);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("should invalidate cached query by code when language saved")
+    void shouldInvalidateCachedQueryByCodeWhenLanguageSaved() {
+        var language = new Language();
+
+        language.setCode("IT");
+
+        assertThat(repository.findByCode("IT")).isEmpty();
+        assertThat(repository.existsByCode("IT")).isFalse();
+
+        repository.saveAndFlush(language);
+        em.clear();
+
+        assertThat(repository.findByCode("IT")).isNotEmpty();
+        assertThat(repository.existsByCode("IT")).isTrue();
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should initialize language of description without query")
+    void shouldInitializeLanguageOfDescriptionWithoutQuery() {
+        var descriptionId = (Number) em.getEntityManager()
+                .createNativeQuery("select min(id) from product_descriptions")
+                .getSingleResult();
+
+        repository.findAll();
+
+        var statistics = getStatistics();
+
+        em.clear();
+        statistics.clear();
+
+        var description = em.find(ProductDescription.class, descriptionId.longValue());
+
+        assertThat(description.getLanguage().getCode()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private Statistics getStatistics() {
+        return em.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+}
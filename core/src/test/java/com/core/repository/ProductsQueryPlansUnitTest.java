@@ -0,0 +1,386 @@
+package com.core.repository;
+
+import com.core.dto.product.*;
+import com.core.repository.product.ProductFeaturesRepository;
+import com.core.repository.product.ProductsRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static com.core.constants.ContainerConstants.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// seeds a large catalog so a query that stops using an index fails the build
+@DataJpaTest
+@Testcontainers
+@DisplayName("products query plans")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductsQueryPlansUnitTest {
+
+    private static final int SEEDED_PRODUCTS = 200_000;
+    private static final int SEEDED_MODELS = 10_000;
+    // core.products.export.page-size of the test configuration
+    private static final int EXPORT_PAGE_SIZE = 2;
+    private static final String EN_LANGUAGE_CODE = "EN";
+    private static final String MODEL_FEATURE_NAME = "model";
+    private static final Set<String> LARGE_TABLES = Set.of("products", "product_descriptions", "product_features");
+    private static final String SEQ_SCAN_NODE = "Seq Scan";
+    private static final String SEED_PRODUCTS_SQL = """
+            insert into products (price, creation_date, last_update_date, version)
+            select round(cast(random() * 100000 as numeric), 2), current_timestamp - g * interval '1 minute',
+                   current_timestamp - g * interval '1 minute', 0
+            from generate_series(1, ?) g
+            """;
+    private static final String SEED_DESCRIPTIONS_SQL = """
+            insert into product_descriptions (product_id, language_id, title, description, creation_date,
+                                              last_update_date, version)
+            select p.id, l.id, 'Laptop M' || p.id, 'Laptop M' || p.id || ' of the seeded catalog', current_timestamp,
+                   current_timestamp, 0
+            from products p
+                     cross join languages l
+            where l.code in ('RU', 'EN')
+            """;
+    private static final String SEED_FEATURES_SQL = """
+            insert into product_features (product_id, language_id, name, value, creation_date, last_update_date,
+                                          version)
+            select p.id, l.id, 'model', 'M' || p.number % ?, current_timestamp, current_timestamp, 0
+            from (select p.id, row_number() over (order by p.id) as number from products p) p
+                     cross join languages l
+            where l.code in ('RU', 'EN')
+            """;
+
+    @Container
+    private static final PostgreSQLContainer<?> container = new PostgreSQLContainer<>(DB_IMAGE)
+            .withDatabaseName(DB_NAME)
+            .withUsername(DB_USERNAME)
+            .withPassword(DB_PASSWORD);
+
+    @TestConfiguration
+    static class ProductsQueryPlansUnitTestConfig {
+
+        @Bean
+        public ExplainingDataSource dataSource() {
+            var hikariConfig = new HikariConfig();
+
+            hikariConfig.setUsername(container.getUsername());
+            hikariConfig.setPassword(container.getPassword());
+            hikariConfig.setJdbcUrl(container.getJdbcUrl());
+
+            return new ExplainingDataSource(new HikariDataSource(hikariConfig));
+        }
+    }
+
+    @Autowired
+    private ExplainingDataSource dataSource;
+
+    @Autowired
+    private ProductsRepository repository;
+
+    @Autowired
+    private ProductFeaturesRepository featuresRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private long productId;
+    private long descriptionId;
+    private long featureId;
+
+    @BeforeAll
+    void seed() {
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.update(SEED_PRODUCTS_SQL, SEEDED_PRODUCTS);
+        jdbcTemplate.update(SEED_DESCRIPTIONS_SQL);
+        jdbcTemplate.update(SEED_FEATURES_SQL, SEEDED_MODELS);
+        jdbcTemplate.execute("analyze");
+
+        productId = jdbcTemplate.queryForObject("select max(p.id) from products p", Long.class);
+        descriptionId = jdbcTemplate.queryForObject(
+                "select min(d.id) from product_descriptions d where d.product_id = ?", Long.class, productId);
+        featureId = jdbcTemplate.queryForObject(
+                "select min(f.id) from product_features f where f.product_id = ?", Long.class, productId);
+    }
+
+    @Test
+    @DisplayName("should read product views with index scans")
+    void shouldReadProductViewsWithIndexScans() {
+        assertIndexScans(() -> {
+            repository.findViewById(productId, null);
+            repository.findViewById(productId, EN_LANGUAGE_CODE);
+            repository.findViewsByIdIn(List.of(productId, productId - 1), null);
+            repository.findViewsByIdIn(List.of(productId, productId - 1), EN_LANGUAGE_CODE);
+        });
+    }
+
+    @Test
+    @DisplayName("should export product views page by page with index scans")
+    void shouldExportProductViewsPageByPageWithIndexScans() {
+        List<Long> exportedIds = new ArrayList<>();
+
+        assertIndexScans(() -> assertThatThrownBy(() -> repository.forEachView(EN_LANGUAGE_CODE, product -> {
+            exportedIds.add(product.id());
+
+            if (exportedIds.size() > EXPORT_PAGE_SIZE) {
+                throw new ExportStoppedException();
+            }
+        })).isInstanceOf(ExportStoppedException.class));
+
+        assertThat(exportedIds).hasSize(EXPORT_PAGE_SIZE + 1)
+                .isSorted();
+    }
+
+    @Test
+    @DisplayName("should read product entities with index scans")
+    void shouldReadProductEntitiesWithIndexScans() {
+        assertIndexScans(() -> {
+            repository.findByIdWithDescriptions(productId);
+            repository.findByIdWithFeatures(productId);
+            repository.findVersionById(productId);
+            repository.findIdsByIdIn(List.of(productId, productId - 1));
+
+            try (var features = featuresRepository.findAllByProductId(productId)) {
+                features.forEach(feature -> assertThat(feature.getId()).isNotNull());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("should read product pages with index scans")
+    void shouldReadProductPagesWithIndexScans() {
+        var noFilter = new ProductsFilterDto(Map.of(), null, null);
+        var filter = new ProductsFilterDto(Map.of(MODEL_FEATURE_NAME, Set.of("M42", "M43")), null, null);
+
+        assertIndexScans(() -> {
+            for (var sort : ProductSort.values()) {
+                for (var direction : Sort.Direction.values()) {
+                    var pageRequest = new ProductsPageRequestDto(sort, direction, null, 20, null, noFilter, false);
+                    var cursors = repository.findPageCursors(pageRequest, null, 21);
+
+                    repository.findPageCursors(pageRequest, cursors.get(cursors.size() - 1), 21);
+                }
+            }
+
+            var filteredPageRequest = new ProductsPageRequestDto(ProductSort.PRICE, Sort.Direction.ASC, null, 20,
+                    EN_LANGUAGE_CODE, filter, true);
+
+            repository.findPageCursors(filteredPageRequest, null, 21);
+
+            var priceRange = new ProductsFilterDto(Map.of(), new BigDecimal("1000"), new BigDecimal("2000"));
+            var pricePageRequest = new ProductsPageRequestDto(ProductSort.PRICE, Sort.Direction.DESC, null, 20, null,
+                    priceRange, false);
+            var priceCursors = repository.findPageCursors(pricePageRequest, null, 21);
+
+            repository.findPageCursors(pricePageRequest, priceCursors.get(priceCursors.size() - 1), 21);
+        });
+    }
+
+    @Test
+    @DisplayName("should count feature facets with index scans")
+    void shouldCountFeatureFacetsWithIndexScans() {
+        var noFilter = new ProductsFilterDto(Map.of(), null, null);
+        var priceRange = new ProductsFilterDto(Map.of(), new BigDecimal("1000"), new BigDecimal("2000"));
+        var filter = new ProductsFilterDto(Map.of(MODEL_FEATURE_NAME, Set.of("M42", "M43")), null, null);
+        var priceFilter = new ProductsFilterDto(Map.of(MODEL_FEATURE_NAME, Set.of("M42")), BigDecimal.ONE,
+                new BigDecimal("2000"));
+
+        assertIndexScans(() -> {
+            repository.findFeatureFacets(new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, null, 20,
+                    EN_LANGUAGE_CODE, noFilter, true));
+            repository.findFeatureFacets(new ProductsPageRequestDto(ProductSort.PRICE, Sort.Direction.ASC, null, 20,
+                    EN_LANGUAGE_CODE, priceRange, true));
+            repository.findFeatureFacets(new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, null, 20,
+                    EN_LANGUAGE_CODE, filter, true));
+            repository.findFeatureFacets(new ProductsPageRequestDto(ProductSort.PRICE, Sort.Direction.ASC, null, 20,
+                    EN_LANGUAGE_CODE, priceFilter, true));
+        });
+    }
+
+    @Test
+    @DisplayName("should search products with index scans")
+    void shouldSearchProductsWithIndexScans() {
+        assertIndexScans(() -> {
+            repository.search(new ProductsSearchRequestDto("M" + productId, null, 0, 20), 0, 21);
+            repository.search(new ProductsSearchRequestDto("M" + productId, EN_LANGUAGE_CODE, 0, 20), 0, 21);
+        });
+    }
+
+    @Test
+    @DisplayName("should modify products with index scans")
+    void shouldModifyProductsWithIndexScans() {
+        var descriptionPatch = new ProductDescriptionPatchDto(null, "title", null);
+        var featurePatch = new ProductFeaturePatchDto(null, null, "value");
+
+        assertIndexScans(() -> {
+            repository.updatePrices(List.of(new ProductPriceRequestDto(productId, BigDecimal.TEN, 0)));
+            repository.adjustPrices(List.of(productId), BigDecimal.ONE);
+            repository.patch(productId, null, BigDecimal.ONE);
+            repository.updateDescriptions(productId, Map.of(descriptionId, descriptionPatch), Map.of());
+            repository.updateFeatures(productId, Map.of(featureId, featurePatch), Map.of());
+            repository.deleteDescriptions(productId, List.of(descriptionId));
+            repository.deleteFeatures(productId, List.of(featureId));
+            repository.deleteByIdIn(List.of(productId));
+        });
+    }
+
+    private void assertIndexScans(Runnable queries) {
+        List<ExplainedQuery> explainedQueries = dataSource.explain(queries);
+
+        assertThat(explainedQueries).isNotEmpty()
+                .allSatisfy(query -> assertThat(findSeqScannedTables(query.plan()))
+                        .as("sequential scans of %s", query.sql())
+                        .isEmpty());
+    }
+
+    private List<String> findSeqScannedTables(String plan) {
+        List<String> tables = new ArrayList<>();
+
+        try {
+            for (var node : objectMapper.readTree(plan)) {
+                collectSeqScannedTables(node.get("Plan"), tables);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return tables;
+    }
+
+    private void collectSeqScannedTables(JsonNode node, List<String> tables) {
+        var table = node.path("Relation Name").asText();
+
+        if (SEQ_SCAN_NODE.equals(node.path("Node Type").asText()) && LARGE_TABLES.contains(table)) {
+            tables.add(table);
+        }
+
+        for (var child : node.path("Plans")) {
+            collectSeqScannedTables(child, tables);
+        }
+    }
+
+    record ExplainedQuery(String sql, String plan) {
+    }
+
+    // stops the export after its second page, the rest of the pages run the same queries
+    static class ExportStoppedException extends RuntimeException {
+    }
+
+    // explains every read or modifying statement with the parameters it is executed with
+    static class ExplainingDataSource extends DelegatingDataSource {
+
+        private static final Pattern EXPLAINABLE_SQL = Pattern.compile(
+                "^\\s*(/\\*.*?\\*/\\s*)?(select|with|update|delete)\\b", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+        private final List<ExplainedQuery> explainedQueries = new CopyOnWriteArrayList<>();
+        private volatile boolean explaining;
+
+        ExplainingDataSource(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        List<ExplainedQuery> explain(Runnable queries) {
+            explainedQueries.clear();
+            explaining = true;
+
+            try {
+                queries.run();
+            } finally {
+                explaining = false;
+            }
+
+            return List.copyOf(explainedQueries);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            var connection = super.getConnection();
+
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        var result = invoke(connection, method, args);
+
+                        if (explaining && method.getName().equals("prepareStatement")
+                                && EXPLAINABLE_SQL.matcher((String) args[0]).find()) {
+                            return makeExplainingStatement(connection, (PreparedStatement) result, (String) args[0]);
+                        }
+
+                        return result;
+                    });
+        }
+
+        private PreparedStatement makeExplainingStatement(Connection connection, PreparedStatement statement,
+                                                          String sql) {
+            List<ParameterSetter> setters = new ArrayList<>();
+
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length > 1
+                                && args[0] instanceof Integer) {
+                            setters.add(new ParameterSetter(method, args));
+                        } else if (method.getName().startsWith("execute")) {
+                            explainedQueries.add(new ExplainedQuery(sql, explain(connection, sql, setters)));
+                        }
+
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private String explain(Connection connection, String sql, List<ParameterSetter> setters) throws Throwable {
+            try (var statement = connection.prepareStatement("explain (format json) " + sql)) {
+                for (var setter : setters) {
+                    invoke(statement, setter.method(), setter.args());
+                }
+
+                try (var resultSet = statement.executeQuery()) {
+                    resultSet.next();
+
+                    return resultSet.getString(1);
+                }
+            }
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private record ParameterSetter(Method method, Object[] args) {
+        }
+    }
+}
@@ -0,0 +1,576 @@
+package com.core.repository;
+
+import com.core.dto.LanguageResponseDto;
+import com.core.dto.product.*;
+import com.core.model.Language;
+import com.core.model.product.Product;
+import com.core.model.product.ProductDescription;
+import com.core.model.product.ProductFeature;
+import com.core.repository.product.ProductsRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.core.constants.ContainerConstants.*;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+@DisplayName("products repository")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductsRepositoryUnitTest {
+
+    private static final String RU_LANGUAGE_CODE = "RU";
+    private static final String EN_LANGUAGE_CODE = "EN";
+    private static final String UNKNOWN_LANGUAGE_CODE = "DE";
+    private static final ProductsFilterDto NO_FILTER = new ProductsFilterDto(Map.of(), null, null);
+
+    @Container
+    private static final PostgreSQLContainer<?> container = new PostgreSQLContainer<>(DB_IMAGE)
+            .withDatabaseName(DB_NAME)
+            .withUsername(DB_USERNAME)
+            .withPassword(DB_PASSWORD);
+
+    @TestConfiguration
+    static class ProductsRepositoryUnitTestConfig {
+
+        @Bean
+        public DataSource dataSource() {
+            var hikariConfig = new HikariConfig();
+
+            hikariConfig.setUsername(container.getUsername());
+            hikariConfig.setPassword(container.getPassword());
+            hikariConfig.setJdbcUrl(container.getJdbcUrl());
+
+            return new HikariDataSource(hikariConfig);
+        }
+    }
+
+    @Autowired
+    private ProductsRepository repository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should return product view by id")
+    void shouldReturnProductViewById() {
+        var product = em.getEntityManager()
+                .createQuery("select p from Product p order by p.id", Product.class)
+                .setMaxResults(1)
+                .getSingleResult();
+        var expectedProduct = makeExpectedProduct(product);
+
+        assertThat(repository.findViewById(product.getId(), null)).isNotEmpty()
+                .get()
+                .usingRecursiveComparison()
+                .isEqualTo(expectedProduct);
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should return product view by id with children in requested language only")
+    void shouldReturnProductViewByIdWithChildrenInRequestedLanguageOnly() {
+        var product = em.getEntityManager()
+                .createQuery("select p from Product p order by p.id", Product.class)
+                .setMaxResults(1)
+                .getSingleResult();
+        var expectedProduct = filterByLanguage(makeExpectedProduct(product), EN_LANGUAGE_CODE);
+
+        assertThat(expectedProduct.descriptions()).isNotEmpty();
+        assertThat(repository.findViewById(product.getId(), EN_LANGUAGE_CODE)).isNotEmpty()
+                .get()
+                .usingRecursiveComparison()
+                .isEqualTo(expectedProduct);
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should return product view without children when language has none")
+    void shouldReturnProductViewWithoutChildrenWhenLanguageHasNone() {
+        var product = em.getEntityManager()
+                .createQuery("select p from Product p order by p.id", Product.class)
+                .setMaxResults(1)
+                .getSingleResult();
+
+        assertThat(repository.findViewById(product.getId(), UNKNOWN_LANGUAGE_CODE)).isNotEmpty()
+                .get()
+                .satisfies(view -> {
+                    assertThat(view.descriptions()).isEmpty();
+                    assertThat(view.features()).isEmpty();
+                });
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should return product version by id")
+    void shouldReturnProductVersionById() {
+        var product = em.getEntityManager()
+                .createQuery("select p from Product p order by p.id", Product.class)
+                .setMaxResults(1)
+                .getSingleResult();
+
+        assertThat(repository.findVersionById(product.getId())).contains(product.getVersion());
+        assertThat(repository.findVersionById(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should return empty view when product not found")
+    void shouldReturnEmptyViewWhenProductNotFound() {
+        assertThat(repository.findViewById(Long.MAX_VALUE, null)).isEmpty();
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should return product views by ids")
+    void shouldReturnProductViewsByIds() {
+        List<ProductResponseDto> expectedProducts = em.getEntityManager()
+                .createQuery("select p from Product p order by p.id", Product.class)
+                .getResultStream()
+                .map(this::makeExpectedProduct)
+                .toList();
+        List<Long> ids = expectedProducts.stream()
+                .map(ProductResponseDto::id)
+                .toList();
+
+        assertThat(repository.findViewsByIdIn(ids, null)).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(expectedProducts);
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should return product views by ids with children in requested language only")
+    void shouldReturnProductViewsByIdsWithChildrenInRequestedLanguageOnly() {
+        List<ProductResponseDto> expectedProducts = em.getEntityManager()
+                .createQuery("select p from Product p order by p.id", Product.class)
+                .getResultStream()
+                .map(product -> filterByLanguage(makeExpectedProduct(product), RU_LANGUAGE_CODE))
+                .toList();
+        List<Long> ids = expectedProducts.stream()
+                .map(ProductResponseDto::id)
+                .toList();
+
+        assertThat(repository.findViewsByIdIn(ids, RU_LANGUAGE_CODE)).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(expectedProducts);
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should return empty views when products not found")
+    void shouldReturnEmptyViewsWhenProductsNotFound() {
+        assertThat(repository.findViewsByIdIn(List.of(Long.MAX_VALUE), null)).isEmpty();
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should stream all product views ordered by id")
+    void shouldStreamAllProductViewsOrderedById() {
+        List<ProductResponseDto> expectedProducts = em.getEntityManager()
+                .createQuery("select p from Product p order by p.id", Product.class)
+                .getResultStream()
+                .map(this::makeExpectedProduct)
+                .toList();
+        List<ProductResponseDto> products = new ArrayList<>();
+
+        repository.forEachView(null, products::add);
+
+        assertThat(products).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(expectedProducts);
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should stream all product views with children in requested language only")
+    void shouldStreamAllProductViewsWithChildrenInRequestedLanguageOnly() {
+        List<ProductResponseDto> expectedProducts = em.getEntityManager()
+                .createQuery("select p from Product p order by p.id", Product.class)
+                .getResultStream()
+                .map(product -> filterByLanguage(makeExpectedProduct(product), EN_LANGUAGE_CODE))
+                .toList();
+        List<ProductResponseDto> products = new ArrayList<>();
+
+        repository.forEachView(EN_LANGUAGE_CODE, products::add);
+
+        assertThat(products).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(expectedProducts);
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should return page cursors in keyset order")
+    void shouldReturnPageCursorsInKeysetOrder() {
+        List<Long> expectedIds = em.getEntityManager()
+                .createQuery("select p.id from Product p order by p.price desc, p.id desc", Long.class)
+                .getResultList();
+        var pageRequest = new ProductsPageRequestDto(ProductSort.PRICE, Sort.Direction.DESC, null, 1, null,
+                NO_FILTER, false);
+        List<Long> ids = new ArrayList<>();
+        ProductCursor after = null;
+        List<ProductCursor> cursors;
+
+        while (!(cursors = repository.findPageCursors(pageRequest, after, 1)).isEmpty()) {
+            after = cursors.get(0);
+            ids.add(after.id());
+        }
+
+        assertThat(ids).containsExactlyElementsOf(expectedIds);
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should return page cursors limited by size")
+    void shouldReturnPageCursorsLimitedBySize() {
+        var pageRequest = new ProductsPageRequestDto(ProductSort.LAST_UPDATE_DATE, Sort.Direction.ASC, null, 1,
+                null, NO_FILTER, false);
+
+        assertThat(repository.findPageCursors(pageRequest, null, 1)).hasSize(1);
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should return page cursors of products matching all filtered features")
+    void shouldReturnPageCursorsOfProductsMatchingAllFilteredFeatures() {
+        Map<String, Set<String>> features = new LinkedHashMap<>();
+
+        features.put("screen", Set.of("13.3 (2560x1600) IPS", "13.3 (1920x1080) OLED"));
+        features.put("CPU", Set.of("Apple M1 (8x3200 МГц)"));
+        var pageRequest = new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, null, 10, EN_LANGUAGE_CODE,
+                new ProductsFilterDto(features, null, null), false);
+
+        assertThat(repository.findPageCursors(pageRequest, null, 10))
+                .extracting(ProductCursor::id)
+                .containsExactly(1L);
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should return page cursors of products in price range in price order")
+    void shouldReturnPageCursorsOfProductsInPriceRangeInPriceOrder() {
+        var minPrice = new BigDecimal("1000");
+        var maxPrice = new BigDecimal("150000");
+        List<Long> expectedIds = em.getEntityManager()
+                .createQuery("select p.id from Product p where p.price between :minPrice and :maxPrice "
+                        + "order by p.price, p.id", Long.class)
+                .setParameter("minPrice", minPrice)
+                .setParameter("maxPrice", maxPrice)
+                .getResultList();
+        var pageRequest = new ProductsPageRequestDto(ProductSort.PRICE, Sort.Direction.ASC, null, 1, null,
+                new ProductsFilterDto(Map.of(), minPrice, maxPrice), false);
+        List<Long> ids = new ArrayList<>();
+        ProductCursor after = null;
+        List<ProductCursor> cursors;
+
+        while (!(cursors = repository.findPageCursors(pageRequest, after, 1)).isEmpty()) {
+            after = cursors.get(0);
+            ids.add(after.id());
+        }
+
+        assertThat(expectedIds).isNotEmpty();
+        assertThat(ids).containsExactlyElementsOf(expectedIds);
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("should return feature facets of filtered products")
+    void shouldReturnFeatureFacetsOfFilteredProducts() {
+        var filter = new ProductsFilterDto(Map.of("screen", Set.of("13.3 (1920x1080) OLED")), null, null);
+        var filteredPageRequest = new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, null, 10,
+                EN_LANGUAGE_CODE, filter, true);
+        var pageRequest = new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, null, 10, EN_LANGUAGE_CODE,
+                NO_FILTER, true);
+
+        assertThat(repository.findFeatureFacets(filteredPageRequest))
+                .hasSize(4)
+                .allMatch(facet -> facet.count() == 1)
+                .contains(new ProductFeatureFacetDto("screen", "13.3 (1920x1080) OLED", 1));
+        assertThat(repository.findFeatureFacets(pageRequest))
+                .contains(new ProductFeatureFacetDto("screen", "13.3 (2560x1600) IPS", 1),
+                        new ProductFeatureFacetDto("screen", "13.3 (1920x1080) OLED", 1))
+                .noneMatch(facet -> facet.name().equals("экран"));
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("should insert all products with children in batches")
+    void shouldInsertAllProductsWithChildrenInBatches() {
+        Map<String, Long> languageIdsByCode = em.getEntityManager()
+                .createQuery("select l from Language l", Language.class)
+                .getResultStream()
+                .collect(toMap(Language::getCode, Language::getId));
+        var ruDescription = new ProductDescriptionRequestDto(null, RU_LANGUAGE_CODE, "заголовок", "описание");
+        var enFeature = new ProductFeatureRequestDto(null, EN_LANGUAGE_CODE, "screen", "13.3");
+        List<ProductRequestDto> products = List.of(
+                new ProductRequestDto(BigDecimal.ONE, List.of(ruDescription), List.of(enFeature)),
+                new ProductRequestDto(BigDecimal.TEN, List.of(ruDescription), List.of(enFeature, enFeature)));
+
+        List<Long> ids = repository.insertAll(products, languageIdsByCode);
+
+        assertThat(ids).containsExactly(ids.get(0), ids.get(0) + 1);
+        assertThat(repository.findViewsByIdIn(ids, null)).hasSize(2)
+                .allSatisfy(view -> {
+                    assertThat(view.version()).isZero();
+                    assertThat(view.descriptions()).extracting(ProductDescriptionResponseDto::title)
+                            .containsExactly("заголовок");
+                })
+                .anySatisfy(view -> {
+                    assertThat(view.price()).isEqualByComparingTo(BigDecimal.TEN);
+                    assertThat(view.features()).hasSize(2);
+                });
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("should update prices of products with expected versions only")
+    void shouldUpdatePricesOfProductsWithExpectedVersionsOnly() {
+        List<Product> products = em.getEntityManager()
+                .createQuery("select p from Product p order by p.id", Product.class)
+                .setMaxResults(2)
+                .getResultList();
+        var product = products.get(0);
+        var conflictedProduct = products.get(1);
+        List<ProductPriceRequestDto> prices = List.of(
+                new ProductPriceRequestDto(product.getId(), new BigDecimal("99.90"), product.getVersion()),
+                new ProductPriceRequestDto(conflictedProduct.getId(), BigDecimal.ONE,
+                        conflictedProduct.getVersion() + 1),
+                new ProductPriceRequestDto(Long.MAX_VALUE, BigDecimal.ONE, 0));
+
+        Map<Long, Integer> versionsById = repository.updatePrices(prices);
+
+        assertThat(versionsById).containsExactly(Map.entry(product.getId(), product.getVersion() + 1));
+        assertThat(repository.findViewById(product.getId(), null)).isNotEmpty()
+                .get()
+                .satisfies(view -> assertThat(view.price()).isEqualByComparingTo("99.90"));
+        assertThat(repository.findIdsByIdIn(List.of(conflictedProduct.getId(), Long.MAX_VALUE)))
+                .containsExactly(conflictedProduct.getId());
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("should adjust prices of products by percent")
+    void shouldAdjustPricesOfProductsByPercent() {
+        var product = em.getEntityManager()
+                .createQuery("select p from Product p order by p.id", Product.class)
+                .setMaxResults(1)
+                .getSingleResult();
+        var expectedPrice = product.getPrice()
+                .multiply(new BigDecimal("0.9"));
+
+        Map<Long, Integer> versionsById = repository.adjustPrices(List.of(product.getId()), BigDecimal.TEN.negate());
+
+        assertThat(versionsById).containsExactly(Map.entry(product.getId(), product.getVersion() + 1));
+        assertThat(repository.findViewById(product.getId(), null)).isNotEmpty()
+                .get()
+                .satisfies(view -> assertThat(view.price()).isEqualByComparingTo(expectedPrice));
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("should patch product with expected version only")
+    void shouldPatchProductWithExpectedVersionOnly() {
+        var product = em.getEntityManager()
+                .createQuery("select p from Product p order by p.id", Product.class)
+                .setMaxResults(1)
+                .getSingleResult();
+        var version = product.getVersion();
+
+        assertThat(repository.patch(product.getId(), version + 1, BigDecimal.TEN)).isEmpty();
+        assertThat(repository.patch(product.getId(), version, null)).contains(version + 1);
+        assertThat(repository.patch(product.getId(), null, BigDecimal.TEN)).contains(version + 2);
+        assertThat(repository.findViewById(product.getId(), null)).isNotEmpty()
+                .get()
+                .satisfies(view -> assertThat(view.price()).isEqualByComparingTo(BigDecimal.TEN));
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("should patch only given fields of product children")
+    void shouldPatchOnlyGivenFieldsOfProductChildren() {
+        var product = em.getEntityManager()
+                .createQuery("select p from Product p order by p.id", Product.class)
+                .setMaxResults(1)
+                .getSingleResult();
+        var view = makeExpectedProduct(product);
+        var feature = view.features().get(0);
+        var description = view.descriptions().get(0);
+        Map<String, Long> languageIdsByCode = Map.of(feature.language().code(), feature.language().id());
+
+        var updatedFeaturesCount = repository.updateFeatures(product.getId(),
+                Map.of(feature.id(), new ProductFeaturePatchDto(null, null, "patched")), languageIdsByCode);
+        var updatedDescriptionsCount = repository.updateDescriptions(product.getId(),
+                Map.of(description.id(), new ProductDescriptionPatchDto(null, "patched", null)), languageIdsByCode);
+        em.clear();
+
+        assertThat(updatedFeaturesCount).isEqualTo(1);
+        assertThat(updatedDescriptionsCount).isEqualTo(1);
+        assertThat(repository.findViewById(product.getId(), null)).isNotEmpty()
+                .get()
+                .satisfies(patchedView -> {
+                    assertThat(patchedView.features()).contains(new ProductFeatureResponseDto(feature.id(),
+                            feature.language(), feature.name(), "patched"));
+                    assertThat(patchedView.descriptions()).contains(new ProductDescriptionResponseDto(
+                            description.id(), description.language(), "patched", description.description()));
+                });
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("should not touch children of another product")
+    void shouldNotTouchChildrenOfAnotherProduct() {
+        List<Product> products = em.getEntityManager()
+                .createQuery("select p from Product p order by p.id", Product.class)
+                .setMaxResults(2)
+                .getResultList();
+        var otherView = makeExpectedProduct(products.get(1));
+        var featureId = otherView.features().get(0).id();
+        var descriptionId = otherView.descriptions().get(0).id();
+        var productId = products.get(0).getId();
+        Map<Long, ProductFeaturePatchDto> features = new HashMap<>();
+
+        features.put(featureId, new ProductFeaturePatchDto(null, "patched", null));
+
+        assertThat(repository.updateFeatures(productId, features, Map.of())).isZero();
+        assertThat(repository.deleteFeatures(productId, Set.of(featureId))).isZero();
+        assertThat(repository.deleteDescriptions(productId, Set.of(descriptionId))).isZero();
+        assertThat(repository.deleteDescriptions(products.get(1).getId(), Set.of(descriptionId))).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("should find product with descriptions when all of them were removed")
+    void shouldFindProductWithDescriptionsWhenAllOfThemWereRemoved() {
+        var product = em.getEntityManager()
+                .createQuery("select p from Product p order by p.id", Product.class)
+                .setMaxResults(1)
+                .getSingleResult();
+        var productId = product.getId();
+        Set<Long> descriptionIds = makeExpectedProduct(product).descriptions()
+                .stream()
+                .map(ProductDescriptionResponseDto::id)
+                .collect(toSet());
+
+        assertThat(repository.deleteDescriptions(productId, descriptionIds)).isEqualTo(descriptionIds.size());
+        em.clear();
+        assertThat(repository.findByIdWithDescriptions(productId))
+                .hasValueSatisfying(foundProduct -> assertThat(foundProduct.getDescriptions()).isEmpty());
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("should delete products with children by ids")
+    void shouldDeleteProductsWithChildrenByIds() {
+        var product = em.getEntityManager()
+                .createQuery("select p from Product p order by p.id", Product.class)
+                .setMaxResults(1)
+                .getSingleResult();
+        var productId = product.getId();
+
+        assertThat(repository.deleteByIdIn(List.of(productId, Long.MAX_VALUE))).containsExactly(productId);
+        em.clear();
+        assertThat(repository.findViewById(productId, null)).isEmpty();
+        assertThat(em.getEntityManager()
+                .createQuery("select count(f) from ProductFeature f where f.product.id = :id", Long.class)
+                .setParameter("id", productId)
+                .getSingleResult()).isZero();
+        assertThat(repository.deleteByIdIn(List.of(productId))).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("should search products once by best description with stemming of its language")
+    void shouldSearchProductsOnceByBestDescriptionWithStemmingOfItsLanguage() {
+        var product = new Product();
+        var language = em.getEntityManager()
+                .createQuery("select l from Language l where l.code = :code", Language.class)
+                .setParameter("code", EN_LANGUAGE_CODE)
+                .getSingleResult();
+        var description = new ProductDescription();
+        var otherDescription = new ProductDescription();
+
+        description.setLanguage(language);
+        description.setTitle("Quietest mechanical keyboards");
+        description.setDescription("Switches are lubricated");
+        otherDescription.setLanguage(language);
+        otherDescription.setTitle("Office chair");
+        otherDescription.setDescription("Goes well with mechanical keyboards");
+        product.setPrice(BigDecimal.ONE);
+        product.addDescription(description);
+        product.addDescription(otherDescription);
+        em.persistAndFlush(product);
+
+        List<ProductSearchHitDto> hits = repository.search(
+                new ProductsSearchRequestDto("keyboard mechanic", EN_LANGUAGE_CODE, 0, 10), 0, 10);
+
+        assertThat(hits).extracting(ProductSearchHitDto::descriptionId)
+                .containsExactly(description.getId());
+        assertThat(hits.get(0).productId()).isEqualTo(product.getId());
+        assertThat(hits.get(0).language().code()).isEqualTo(EN_LANGUAGE_CODE);
+        assertThat(repository.search(new ProductsSearchRequestDto("keyboard", RU_LANGUAGE_CODE, 0, 10), 0, 10))
+                .isEmpty();
+        assertThat(repository.search(new ProductsSearchRequestDto("keyboard", null, 0, 10), 1, 10))
+                .isEmpty();
+    }
+
+    private ProductResponseDto filterByLanguage(ProductResponseDto product, String languageCode) {
+        List<ProductDescriptionResponseDto> descriptions = product.descriptions()
+                .stream()
+                .filter(description -> description.language().code().equals(languageCode))
+                .toList();
+        List<ProductFeatureResponseDto> features = product.features()
+                .stream()
+                .filter(feature -> feature.language().code().equals(languageCode))
+                .toList();
+
+        return new ProductResponseDto(product.id(), product.price(), product.version(), descriptions, features);
+    }
+
+    private ProductResponseDto makeExpectedProduct(Product product) {
+        var entityManager = em.getEntityManager();
+        List<ProductDescriptionResponseDto> descriptions = entityManager
+                .createQuery("select d from ProductDescription d join fetch d.language " +
+                        "where d.product.id = :id order by d.id", ProductDescription.class)
+                .setParameter("id", product.getId())
+                .getResultStream()
+                .map(description -> new ProductDescriptionResponseDto(description.getId(),
+                        new LanguageResponseDto(description.getLanguage().getId(),
+                                description.getLanguage().getCode()),
+                        description.getTitle(), description.getDescription()))
+                .toList();
+        List<ProductFeatureResponseDto> features = entityManager
+                .createQuery("select f from ProductFeature f join fetch f.language " +
+                        "where f.product.id = :id order by f.id", ProductFeature.class)
+                .setParameter("id", product.getId())
+                .getResultStream()
+                .map(feature -> new ProductFeatureResponseDto(feature.getId(),
+                        new LanguageResponseDto(feature.getLanguage().getId(), feature.getLanguage().getCode()),
+                        feature.getName(), feature.getValue()))
+                .toList();
+
+        return new ProductResponseDto(product.getId(), product.getPrice(), product.getVersion(), descriptions,
+                features);
+    }
+}
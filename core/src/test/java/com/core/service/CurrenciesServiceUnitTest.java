@@ -2,6 +2,8 @@ package com.core.service;
 
 import com.core.dto.CurrencyRequestDto;
 import com.core.dto.CurrencyResponseDto;
+import com.core.dto.VersionedDto;
+import com.core.event.CurrenciesChangedEvent;
 import com.core.exception.NotFoundResourceException;
 import com.core.exception.UniqueConstraintException;
 import com.core.model.Currency;
@@ -14,9 +16,13 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,16 +38,19 @@ class CurrenciesServiceUnitTest {
     private static final String USD_CODE = "USD";
     private static final String GBP_CODE = "GBP";
     private static final long FIRST_CURRENCY_ID = 1L;
+    private static final long SECOND_CURRENCY_ID = 2L;
 
     private CurrenciesRepository repository;
+    private ApplicationEventPublisher eventPublisher;
     private CurrenciesService service;
     private InOrder inOrder;
 
     @BeforeEach
     void setUp() {
         this.repository = mock(CurrenciesRepository.class);
-        this.service = new CurrenciesServiceImpl(repository);
-        this.inOrder = inOrder(this.repository);
+        this.eventPublisher = mock(ApplicationEventPublisher.class);
+        this.service = new CurrenciesServiceImpl(repository, eventPublisher);
+        this.inOrder = inOrder(this.repository, this.eventPublisher);
     }
 
     @ParameterizedTest
@@ -66,6 +75,8 @@ class CurrenciesServiceUnitTest {
                 .isEqualTo(expectedCurrency);
         inOrder.verify(repository, times(1))
                 .save(any());
+        inOrder.verify(eventPublisher, times(1))
+                .publishEvent(new CurrenciesChangedEvent(FIRST_CURRENCY_ID, Set.of(requestDto.code())));
     }
 
     @Test
@@ -93,6 +104,8 @@ class CurrenciesServiceUnitTest {
         foundedCurrency.setId(FIRST_CURRENCY_ID);
         foundedCurrency.setCode(currencyCode);
         foundedCurrency.setMultiplier(BigDecimal.ONE);
+        foundedCurrency.setVersion(2);
+        foundedCurrency.setLastUpdateDate(LocalDateTime.of(2026, 10, 18, 12, 0));
 
         when(repository.findByCode(currencyCode))
                 .thenReturn(Optional.of(foundedCurrency));
@@ -101,10 +114,7 @@ class CurrenciesServiceUnitTest {
                 foundedCurrency.getMultiplier());
 
         assertThat(service.getByCode(currencyCode))
-                .isNotEmpty()
-                .usingFieldByFieldValueComparator()
-                .get()
-                .isEqualTo(expectedCurrency);
+                .contains(new VersionedDto<>(expectedCurrency, 2, foundedCurrency.getLastUpdateDate()));
         inOrder.verify(repository, times(1))
                 .findByCode(currencyCode);
     }
@@ -121,15 +131,11 @@ class CurrenciesServiceUnitTest {
 
         when(repository.findById(FIRST_CURRENCY_ID))
                 .thenReturn(Optional.of(foundedCurrency));
-
-        foundedCurrency.setCode(requestDto.code());
-        foundedCurrency.setMultiplier(requestDto.multiplier());
-
         when(repository.save(foundedCurrency))
                 .thenReturn(foundedCurrency);
 
-        var expectedCurrency = new CurrencyResponseDto(FIRST_CURRENCY_ID, foundedCurrency.getCode(),
-                foundedCurrency.getMultiplier());
+        var expectedCurrency = new CurrencyResponseDto(FIRST_CURRENCY_ID, requestDto.code(),
+                requestDto.multiplier());
 
         assertThat(service.update(FIRST_CURRENCY_ID, requestDto))
                 .isNotNull()
@@ -139,6 +145,9 @@ class CurrenciesServiceUnitTest {
                 .findById(FIRST_CURRENCY_ID);
         inOrder.verify(repository, times(1))
                 .save(foundedCurrency);
+        inOrder.verify(eventPublisher, times(1))
+                .publishEvent(new CurrenciesChangedEvent(FIRST_CURRENCY_ID,
+                        Set.copyOf(List.of(RUB_CODE, requestDto.code()))));
     }
 
     @Test
@@ -156,8 +165,27 @@ class CurrenciesServiceUnitTest {
     void shouldThrowUniqueConstraintExceptionWhenCurrencyForUpdateHasNotUniqueCode() {
         var rub = new CurrencyRequestDto(RUB_CODE, BigDecimal.ONE);
 
+        when(repository.findById(FIRST_CURRENCY_ID))
+                .thenReturn(Optional.of(makeCurrency(FIRST_CURRENCY_ID, USD_CODE, 0)));
         when(repository.existsByCode(RUB_CODE)).thenReturn(true);
         assertThrows(UniqueConstraintException.class, () -> service.update(FIRST_CURRENCY_ID, rub));
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("should update multiplier of currency with its own code")
+    void shouldUpdateMultiplierOfCurrencyWithItsOwnCode() {
+        var currency = makeCurrency(FIRST_CURRENCY_ID, RUB_CODE, 0);
+        var rub = new CurrencyRequestDto(RUB_CODE, BigDecimal.TEN);
+
+        when(repository.findById(FIRST_CURRENCY_ID)).thenReturn(Optional.of(currency));
+        when(repository.existsByCode(RUB_CODE)).thenReturn(true);
+        when(repository.save(currency)).thenReturn(currency);
+
+        assertThat(service.update(FIRST_CURRENCY_ID, rub).multiplier()).isEqualTo(BigDecimal.TEN);
+
+        verify(repository, never()).existsByCode(any());
     }
 
     @Test
@@ -178,21 +206,74 @@ class CurrenciesServiceUnitTest {
     @Test
     @DisplayName("should delete currency without errors")
     void shouldDeleteCurrencyWithoutErrors() {
-        when(repository.existsById(FIRST_CURRENCY_ID)).thenReturn(true);
+        var currency = makeCurrency(FIRST_CURRENCY_ID, RUB_CODE, 0);
+
+        when(repository.findById(FIRST_CURRENCY_ID)).thenReturn(Optional.of(currency));
 
         assertDoesNotThrow(() -> service.deleteById(FIRST_CURRENCY_ID));
 
         inOrder.verify(repository, times(1))
-                .existsById(FIRST_CURRENCY_ID);
+                .findById(FIRST_CURRENCY_ID);
         inOrder.verify(repository, times(1))
-                .deleteById(FIRST_CURRENCY_ID);
+                .delete(currency);
+        inOrder.verify(eventPublisher, times(1))
+                .publishEvent(new CurrenciesChangedEvent(FIRST_CURRENCY_ID, Set.of(RUB_CODE)));
     }
 
     @Test
     @DisplayName("should throw NotFoundResourceException when currency for delete not found")
     void shouldThrowNotFoundResourceExceptionWhenCurrencyForDeleteNotFound() {
-        when(repository.existsById(FIRST_CURRENCY_ID)).thenReturn(false);
+        when(repository.findById(FIRST_CURRENCY_ID)).thenReturn(Optional.empty());
         assertThrows(NotFoundResourceException.class, () -> service.deleteById(FIRST_CURRENCY_ID));
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("should return all currencies with version changed by every change of table")
+    void shouldReturnAllCurrenciesWithVersionChangedByEveryChangeOfTable() {
+        var rub = makeCurrency(FIRST_CURRENCY_ID, RUB_CODE, 0);
+        var usd = makeCurrency(SECOND_CURRENCY_ID, USD_CODE, 0);
+        var updatedUsd = makeCurrency(SECOND_CURRENCY_ID, USD_CODE, 1);
+
+        when(repository.findAllByOrderByIdAsc()).thenReturn(List.of(rub, usd))
+                .thenReturn(List.of(rub, updatedUsd))
+                .thenReturn(List.of(rub))
+                .thenReturn(List.of(rub, usd));
+
+        var currencies = service.getAll();
+        var updatedCurrencies = service.getAll();
+        var deletedCurrencies = service.getAll();
+
+        assertThat(currencies.currencies()).extracting(CurrencyResponseDto::code)
+                .containsExactly(RUB_CODE, USD_CODE);
+        assertThat(List.of(currencies.version(), updatedCurrencies.version(), deletedCurrencies.version()))
+                .doesNotHaveDuplicates();
+        assertThat(service.getAll().version()).isEqualTo(currencies.version());
+    }
+
+    @Test
+    @DisplayName("should change version of all currencies when deleted currency replaced by new one")
+    void shouldChangeVersionOfAllCurrenciesWhenDeletedCurrencyReplacedByNewOne() {
+        var rub = makeCurrency(FIRST_CURRENCY_ID, RUB_CODE, 1);
+        var usd = makeCurrency(SECOND_CURRENCY_ID, USD_CODE, 0);
+        var newUsd = makeCurrency(SECOND_CURRENCY_ID + 1, USD_CODE, 1);
+
+        when(repository.findAllByOrderByIdAsc()).thenReturn(List.of(rub, usd))
+                .thenReturn(List.of(makeCurrency(FIRST_CURRENCY_ID, RUB_CODE, 0), newUsd));
+
+        assertThat(service.getAll().version()).isNotEqualTo(service.getAll().version());
+    }
+
+    private Currency makeCurrency(long id, String code, int version) {
+        var currency = new Currency();
+
+        currency.setId(id);
+        currency.setCode(code);
+        currency.setMultiplier(BigDecimal.ONE);
+        currency.setVersion(version);
+
+        return currency;
     }
 
     private static Stream<CurrencyRequestDto> makeRequestCurrencies() {
@@ -0,0 +1,164 @@
+package com.core.service;
+
+import com.core.cache.CurrencyRatesHistory;
+import com.core.dto.CurrencyRateRequestDto;
+import com.core.event.CurrencyRatesUpdatedEvent;
+import com.core.repository.CurrenciesRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("currency rates service")
+class CurrencyRatesServiceUnitTest {
+
+    private static final String RATES_METRIC = "core.currencies.rates";
+    private static final String RUB_CODE = "RUB";
+    private static final String USD_CODE = "USD";
+    private static final String EUR_CODE = "EUR";
+    private static final int MAX_FLUSH_ATTEMPTS = 5;
+
+    private CurrenciesRepository repository;
+    private ApplicationEventPublisher eventPublisher;
+    private PlatformTransactionManager transactionManager;
+    private MeterRegistry meterRegistry;
+    private CurrencyRatesService service;
+
+    @BeforeEach
+    void setUp() {
+        this.repository = mock(CurrenciesRepository.class);
+        this.eventPublisher = mock(ApplicationEventPublisher.class);
+        this.transactionManager = mock(PlatformTransactionManager.class);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.service = new CurrencyRatesServiceImpl(repository, mock(CurrencyRatesHistory.class), eventPublisher,
+                transactionManager, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should write only latest multiplier of every code in one upsert per flush")
+    void shouldWriteOnlyLatestMultiplierOfEveryCodeInOneUpsertPerFlush() {
+        when(repository.upsertRates(any())).thenReturn(2);
+
+        service.updateAll(List.of(new CurrencyRateRequestDto(RUB_CODE, BigDecimal.ONE),
+                new CurrencyRateRequestDto(USD_CODE, BigDecimal.ONE)));
+        service.updateAll(List.of(new CurrencyRateRequestDto(RUB_CODE, BigDecimal.TEN)));
+        service.flush();
+
+        verify(repository, times(1))
+                .upsertRates(Map.of(RUB_CODE, BigDecimal.TEN, USD_CODE, BigDecimal.ONE));
+        verify(eventPublisher, times(1))
+                .publishEvent(new CurrencyRatesUpdatedEvent(Set.of(RUB_CODE, USD_CODE)));
+        verify(transactionManager, times(1))
+                .commit(any());
+        assertThat(meterRegistry.counter(RATES_METRIC, "stage", "received").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter(RATES_METRIC, "stage", "written").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should not write when no rates received since last flush")
+    void shouldNotWriteWhenNoRatesReceivedSinceLastFlush() {
+        service.updateAll(List.of(new CurrencyRateRequestDto(RUB_CODE, BigDecimal.ONE)));
+        service.flush();
+        service.flush();
+
+        verify(repository, times(1))
+                .upsertRates(any());
+        verify(eventPublisher, times(1))
+                .publishEvent(any(CurrencyRatesUpdatedEvent.class));
+    }
+
+    @Test
+    @DisplayName("should keep rates for next flush when write failed")
+    void shouldKeepRatesForNextFlushWhenWriteFailed() {
+        when(repository.upsertRates(any())).thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(2);
+
+        service.updateAll(List.of(new CurrencyRateRequestDto(RUB_CODE, BigDecimal.ONE),
+                new CurrencyRateRequestDto(USD_CODE, BigDecimal.ONE)));
+        service.flush();
+        service.updateAll(List.of(new CurrencyRateRequestDto(RUB_CODE, BigDecimal.TEN)));
+        service.flush();
+
+        verify(repository, times(1))
+                .upsertRates(Map.of(RUB_CODE, BigDecimal.ONE, USD_CODE, BigDecimal.ONE));
+        verify(repository, times(1))
+                .upsertRates(Map.of(RUB_CODE, BigDecimal.TEN, USD_CODE, BigDecimal.ONE));
+        verify(transactionManager, times(1))
+                .rollback(any());
+    }
+
+    @Test
+    @DisplayName("should keep rates for next flush when publishing of update failed")
+    void shouldKeepRatesForNextFlushWhenPublishingOfUpdateFailed() {
+        when(repository.upsertRates(any())).thenReturn(1);
+        doThrow(new IllegalStateException("listener failed")).doNothing()
+                .when(eventPublisher)
+                .publishEvent(any(CurrencyRatesUpdatedEvent.class));
+
+        service.updateAll(List.of(new CurrencyRateRequestDto(RUB_CODE, BigDecimal.ONE)));
+        service.flush();
+        service.flush();
+
+        verify(repository, times(2))
+                .upsertRates(Map.of(RUB_CODE, BigDecimal.ONE));
+        verify(transactionManager, times(1))
+                .rollback(any());
+        verify(transactionManager, times(1))
+                .commit(any());
+    }
+
+    @Test
+    @DisplayName("should drop only rejected rate and write others when batch violates constraint")
+    void shouldDropOnlyRejectedRateAndWriteOthersWhenBatchViolatesConstraint() {
+        when(repository.upsertRates(any())).thenAnswer(invocation -> {
+            Map<String, BigDecimal> multipliersByCode = invocation.getArgument(0);
+
+            if (multipliersByCode.containsKey(USD_CODE)) {
+                throw new DataIntegrityViolationException("numeric field overflow");
+            }
+
+            return multipliersByCode.size();
+        });
+
+        service.updateAll(List.of(new CurrencyRateRequestDto(RUB_CODE, BigDecimal.ONE),
+                new CurrencyRateRequestDto(USD_CODE, BigDecimal.ONE),
+                new CurrencyRateRequestDto(EUR_CODE, BigDecimal.ONE)));
+        service.flush();
+        service.flush();
+
+        verify(repository, times(1))
+                .upsertRates(Map.of(USD_CODE, BigDecimal.ONE));
+        assertThat(meterRegistry.counter(RATES_METRIC, "stage", "written").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter(RATES_METRIC, "stage", "dropped").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should drop rates when write failed on every flush attempt")
+    void shouldDropRatesWhenWriteFailedOnEveryFlushAttempt() {
+        when(repository.upsertRates(any())).thenThrow(new QueryTimeoutException("timeout"));
+
+        service.updateAll(List.of(new CurrencyRateRequestDto(RUB_CODE, BigDecimal.ONE)));
+
+        for (int i = 0; i < MAX_FLUSH_ATTEMPTS + 1; i++) {
+            service.flush();
+        }
+
+        verify(repository, times(MAX_FLUSH_ATTEMPTS))
+                .upsertRates(Map.of(RUB_CODE, BigDecimal.ONE));
+        assertThat(meterRegistry.counter(RATES_METRIC, "stage", "dropped").count()).isEqualTo(1);
+    }
+}
@@ -2,6 +2,8 @@ package com.core.service;
 
 import com.core.dto.LanguageRequestDto;
 import com.core.dto.LanguageResponseDto;
+import com.core.dto.VersionedDto;
+import com.core.event.LanguagesChangedEvent;
 import com.core.exception.NotFoundResourceException;
 import com.core.exception.UniqueConstraintException;
 import com.core.model.Language;
@@ -14,7 +16,9 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -34,14 +38,16 @@ class LanguagesServiceUnitTest {
     private static final long SECOND_LANGUAGE_ID = 2L;
 
     private LanguagesRepository repository;
+    private ApplicationEventPublisher eventPublisher;
     private LanguagesService service;
     private InOrder inOrder;
 
     @BeforeEach
     void setUp() {
         this.repository = mock(LanguagesRepository.class);
-        this.service = new LanguagesServiceImpl(repository);
-        this.inOrder = inOrder(this.repository);
+        this.eventPublisher = mock(ApplicationEventPublisher.class);
+        this.service = new LanguagesServiceImpl(repository, eventPublisher);
+        this.inOrder = inOrder(this.repository, this.eventPublisher);
     }
 
     @ParameterizedTest
@@ -65,6 +71,8 @@ class LanguagesServiceUnitTest {
                 .existsByCode(requestDto.code());
         inOrder.verify(repository, times(1))
                 .save(any());
+        inOrder.verify(eventPublisher, times(1))
+                .publishEvent(new LanguagesChangedEvent(FIRST_LANGUAGE_ID));
     }
 
     @Test
@@ -91,16 +99,15 @@ class LanguagesServiceUnitTest {
 
         foundedLanguage.setId(FIRST_LANGUAGE_ID);
         foundedLanguage.setCode(code);
+        foundedLanguage.setVersion(2);
+        foundedLanguage.setLastUpdateDate(LocalDateTime.of(2026, 10, 18, 12, 0));
 
         when(repository.findByCode(code)).thenReturn(Optional.of(foundedLanguage));
 
         var expectedLanguage = new LanguageResponseDto(foundedLanguage.getId(), foundedLanguage.getCode());
 
         assertThat(service.getByCode(code))
-                .isNotEmpty()
-                .usingFieldByFieldValueComparator()
-                .get()
-                .isEqualTo(expectedLanguage);
+                .contains(new VersionedDto<>(expectedLanguage, 2, foundedLanguage.getLastUpdateDate()));
         inOrder.verify(repository, times(1))
                 .findByCode(code);
     }
@@ -160,6 +167,8 @@ class LanguagesServiceUnitTest {
                 .findById(FIRST_LANGUAGE_ID);
         inOrder.verify(repository, times(1))
                 .save(foundedLanguage);
+        inOrder.verify(eventPublisher, times(1))
+                .publishEvent(new LanguagesChangedEvent(FIRST_LANGUAGE_ID));
     }
 
     @Test
@@ -202,6 +211,8 @@ class LanguagesServiceUnitTest {
                 .existsById(FIRST_LANGUAGE_ID);
         inOrder.verify(repository, times(1))
                 .deleteById(FIRST_LANGUAGE_ID);
+        inOrder.verify(eventPublisher, times(1))
+                .publishEvent(new LanguagesChangedEvent(FIRST_LANGUAGE_ID));
     }
 
     @Test
@@ -209,6 +220,41 @@ class LanguagesServiceUnitTest {
     void shouldThrowNotFoundResourceExceptionWhenLanguageForDeleteNotFound() {
         when(repository.existsById(FIRST_LANGUAGE_ID)).thenReturn(false);
         assertThrows(NotFoundResourceException.class, () -> service.deleteById(FIRST_LANGUAGE_ID));
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("should return all languages with version changed by every change of table")
+    void shouldReturnAllLanguagesWithVersionChangedByEveryChangeOfTable() {
+        var ru = makeLanguage(FIRST_LANGUAGE_ID, RU_CODE, 0);
+        var en = makeLanguage(SECOND_LANGUAGE_ID, EN_CODE, 0);
+        var updatedEn = makeLanguage(SECOND_LANGUAGE_ID, EN_CODE, 1);
+
+        when(repository.findAllByOrderByIdAsc()).thenReturn(List.of(ru, en))
+                .thenReturn(List.of(ru, updatedEn))
+                .thenReturn(List.of(ru))
+                .thenReturn(List.of(ru, en));
+
+        var languages = service.getAll();
+        var updatedLanguages = service.getAll();
+        var deletedLanguages = service.getAll();
+
+        assertThat(languages.languages()).extracting(LanguageResponseDto::code)
+                .containsExactly(RU_CODE, EN_CODE);
+        assertThat(List.of(languages.version(), updatedLanguages.version(), deletedLanguages.version()))
+                .doesNotHaveDuplicates();
+        assertThat(service.getAll().version()).isEqualTo(languages.version());
+    }
+
+    private Language makeLanguage(long id, String code, int version) {
+        var language = new Language();
+
+        language.setId(id);
+        language.setCode(code);
+        language.setVersion(version);
+
+        return language;
     }
 
     private static Stream<LanguageRequestDto> makeRequestLanguages() {
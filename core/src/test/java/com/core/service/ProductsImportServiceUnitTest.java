@@ -0,0 +1,184 @@
+package com.core.service;
+
+import com.core.cache.LanguagesCache;
+import com.core.dto.product.*;
+import com.core.model.Language;
+import com.core.repository.product.ProductsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.validation.Validation;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("products import service")
+class ProductsImportServiceUnitTest {
+
+    private static final int CHUNK_SIZE = 2;
+    private static final String RU_LANGUAGE_CODE = "RU";
+    private static final String EN_LANGUAGE_CODE = "EN";
+    private static final String UNKNOWN_LANGUAGE_CODE = "DE";
+    private static final long FIRST_LANGUAGE_ID = 1L;
+    private static final long SECOND_LANGUAGE_ID = 2L;
+
+    private ProductsRepository productsRepository;
+    private LanguagesCache languagesCache;
+    private PlatformTransactionManager transactionManager;
+    private ProductsImportService productsImportService;
+
+    @BeforeEach
+    void setUp() {
+        this.productsRepository = mock(ProductsRepository.class);
+        this.languagesCache = mock(LanguagesCache.class);
+        this.transactionManager = mock(PlatformTransactionManager.class);
+        this.productsImportService = new ProductsImportServiceImpl(productsRepository, languagesCache,
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, CHUNK_SIZE);
+
+        when(languagesCache.getAllByCodeIn(anyCollection())).thenReturn(Map.of(
+                RU_LANGUAGE_CODE, makeLanguage(FIRST_LANGUAGE_ID, RU_LANGUAGE_CODE),
+                EN_LANGUAGE_CODE, makeLanguage(SECOND_LANGUAGE_ID, EN_LANGUAGE_CODE)));
+    }
+
+    @Test
+    @DisplayName("should import products in chunks committed separately")
+    void shouldImportProductsInChunksCommittedSeparately() {
+        List<ProductRequestDto> products = List.of(makeProduct(RU_LANGUAGE_CODE), makeProduct(EN_LANGUAGE_CODE),
+                makeProduct(RU_LANGUAGE_CODE));
+        List<ProductImportLine> lines = List.of(new ProductImportLine(1, products.get(0), null),
+                new ProductImportLine(2, products.get(1), null), new ProductImportLine(3, products.get(2), null));
+        Map<String, Long> languageIdsByCode = Map.of(RU_LANGUAGE_CODE, FIRST_LANGUAGE_ID, EN_LANGUAGE_CODE,
+                SECOND_LANGUAGE_ID);
+
+        var report = productsImportService.importAll(lines.iterator());
+
+        assertThat(report).isEqualTo(new ProductsImportReportDto(3, 0, List.of()));
+        verify(languagesCache, times(2))
+                .getAllByCodeIn(anyCollection());
+        verify(productsRepository, times(1))
+                .insertAll(products.subList(0, 2), languageIdsByCode);
+        verify(productsRepository, times(1))
+                .insertAll(products.subList(2, 3), languageIdsByCode);
+        verify(transactionManager, times(2))
+                .commit(any());
+    }
+
+    @Test
+    @DisplayName("should report not readable and not valid lines")
+    void shouldReportNotReadableAndNotValidLines() {
+        var product = makeProduct(RU_LANGUAGE_CODE);
+        var notValidProduct = new ProductRequestDto(BigDecimal.valueOf(-1), List.of(), List.of());
+        List<ProductImportLine> lines = List.of(new ProductImportLine(1, null, "unexpected token"),
+                new ProductImportLine(2, notValidProduct, null), new ProductImportLine(3, product, null));
+
+        var report = productsImportService.importAll(lines.iterator());
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(2);
+        assertThat(report.errors()).extracting(ProductImportErrorDto::line)
+                .containsExactly(1L, 2L);
+        assertThat(report.errors().get(0).messages()).containsExactly("unexpected token");
+        assertThat(report.errors().get(1).messages()).hasSize(3);
+        verify(productsRepository, times(1))
+                .insertAll(eq(List.of(product)), anyMap());
+    }
+
+    @Test
+    @DisplayName("should report lines with unknown languages")
+    void shouldReportLinesWithUnknownLanguages() {
+        var product = makeProduct(RU_LANGUAGE_CODE);
+        List<ProductImportLine> lines = List.of(new ProductImportLine(1, makeProduct(UNKNOWN_LANGUAGE_CODE), null),
+                new ProductImportLine(2, product, null));
+
+        var report = productsImportService.importAll(lines.iterator());
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.errors()).containsExactly(new ProductImportErrorDto(1,
+                List.of("languages with code: [" + UNKNOWN_LANGUAGE_CODE + "] not found")));
+        verify(productsRepository, times(1))
+                .insertAll(eq(List.of(product)), anyMap());
+    }
+
+    @Test
+    @DisplayName("should report every line of chunk when chunk insert failed")
+    void shouldReportEveryLineOfChunkWhenChunkInsertFailed() {
+        List<ProductImportLine> lines = List.of(new ProductImportLine(1, makeProduct(RU_LANGUAGE_CODE), null),
+                new ProductImportLine(2, makeProduct(EN_LANGUAGE_CODE), null),
+                new ProductImportLine(3, makeProduct(EN_LANGUAGE_CODE), null));
+
+        when(productsRepository.insertAll(anyList(), anyMap()))
+                .thenThrow(new DataIntegrityViolationException("constraint violated"))
+                .thenReturn(List.of(3L));
+
+        var report = productsImportService.importAll(lines.iterator());
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(2);
+        assertThat(report.errors()).extracting(ProductImportErrorDto::line)
+                .containsExactly(1L, 2L);
+        verify(transactionManager, times(1))
+                .rollback(any());
+    }
+
+    @Test
+    @DisplayName("should continue import when chunk failed with unexpected error")
+    void shouldContinueImportWhenChunkFailedWithUnexpectedError() {
+        List<ProductImportLine> lines = List.of(new ProductImportLine(1, makeProduct(RU_LANGUAGE_CODE), null),
+                new ProductImportLine(2, makeProduct(EN_LANGUAGE_CODE), null),
+                new ProductImportLine(3, makeProduct(EN_LANGUAGE_CODE), null));
+
+        when(productsRepository.insertAll(anyList(), anyMap()))
+                .thenThrow(new IllegalStateException("unexpected"))
+                .thenReturn(List.of(3L));
+
+        var report = productsImportService.importAll(lines.iterator());
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(2);
+        assertThat(report.errors()).containsExactly(new ProductImportErrorDto(1, List.of("unexpected")),
+                new ProductImportErrorDto(2, List.of("unexpected")));
+    }
+
+    @Test
+    @DisplayName("should report every line of chunk when languages lookup failed")
+    void shouldReportEveryLineOfChunkWhenLanguagesLookupFailed() {
+        List<ProductImportLine> lines = List.of(new ProductImportLine(1, makeProduct(RU_LANGUAGE_CODE), null),
+                new ProductImportLine(2, makeProduct(EN_LANGUAGE_CODE), null),
+                new ProductImportLine(3, makeProduct(EN_LANGUAGE_CODE), null));
+
+        when(languagesCache.getAllByCodeIn(anyCollection()))
+                .thenThrow(new IllegalStateException("languages unavailable"))
+                .thenReturn(Map.of(EN_LANGUAGE_CODE, makeLanguage(SECOND_LANGUAGE_ID, EN_LANGUAGE_CODE)));
+
+        var report = productsImportService.importAll(lines.iterator());
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.errors()).extracting(ProductImportErrorDto::line)
+                .containsExactly(1L, 2L);
+        verify(productsRepository, times(1))
+                .insertAll(anyList(), anyMap());
+    }
+
+    private Language makeLanguage(long id, String code) {
+        var language = new Language();
+
+        language.setId(id);
+        language.setCode(code);
+
+        return language;
+    }
+
+    private ProductRequestDto makeProduct(String languageCode) {
+        var description = new ProductDescriptionRequestDto(null, languageCode, "title", "description");
+        var feature = new ProductFeatureRequestDto(null, languageCode, "name", "value");
+
+        return new ProductRequestDto(BigDecimal.ONE, List.of(description), List.of(feature));
+    }
+}
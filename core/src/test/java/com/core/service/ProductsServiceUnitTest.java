@@ -1,26 +1,43 @@
 package com.core.service;
 
+import com.core.cache.LanguagesCache;
+import com.core.cache.ProductsCache;
 import com.core.dto.LanguageResponseDto;
 import com.core.dto.product.*;
+import com.core.event.ProductDeletedEvent;
+import com.core.event.ProductSavedEvent;
+import com.core.event.ProductsChangedEvent;
+import com.core.event.ProductsDeletedEvent;
+import com.core.exception.InvalidCursorException;
+import com.core.exception.InvalidFilterException;
 import com.core.exception.NotFoundResourceException;
+import com.core.exception.VersionMismatchException;
 import com.core.model.Language;
 import com.core.model.product.Product;
 import com.core.model.product.ProductDescription;
 import com.core.model.product.ProductFeature;
-import com.core.repository.product.ProductFeaturesRepository;
 import com.core.repository.product.ProductsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import static java.util.Collections.emptyList;
@@ -56,6 +73,8 @@ class ProductsServiceUnitTest {
     private static final String ASUS_SCREEN_FEATURE_VALUE = "13.3 (1920x1080) OLED";
     private static final String ASUS_CPU_FEATURE_VALUE = "Intel Core i5 1135G7 (4x2400 МГц)";
     private static final long FIRST_PRODUCT_ID = 1L;
+    private static final long SECOND_PRODUCT_ID = 2L;
+    private static final long THIRD_PRODUCT_ID = 3L;
     private static final long FIRST_LANGUAGE_ID = 1L;
     private static final long FIRST_DESCRIPTION_ID = 1L;
     private static final long FIRST_FEATURE_ID = 1L;
@@ -64,27 +83,29 @@ class ProductsServiceUnitTest {
     private static final long SECOND_FEATURE_ID = 2L;
     private static final long THIRD_FEATURE_ID = 3L;
     private static final long FOURTH_FEATURE_ID = 4L;
+    private static final int CACHE_MAX_SIZE = 16;
+    private static final ProductsFilterDto NO_FILTER = new ProductsFilterDto(Map.of(), null, null);
 
     private ProductsRepository productsRepository;
-    private ProductFeaturesRepository featuresRepository;
-    private LanguagesService languagesService;
+    private LanguagesCache languagesCache;
+    private ProductsCache productsCache;
+    private ApplicationEventPublisher eventPublisher;
+    private MeterRegistry meterRegistry;
     private ProductsService productsService;
     private InOrder inOrder;
     private Map<String, Language> languagesByCode;
-    private List<LanguageResponseDto> languagesDto;
 
     @BeforeEach
     void setUp() {
         this.productsRepository = mock(ProductsRepository.class);
-        this.featuresRepository = mock(ProductFeaturesRepository.class);
-        this.languagesService = mock(LanguagesService.class);
-        this.productsService = new ProductsServiceImpl(productsRepository, featuresRepository, languagesService);
-        this.inOrder = inOrder(productsRepository, featuresRepository, languagesService);
+        this.languagesCache = mock(LanguagesCache.class);
+        this.productsCache = new ProductsCache(CACHE_MAX_SIZE);
+        this.eventPublisher = mock(ApplicationEventPublisher.class);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.productsService = new ProductsServiceImpl(productsRepository, languagesCache, productsCache,
+                eventPublisher, meterRegistry);
+        this.inOrder = inOrder(productsRepository, languagesCache, eventPublisher);
         this.languagesByCode = makeLanguagesByCode();
-        this.languagesDto = languagesByCode.values()
-                .stream()
-                .map(language -> new LanguageResponseDto(language.getId(), language.getCode()))
-                .toList();
     }
 
     @ParameterizedTest
@@ -100,10 +121,10 @@ class ProductsServiceUnitTest {
         List<ProductFeatureResponseDto> expectedFeatures = savedFeatures.stream()
                 .map(this::convertFeatureToDto)
                 .toList();
-        var expectedProduct = new ProductResponseDto(FIRST_PRODUCT_ID, requestDto.price(), expectedDescriptions,
+        var expectedProduct = new ProductResponseDto(FIRST_PRODUCT_ID, requestDto.price(), 0, expectedDescriptions,
                 expectedFeatures);
 
-        when(languagesService.getAllByCodeIn(anyCollection())).thenReturn(languagesDto);
+        when(languagesCache.getAllByCodeIn(anyCollection())).thenReturn(languagesByCode);
         when(productsRepository.save(any())).thenReturn(savedProduct);
 
         assertThat(productsService.create(requestDto))
@@ -111,10 +132,12 @@ class ProductsServiceUnitTest {
                 .usingRecursiveComparison()
                 .isEqualTo(expectedProduct);
 
-        inOrder.verify(languagesService, times(1))
+        inOrder.verify(languagesCache, times(1))
                 .getAllByCodeIn(anyCollection());
         inOrder.verify(productsRepository, times(1))
                 .save(any());
+        inOrder.verify(eventPublisher, times(1))
+                .publishEvent(new ProductSavedEvent(expectedProduct));
     }
 
     @Test
@@ -127,10 +150,24 @@ class ProductsServiceUnitTest {
     @MethodSource("makeRequestProducts")
     @DisplayName("should throw NouFoundResourceException when language by code not found")
     void shouldThrowNotFoundResourceExceptionForCreateWhenLanguageNotFound(ProductRequestDto requestDto) {
-        when(languagesService.getAllByCodeIn(anyCollection())).thenReturn(emptyList());
+        when(languagesCache.getAllByCodeIn(anyCollection())).thenReturn(Map.of());
         assertThrows(NotFoundResourceException.class, () -> productsService.create(requestDto));
     }
 
+    @Test
+    @DisplayName("should name only missing languages when language by code not found")
+    void shouldNameOnlyMissingLanguagesWhenLanguageByCodeNotFound() {
+        var requestDto = makeRequestProducts().findFirst()
+                .orElseThrow();
+
+        when(languagesCache.getAllByCodeIn(anyCollection()))
+                .thenReturn(Map.of(RU_LANGUAGE_CODE, languagesByCode.get(RU_LANGUAGE_CODE)));
+
+        var exception = assertThrows(NotFoundResourceException.class, () -> productsService.create(requestDto));
+
+        assertThat(exception.getMessage()).isEqualTo("languages with code: [" + EN_LANGUAGE_CODE + "] not found");
+    }
+
     @ParameterizedTest
     @ValueSource(longs = {Long.MIN_VALUE, Long.MAX_VALUE, 0})
     @DisplayName("should return product by id")
@@ -145,34 +182,291 @@ class ProductsServiceUnitTest {
                 .map(this::convertFeatureToDto)
                 .toList();
         var expectedProduct = new ProductResponseDto(foundedProduct.getId(), foundedProduct.getPrice(),
-                expectedDescriptions, expectedFeatures);
+                foundedProduct.getVersion(), expectedDescriptions, expectedFeatures);
 
-        when(productsRepository.findByIdWithDescriptions(id)).thenReturn(Optional.of(foundedProduct));
-        when(featuresRepository.findAllByProductId(id)).thenReturn(foundedProduct.getFeatures()
-                .stream());
+        when(productsRepository.findViewById(id, null)).thenReturn(Optional.of(expectedProduct));
 
-        assertThat(productsService.getById(id)).isNotEmpty()
+        assertThat(productsService.getById(id, null)).isNotEmpty()
                 .usingFieldByFieldValueComparator()
                 .get()
                 .isEqualTo(expectedProduct);
 
         inOrder.verify(productsRepository, times(1))
-                .findByIdWithDescriptions(id);
-        inOrder.verify(featuresRepository, times(1))
-                .findAllByProductId(id);
+                .findViewById(id, null);
+        assertThat(productsCache.get(id)).contains(expectedProduct);
+    }
+
+    @Test
+    @DisplayName("should return cached product by id without querying repository")
+    void shouldReturnCachedProductByIdWithoutQueryingRepository() {
+        var product = makeProductDto(FIRST_PRODUCT_ID, 1);
+
+        productsCache.put(product);
+
+        assertThat(productsService.getById(FIRST_PRODUCT_ID, null)).contains(product);
+
+        verifyNoInteractions(productsRepository);
+    }
+
+    @Test
+    @DisplayName("should return cached product version without querying repository")
+    void shouldReturnCachedProductVersionWithoutQueryingRepository() {
+        productsCache.put(makeProductDto(FIRST_PRODUCT_ID, 2));
+
+        assertThat(productsService.getVersionById(FIRST_PRODUCT_ID)).contains(2);
+
+        verifyNoInteractions(productsRepository);
+    }
+
+    @Test
+    @DisplayName("should return product version from repository when product not cached")
+    void shouldReturnProductVersionFromRepositoryWhenProductNotCached() {
+        when(productsRepository.findVersionById(FIRST_PRODUCT_ID)).thenReturn(Optional.of(2));
+
+        assertThat(productsService.getVersionById(FIRST_PRODUCT_ID)).contains(2);
+
+        inOrder.verify(productsRepository, times(1))
+                .findVersionById(FIRST_PRODUCT_ID);
+    }
+
+    @Test
+    @DisplayName("should filter cached product by language")
+    void shouldFilterCachedProductByLanguage() {
+        var product = makeProductDto(FIRST_PRODUCT_ID, 1);
+
+        productsCache.put(product);
+
+        assertThat(productsService.getById(FIRST_PRODUCT_ID, EN_LANGUAGE_CODE)).isNotEmpty()
+                .get()
+                .satisfies(foundedProduct -> {
+                    assertThat(foundedProduct.descriptions()).extracting(description -> description.language().code())
+                            .containsOnly(EN_LANGUAGE_CODE);
+                    assertThat(foundedProduct.features()).extracting(feature -> feature.language().code())
+                            .containsOnly(EN_LANGUAGE_CODE);
+                });
+
+        verifyNoInteractions(productsRepository);
+    }
+
+    @Test
+    @DisplayName("should not cache product by id read in one language")
+    void shouldNotCacheProductByIdReadInOneLanguage() {
+        var product = makeProductDto(FIRST_PRODUCT_ID, 1);
+
+        when(productsRepository.findViewById(FIRST_PRODUCT_ID, EN_LANGUAGE_CODE)).thenReturn(Optional.of(product));
+
+        assertThat(productsService.getById(FIRST_PRODUCT_ID, EN_LANGUAGE_CODE)).contains(product);
+        assertThat(productsCache.get(FIRST_PRODUCT_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should return empty result when product by id not found")
+    void shouldReturnEmptyResultWhenProductByIdNotFound() {
+        when(productsRepository.findViewById(FIRST_PRODUCT_ID, null)).thenReturn(Optional.empty());
+
+        assertThat(productsService.getById(FIRST_PRODUCT_ID, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should return products by ids in requested order")
+    void shouldReturnProductsByIdsInRequestedOrder() {
+        var firstProduct = new ProductResponseDto(FIRST_PRODUCT_ID, BigDecimal.ONE, 0, emptyList(), emptyList());
+        var secondProduct = new ProductResponseDto(SECOND_PRODUCT_ID, BigDecimal.TEN, 0, emptyList(), emptyList());
+        List<Long> ids = List.of(SECOND_PRODUCT_ID, FIRST_PRODUCT_ID, THIRD_PRODUCT_ID, SECOND_PRODUCT_ID);
+
+        when(productsRepository.findViewsByIdIn(anyCollection(), isNull())).thenReturn(List.of(firstProduct, secondProduct));
+
+        assertThat(productsService.getAllByIdIn(ids, null)).containsExactly(secondProduct, firstProduct);
+
+        inOrder.verify(productsRepository, times(1))
+                .findViewsByIdIn(Set.of(FIRST_PRODUCT_ID, SECOND_PRODUCT_ID, THIRD_PRODUCT_ID), null);
+    }
+
+    @Test
+    @DisplayName("should return products page with next cursor")
+    void shouldReturnProductsPageWithNextCursor() {
+        var firstProduct = new ProductResponseDto(FIRST_PRODUCT_ID, BigDecimal.ONE, 0, emptyList(), emptyList());
+        var secondProduct = new ProductResponseDto(SECOND_PRODUCT_ID, BigDecimal.TEN, 0, emptyList(), emptyList());
+        var secondCursor = new ProductCursor(ProductSort.PRICE, Sort.Direction.DESC, SECOND_PRODUCT_ID, "10");
+        var firstCursor = new ProductCursor(ProductSort.PRICE, Sort.Direction.DESC, FIRST_PRODUCT_ID, "1");
+        var thirdCursor = new ProductCursor(ProductSort.PRICE, Sort.Direction.DESC, THIRD_PRODUCT_ID, "1");
+        var pageRequest = new ProductsPageRequestDto(ProductSort.PRICE, Sort.Direction.DESC, null, 2,
+                EN_LANGUAGE_CODE, NO_FILTER, false);
+
+        when(productsRepository.findPageCursors(pageRequest, null, 3))
+                .thenReturn(List.of(secondCursor, firstCursor, thirdCursor));
+        when(productsRepository.findViewsByIdIn(List.of(SECOND_PRODUCT_ID, FIRST_PRODUCT_ID), EN_LANGUAGE_CODE))
+                .thenReturn(List.of(firstProduct, secondProduct));
+
+        assertThat(productsService.getPage(pageRequest))
+                .isEqualTo(new ProductsPageDto(List.of(secondProduct, firstProduct), firstCursor.encode(), null));
+
+        inOrder.verify(productsRepository, times(1))
+                .findPageCursors(pageRequest, null, 3);
+        inOrder.verify(productsRepository, times(1))
+                .findViewsByIdIn(List.of(SECOND_PRODUCT_ID, FIRST_PRODUCT_ID), EN_LANGUAGE_CODE);
+    }
+
+    @Test
+    @DisplayName("should return products search page with next page")
+    void shouldReturnProductsSearchPageWithNextPage() {
+        var language = new LanguageResponseDto(SECOND_LANGUAGE_ID, EN_LANGUAGE_CODE);
+        var firstHit = new ProductSearchHitDto(FIRST_PRODUCT_ID, FIRST_DESCRIPTION_ID, language, EN_MAC_TITLE, 0.9f);
+        var secondHit = new ProductSearchHitDto(SECOND_PRODUCT_ID, SECOND_DESCRIPTION_ID, language, EN_ASUS_TITLE,
+                0.5f);
+        var searchRequest = new ProductsSearchRequestDto("laptop", EN_LANGUAGE_CODE, 2, 1);
+
+        when(productsRepository.search(searchRequest, 2, 2)).thenReturn(List.of(firstHit, secondHit));
+
+        assertThat(productsService.search(searchRequest))
+                .isEqualTo(new ProductsSearchPageDto(List.of(firstHit), 3));
+    }
+
+    @Test
+    @DisplayName("should return last products search page without next page")
+    void shouldReturnLastProductsSearchPageWithoutNextPage() {
+        var language = new LanguageResponseDto(SECOND_LANGUAGE_ID, EN_LANGUAGE_CODE);
+        var hit = new ProductSearchHitDto(FIRST_PRODUCT_ID, FIRST_DESCRIPTION_ID, language, EN_MAC_TITLE, 0.9f);
+        var searchRequest = new ProductsSearchRequestDto("laptop", null, 0, 2);
+
+        when(productsRepository.search(searchRequest, 0, 3)).thenReturn(List.of(hit));
+
+        assertThat(productsService.search(searchRequest)).isEqualTo(new ProductsSearchPageDto(List.of(hit), null));
+    }
+
+    @Test
+    @DisplayName("should return last products page without next cursor")
+    void shouldReturnLastProductsPageWithoutNextCursor() {
+        var product = new ProductResponseDto(THIRD_PRODUCT_ID, BigDecimal.ONE, 0, emptyList(), emptyList());
+        var after = new ProductCursor(ProductSort.ID, Sort.Direction.ASC, SECOND_PRODUCT_ID,
+                String.valueOf(SECOND_PRODUCT_ID));
+        var cursor = new ProductCursor(ProductSort.ID, Sort.Direction.ASC, THIRD_PRODUCT_ID,
+                String.valueOf(THIRD_PRODUCT_ID));
+        var pageRequest = new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, after.encode(), 2,
+                null, NO_FILTER, false);
+
+        when(productsRepository.findPageCursors(pageRequest, after, 3)).thenReturn(List.of(cursor));
+        when(productsRepository.findViewsByIdIn(List.of(THIRD_PRODUCT_ID), null)).thenReturn(List.of(product));
+
+        assertThat(productsService.getPage(pageRequest)).isEqualTo(new ProductsPageDto(List.of(product), null, null));
+    }
+
+    @Test
+    @DisplayName("should return filtered products page with feature facets")
+    void shouldReturnFilteredProductsPageWithFeatureFacets() {
+        var product = new ProductResponseDto(FIRST_PRODUCT_ID, BigDecimal.ONE, 0, emptyList(), emptyList());
+        var cursor = new ProductCursor(ProductSort.ID, Sort.Direction.ASC, FIRST_PRODUCT_ID,
+                String.valueOf(FIRST_PRODUCT_ID));
+        var filter = new ProductsFilterDto(Map.of(EN_SCREEN_FEATURE_NAME, Set.of(MAC_SCREEN_FEATURE_VALUE)), null,
+                null);
+        var pageRequest = new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, null, 2, EN_LANGUAGE_CODE,
+                filter, true);
+        List<ProductFeatureFacetDto> facets = List.of(
+                new ProductFeatureFacetDto(EN_CPU_FEATURE_NAME, MAC_CPU_FEATURE_VALUE, 1),
+                new ProductFeatureFacetDto(EN_SCREEN_FEATURE_NAME, MAC_SCREEN_FEATURE_VALUE, 1));
+
+        when(productsRepository.findPageCursors(pageRequest, null, 3)).thenReturn(List.of(cursor));
+        when(productsRepository.findFeatureFacets(pageRequest)).thenReturn(facets);
+        when(productsRepository.findViewsByIdIn(List.of(FIRST_PRODUCT_ID), EN_LANGUAGE_CODE))
+                .thenReturn(List.of(product));
+
+        assertThat(productsService.getPage(pageRequest))
+                .isEqualTo(new ProductsPageDto(List.of(product), null, facets));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @DisplayName("should throw exception when features are filtered or faceted without language")
+    void shouldThrowExceptionWhenFeaturesAreFilteredOrFacetedWithoutLanguage(boolean facets) {
+        var filter = facets ? NO_FILTER
+                : new ProductsFilterDto(Map.of(EN_SCREEN_FEATURE_NAME, Set.of(MAC_SCREEN_FEATURE_VALUE)), null, null);
+        var pageRequest = new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, null, 2, null, filter,
+                facets);
+
+        assertThrows(InvalidFilterException.class, () -> productsService.getPage(pageRequest));
+
+        verifyNoInteractions(productsRepository);
+    }
+
+    @Test
+    @DisplayName("should return feature facets of products page without feature filter")
+    void shouldReturnFeatureFacetsOfProductsPageWithoutFeatureFilter() {
+        var product = new ProductResponseDto(FIRST_PRODUCT_ID, BigDecimal.ONE, 0, emptyList(), emptyList());
+        var cursor = new ProductCursor(ProductSort.ID, Sort.Direction.ASC, FIRST_PRODUCT_ID,
+                String.valueOf(FIRST_PRODUCT_ID));
+        var pageRequest = new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, null, 2, EN_LANGUAGE_CODE,
+                NO_FILTER, true);
+        List<ProductFeatureFacetDto> facets = List.of(
+                new ProductFeatureFacetDto(EN_SCREEN_FEATURE_NAME, MAC_SCREEN_FEATURE_VALUE, 1));
+
+        when(productsRepository.findPageCursors(pageRequest, null, 3)).thenReturn(List.of(cursor));
+        when(productsRepository.findFeatureFacets(pageRequest)).thenReturn(facets);
+        when(productsRepository.findViewsByIdIn(List.of(FIRST_PRODUCT_ID), EN_LANGUAGE_CODE))
+                .thenReturn(List.of(product));
+
+        assertThat(productsService.getPage(pageRequest))
+                .isEqualTo(new ProductsPageDto(List.of(product), null, facets));
+    }
+
+    @Test
+    @DisplayName("should throw exception when page cursor does not match sort")
+    void shouldThrowExceptionWhenPageCursorDoesNotMatchSort() {
+        var cursor = new ProductCursor(ProductSort.PRICE, Sort.Direction.ASC, FIRST_PRODUCT_ID, "1");
+        var pageRequest = new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, cursor.encode(), 2,
+                null, NO_FILTER, false);
+
+        assertThrows(InvalidCursorException.class, () -> productsService.getPage(pageRequest));
+
+        verifyNoInteractions(productsRepository);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ProductSort.class)
+    @DisplayName("should throw exception when page cursor value does not match sort")
+    void shouldThrowExceptionWhenPageCursorValueDoesNotMatchSort(ProductSort sort) {
+        var cursor = new ProductCursor(sort, Sort.Direction.ASC, FIRST_PRODUCT_ID, "1; drop table products");
+        var pageRequest = new ProductsPageRequestDto(sort, Sort.Direction.ASC, cursor.encode(), 2, null,
+                NO_FILTER, false);
+
+        assertThrows(InvalidCursorException.class, () -> productsService.getPage(pageRequest));
+
+        verifyNoInteractions(productsRepository);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not a cursor", "SUQ"})
+    @DisplayName("should throw exception when page cursor is malformed")
+    void shouldThrowExceptionWhenPageCursorIsMalformed(String cursor) {
+        var pageRequest = new ProductsPageRequestDto(ProductSort.ID, Sort.Direction.ASC, cursor, 2, null,
+                NO_FILTER, false);
+
+        assertThrows(InvalidCursorException.class, () -> productsService.getPage(pageRequest));
+
+        verifyNoInteractions(productsRepository);
+    }
+
+    @Test
+    @DisplayName("should export all products")
+    void shouldExportAllProducts() {
+        Consumer<ProductResponseDto> action = product -> {
+        };
+
+        productsService.exportAll(EN_LANGUAGE_CODE, action);
+
+        inOrder.verify(productsRepository, times(1))
+                .forEachView(EN_LANGUAGE_CODE, action);
     }
 
     @ParameterizedTest
     @MethodSource("makeRequestProducts")
     void shouldUpdateProduct(ProductRequestDto requestDto) {
         var foundedProduct = makeProductById(FIRST_PRODUCT_ID);
-        List<ProductFeature> features = foundedProduct.getFeatures();
         var expectedProduct = makeProductFromDto(requestDto);
 
         when(productsRepository.findByIdWithDescriptions(FIRST_PRODUCT_ID)).thenReturn(Optional.of(foundedProduct));
-        when(featuresRepository.findAllByProductId(FIRST_PRODUCT_ID)).thenReturn(features.stream());
-        when(languagesService.getAllByCodeIn(anyCollection())).thenReturn(languagesDto);
-        when(productsRepository.save(any())).thenReturn(expectedProduct);
+        when(productsRepository.findByIdWithFeatures(FIRST_PRODUCT_ID)).thenReturn(Optional.of(foundedProduct));
+        when(languagesCache.getAllByCodeIn(anyCollection())).thenReturn(languagesByCode);
+        when(productsRepository.saveAndFlush(any())).thenReturn(expectedProduct);
 
         assertThat(productsService.update(FIRST_PRODUCT_ID, requestDto)).isNotNull()
                 .usingRecursiveComparison()
@@ -180,48 +474,278 @@ class ProductsServiceUnitTest {
 
         inOrder.verify(productsRepository, times(1))
                 .findByIdWithDescriptions(FIRST_PRODUCT_ID);
-        inOrder.verify(featuresRepository, times(1))
-                .findAllByProductId(FIRST_PRODUCT_ID);
-        inOrder.verify(languagesService, times(1))
+        inOrder.verify(productsRepository, times(1))
+                .findByIdWithFeatures(FIRST_PRODUCT_ID);
+        inOrder.verify(languagesCache, times(1))
                 .getAllByCodeIn(anyCollection());
         inOrder.verify(productsRepository, times(1))
-                .save(any());
+                .saveAndFlush(any());
+        inOrder.verify(eventPublisher, times(1))
+                .publishEvent(any(ProductSavedEvent.class));
+    }
+
+    @Test
+    @DisplayName("should update only changed children and count changes")
+    void shouldUpdateOnlyChangedChildrenAndCountChanges() {
+        var foundedProduct = makeProductById(FIRST_PRODUCT_ID);
+        var removedFeature = new ProductFeature();
+
+        removedFeature.setId(SECOND_FEATURE_ID);
+        removedFeature.setName(RU_SCREEN_FEATURE_NAME);
+        removedFeature.setValue(MAC_SCREEN_FEATURE_VALUE);
+        removedFeature.setLanguage(languagesByCode.get(RU_LANGUAGE_CODE));
+        foundedProduct.setDescriptions(new ArrayList<>(foundedProduct.getDescriptions()));
+        foundedProduct.setFeatures(new ArrayList<>(foundedProduct.getFeatures()));
+        foundedProduct.addFeature(removedFeature);
+
+        var unchangedDescription = new ProductDescriptionRequestDto(FIRST_DESCRIPTION_ID, RU_LANGUAGE_CODE,
+                RU_MAC_TITLE, RU_MAC_DESCRIPTION);
+        var newDescription = new ProductDescriptionRequestDto(null, EN_LANGUAGE_CODE, EN_MAC_TITLE,
+                EN_MAC_DESCRIPTION);
+        var changedFeature = new ProductFeatureRequestDto(FIRST_FEATURE_ID, RU_LANGUAGE_CODE, RU_CPU_FEATURE_NAME,
+                ASUS_CPU_FEATURE_VALUE);
+        var requestDto = new ProductRequestDto(BigDecimal.ONE, List.of(unchangedDescription, newDescription),
+                List.of(changedFeature));
+
+        when(productsRepository.findByIdWithDescriptions(FIRST_PRODUCT_ID)).thenReturn(Optional.of(foundedProduct));
+        when(productsRepository.findByIdWithFeatures(FIRST_PRODUCT_ID)).thenReturn(Optional.of(foundedProduct));
+        when(languagesCache.getAllByCodeIn(anyCollection())).thenReturn(languagesByCode);
+        when(productsRepository.saveAndFlush(foundedProduct)).thenReturn(foundedProduct);
+
+        productsService.update(FIRST_PRODUCT_ID, requestDto);
+
+        assertThat(foundedProduct.getDescriptions()).hasSize(2);
+        assertThat(foundedProduct.getDescriptions().get(1).getLanguage())
+                .isSameAs(languagesByCode.get(EN_LANGUAGE_CODE));
+        assertThat(foundedProduct.getFeatures()).singleElement()
+                .extracting(ProductFeature::getValue)
+                .isEqualTo(ASUS_CPU_FEATURE_VALUE);
+        assertThat(removedFeature.getProduct()).isNull();
+        assertThat(foundedProduct.getLastUpdateDate()).isNotNull();
+        assertThat(countChildrenChanges("description", "inserted")).isEqualTo(1);
+        assertThat(countChildrenChanges("description", "unchanged")).isEqualTo(1);
+        assertThat(countChildrenChanges("description", "updated")).isZero();
+        assertThat(countChildrenChanges("feature", "updated")).isEqualTo(1);
+        assertThat(countChildrenChanges("feature", "deleted")).isEqualTo(1);
+        assertThat(countChildrenChanges("feature", "inserted")).isZero();
+    }
+
+    @Test
+    @DisplayName("should not touch product when children are unchanged")
+    void shouldNotTouchProductWhenChildrenUnchanged() {
+        var foundedProduct = makeProductById(FIRST_PRODUCT_ID);
+        var description = new ProductDescriptionRequestDto(FIRST_DESCRIPTION_ID, RU_LANGUAGE_CODE, RU_MAC_TITLE,
+                RU_MAC_DESCRIPTION);
+        var feature = new ProductFeatureRequestDto(FIRST_FEATURE_ID, RU_LANGUAGE_CODE, RU_CPU_FEATURE_NAME,
+                MAC_CPU_FEATURE_VALUE);
+        var requestDto = new ProductRequestDto(BigDecimal.ONE, List.of(description), List.of(feature));
+
+        when(productsRepository.findByIdWithDescriptions(FIRST_PRODUCT_ID)).thenReturn(Optional.of(foundedProduct));
+        when(productsRepository.findByIdWithFeatures(FIRST_PRODUCT_ID)).thenReturn(Optional.of(foundedProduct));
+        when(languagesCache.getAllByCodeIn(anyCollection()))
+                .thenReturn(Map.of(RU_LANGUAGE_CODE, languagesByCode.get(RU_LANGUAGE_CODE)));
+        when(productsRepository.saveAndFlush(foundedProduct)).thenReturn(foundedProduct);
+
+        productsService.update(FIRST_PRODUCT_ID, requestDto);
+
+        assertThat(foundedProduct.getLastUpdateDate()).isNull();
+        assertThat(countChildrenChanges("description", "unchanged")).isEqualTo(1);
+        assertThat(countChildrenChanges("feature", "unchanged")).isEqualTo(1);
+        assertThat(countChildrenChanges("feature", "updated")).isZero();
     }
 
     @ParameterizedTest
     @MethodSource("makeRequestProducts")
     @DisplayName("should throw NotFoundResourceException when language by code not found")
     void shouldThrowNotFoundResourceExceptionForUpdateWhenLanguageNotFound(ProductRequestDto requestDto) {
-        when(productsRepository.findByIdWithDescriptions(FIRST_PRODUCT_ID)).thenReturn(Optional.of(new Product()));
-        when(languagesService.getAllByCodeIn(anyCollection())).thenReturn(emptyList());
+        var product = new Product();
+
+        when(productsRepository.findByIdWithDescriptions(FIRST_PRODUCT_ID)).thenReturn(Optional.of(product));
+        when(productsRepository.findByIdWithFeatures(FIRST_PRODUCT_ID)).thenReturn(Optional.of(product));
+        when(languagesCache.getAllByCodeIn(anyCollection())).thenReturn(Map.of());
         assertThrows(NotFoundResourceException.class, () -> productsService.update(FIRST_PRODUCT_ID, requestDto));
     }
 
     @Test
     @DisplayName("should throw NullPointerException when product for update is null")
     void shouldThrowNpeWhenProductForUpdateIsNull() {
-        when(productsRepository.findByIdWithDescriptions(FIRST_PRODUCT_ID)).thenReturn(Optional.of(new Product()));
+        var product = new Product();
+
+        when(productsRepository.findByIdWithDescriptions(FIRST_PRODUCT_ID)).thenReturn(Optional.of(product));
+        when(productsRepository.findByIdWithFeatures(FIRST_PRODUCT_ID)).thenReturn(Optional.of(product));
         assertThrows(NullPointerException.class, () -> productsService.update(FIRST_PRODUCT_ID, null));
     }
 
+    @Test
+    @DisplayName("should patch product with targeted statements")
+    void shouldPatchProductWithTargetedStatements() {
+        Map<Long, ProductFeaturePatchDto> features = new HashMap<>();
+        var featurePatch = new ProductFeaturePatchDto(EN_LANGUAGE_CODE, null, ASUS_CPU_FEATURE_VALUE);
+
+        features.put(FIRST_FEATURE_ID, featurePatch);
+        features.put(SECOND_FEATURE_ID, null);
+
+        var patch = new ProductPatchRequestDto(BigDecimal.TEN, Map.of(), features);
+        var expectedProduct = makeProductDto(FIRST_PRODUCT_ID, 4);
+        Map<String, Long> languageIdsByCode = Map.of(EN_LANGUAGE_CODE, SECOND_LANGUAGE_ID);
+
+        when(languagesCache.getAllByCodeIn(Set.of(EN_LANGUAGE_CODE)))
+                .thenReturn(Map.of(EN_LANGUAGE_CODE, languagesByCode.get(EN_LANGUAGE_CODE)));
+        when(productsRepository.patch(FIRST_PRODUCT_ID, 3, BigDecimal.TEN)).thenReturn(Optional.of(4));
+        when(productsRepository.deleteFeatures(FIRST_PRODUCT_ID, Set.of(SECOND_FEATURE_ID))).thenReturn(1);
+        when(productsRepository.updateFeatures(FIRST_PRODUCT_ID, Map.of(FIRST_FEATURE_ID, featurePatch),
+                languageIdsByCode)).thenReturn(1);
+        when(productsRepository.findViewById(FIRST_PRODUCT_ID, null)).thenReturn(Optional.of(expectedProduct));
+
+        assertThat(productsService.patch(FIRST_PRODUCT_ID, 3, patch)).isEqualTo(expectedProduct);
+
+        inOrder.verify(productsRepository, times(1))
+                .patch(FIRST_PRODUCT_ID, 3, BigDecimal.TEN);
+        inOrder.verify(productsRepository, times(1))
+                .deleteFeatures(FIRST_PRODUCT_ID, Set.of(SECOND_FEATURE_ID));
+        inOrder.verify(productsRepository, times(1))
+                .updateFeatures(FIRST_PRODUCT_ID, Map.of(FIRST_FEATURE_ID, featurePatch), languageIdsByCode);
+        inOrder.verify(eventPublisher, times(1))
+                .publishEvent(new ProductSavedEvent(expectedProduct));
+        verify(productsRepository, never()).findByIdWithDescriptions(anyLong());
+        verify(productsRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("should throw VersionMismatchException when patched product has another version")
+    void shouldThrowVersionMismatchExceptionWhenPatchedProductHasAnotherVersion() {
+        var patch = new ProductPatchRequestDto(BigDecimal.TEN, null, null);
+
+        when(productsRepository.patch(FIRST_PRODUCT_ID, 3, BigDecimal.TEN)).thenReturn(Optional.empty());
+        when(productsRepository.existsById(FIRST_PRODUCT_ID)).thenReturn(true);
+
+        assertThrows(VersionMismatchException.class, () -> productsService.patch(FIRST_PRODUCT_ID, 3, patch));
+        verifyNoInteractions(eventPublisher, languagesCache);
+    }
+
+    @Test
+    @DisplayName("should throw NotFoundResourceException when patched product not found")
+    void shouldThrowNotFoundResourceExceptionWhenPatchedProductNotFound() {
+        var patch = new ProductPatchRequestDto(BigDecimal.TEN, null, null);
+
+        when(productsRepository.patch(FIRST_PRODUCT_ID, null, BigDecimal.TEN)).thenReturn(Optional.empty());
+        when(productsRepository.existsById(FIRST_PRODUCT_ID)).thenReturn(false);
+
+        assertThrows(NotFoundResourceException.class, () -> productsService.patch(FIRST_PRODUCT_ID, null, patch));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("should throw NotFoundResourceException when patched child belongs to another product")
+    void shouldThrowNotFoundResourceExceptionWhenPatchedChildBelongsToAnotherProduct() {
+        Map<Long, ProductDescriptionPatchDto> descriptions = new HashMap<>();
+
+        descriptions.put(SECOND_DESCRIPTION_ID, null);
+
+        var patch = new ProductPatchRequestDto(null, descriptions, null);
+
+        when(productsRepository.patch(FIRST_PRODUCT_ID, null, null)).thenReturn(Optional.of(1));
+        when(productsRepository.deleteDescriptions(FIRST_PRODUCT_ID, Set.of(SECOND_DESCRIPTION_ID))).thenReturn(0);
+
+        assertThrows(NotFoundResourceException.class, () -> productsService.patch(FIRST_PRODUCT_ID, null, patch));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("should update prices and report conflicted and not found products")
+    void shouldUpdatePricesAndReportConflictedAndNotFoundProducts() {
+        var firstPrice = new ProductPriceRequestDto(FIRST_PRODUCT_ID, BigDecimal.TEN, 1);
+        var secondPrice = new ProductPriceRequestDto(SECOND_PRODUCT_ID, BigDecimal.ONE, 1);
+        var thirdPrice = new ProductPriceRequestDto(THIRD_PRODUCT_ID, BigDecimal.ONE, 1);
+        Map<Long, Integer> versionsById = Map.of(FIRST_PRODUCT_ID, 2);
+
+        when(productsRepository.updatePrices(List.of(firstPrice, secondPrice, thirdPrice))).thenReturn(versionsById);
+        when(productsRepository.findIdsByIdIn(List.of(SECOND_PRODUCT_ID, THIRD_PRODUCT_ID)))
+                .thenReturn(List.of(SECOND_PRODUCT_ID));
+
+        var report = productsService.updatePrices(List.of(firstPrice, secondPrice, thirdPrice));
+
+        assertThat(report).isEqualTo(new ProductPricesReportDto(1, List.of(SECOND_PRODUCT_ID),
+                List.of(THIRD_PRODUCT_ID)));
+        inOrder.verify(eventPublisher, times(1))
+                .publishEvent(new ProductsChangedEvent(versionsById));
+    }
+
+    @Test
+    @DisplayName("should keep last price of repeated product")
+    void shouldKeepLastPriceOfRepeatedProduct() {
+        var firstPrice = new ProductPriceRequestDto(FIRST_PRODUCT_ID, BigDecimal.TEN, 1);
+        var lastPrice = new ProductPriceRequestDto(FIRST_PRODUCT_ID, BigDecimal.ONE, 1);
+
+        when(productsRepository.updatePrices(List.of(lastPrice))).thenReturn(Map.of(FIRST_PRODUCT_ID, 2));
+
+        var report = productsService.updatePrices(List.of(firstPrice, lastPrice));
+
+        assertThat(report).isEqualTo(new ProductPricesReportDto(1, emptyList(), emptyList()));
+        verify(productsRepository, times(1))
+                .updatePrices(List.of(lastPrice));
+    }
+
+    @Test
+    @DisplayName("should adjust prices without publishing event when nothing updated")
+    void shouldAdjustPricesWithoutPublishingEventWhenNothingUpdated() {
+        var adjustment = new ProductPricesAdjustmentRequestDto(Set.of(FIRST_PRODUCT_ID), BigDecimal.TEN);
+
+        when(productsRepository.adjustPrices(adjustment.ids(), adjustment.percent())).thenReturn(Map.of());
+        when(productsRepository.findIdsByIdIn(List.of(FIRST_PRODUCT_ID))).thenReturn(emptyList());
+
+        var report = productsService.adjustPrices(adjustment);
+
+        assertThat(report).isEqualTo(new ProductPricesReportDto(0, emptyList(), List.of(FIRST_PRODUCT_ID)));
+        verifyNoInteractions(eventPublisher);
+    }
+
     @ParameterizedTest
     @ValueSource(longs = {Long.MAX_VALUE, Long.MIN_VALUE, 0})
     void shouldDeleteProductWithoutErrors(long id) {
-        when(productsRepository.existsById(id)).thenReturn(true);
+        when(productsRepository.deleteByIdIn(List.of(id))).thenReturn(List.of(id));
 
         assertDoesNotThrow(() -> productsService.deleteById(id));
 
         inOrder.verify(productsRepository, times(1))
-                .existsById(id);
-        inOrder.verify(productsRepository, times(1))
-                .deleteById(id);
+                .deleteByIdIn(List.of(id));
+        inOrder.verify(eventPublisher, times(1))
+                .publishEvent(new ProductDeletedEvent(id));
+        verify(productsRepository, never()).existsById(id);
     }
 
     @Test
     @DisplayName("should throw NotFoundResourceException when product for delete not found")
     void shouldThrowNotFoundResourceExceptionWhenProductForDeleteNotFound() {
-        when(productsRepository.existsById(FIRST_PRODUCT_ID)).thenReturn(false);
+        when(productsRepository.deleteByIdIn(List.of(FIRST_PRODUCT_ID))).thenReturn(emptyList());
         assertThrows(NotFoundResourceException.class, () -> productsService.deleteById(FIRST_PRODUCT_ID));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("should delete all products by ids and report not found ones")
+    void shouldDeleteAllProductsByIdsAndReportNotFoundOnes() {
+        Set<Long> ids = Set.of(FIRST_PRODUCT_ID, SECOND_PRODUCT_ID, THIRD_PRODUCT_ID);
+
+        when(productsRepository.deleteByIdIn(ids)).thenReturn(List.of(FIRST_PRODUCT_ID, THIRD_PRODUCT_ID));
+
+        var report = productsService.deleteAllByIdIn(ids);
+
+        assertThat(report.deleted()).isEqualTo(2);
+        assertThat(report.notFoundIds()).containsExactly(SECOND_PRODUCT_ID);
+        inOrder.verify(eventPublisher, times(1))
+                .publishEvent(new ProductsDeletedEvent(List.of(FIRST_PRODUCT_ID, THIRD_PRODUCT_ID)));
+    }
+
+    @Test
+    @DisplayName("should delete all products without publishing event when nothing deleted")
+    void shouldDeleteAllProductsWithoutPublishingEventWhenNothingDeleted() {
+        when(productsRepository.deleteByIdIn(Set.of(FIRST_PRODUCT_ID))).thenReturn(emptyList());
+
+        var report = productsService.deleteAllByIdIn(Set.of(FIRST_PRODUCT_ID));
+
+        assertThat(report).isEqualTo(new ProductsDeletionReportDto(0, List.of(FIRST_PRODUCT_ID)));
+        verifyNoInteractions(eventPublisher);
     }
 
     private ProductFeatureResponseDto convertFeatureToDto(ProductFeature feature) {
@@ -240,6 +764,30 @@ class ProductsServiceUnitTest {
                 description.getDescription());
     }
 
+    private ProductResponseDto makeProductDto(long id, int version) {
+        var ruLanguage = languagesByCode.get(RU_LANGUAGE_CODE);
+        var enLanguage = languagesByCode.get(EN_LANGUAGE_CODE);
+        var ruLanguageDto = new LanguageResponseDto(ruLanguage.getId(), ruLanguage.getCode());
+        var enLanguageDto = new LanguageResponseDto(enLanguage.getId(), enLanguage.getCode());
+        List<ProductDescriptionResponseDto> descriptions = List.of(
+                new ProductDescriptionResponseDto(FIRST_DESCRIPTION_ID, ruLanguageDto, RU_MAC_TITLE,
+                        RU_MAC_DESCRIPTION),
+                new ProductDescriptionResponseDto(SECOND_DESCRIPTION_ID, enLanguageDto, EN_MAC_TITLE,
+                        EN_MAC_DESCRIPTION));
+        List<ProductFeatureResponseDto> features = List.of(
+                new ProductFeatureResponseDto(FIRST_FEATURE_ID, ruLanguageDto, RU_CPU_FEATURE_NAME,
+                        MAC_CPU_FEATURE_VALUE),
+                new ProductFeatureResponseDto(SECOND_FEATURE_ID, enLanguageDto, EN_CPU_FEATURE_NAME,
+                        MAC_CPU_FEATURE_VALUE));
+
+        return new ProductResponseDto(id, BigDecimal.ONE, version, descriptions, features);
+    }
+
+    private double countChildrenChanges(String child, String change) {
+        return meterRegistry.counter("core.products.update.children", "child", child, "change", change)
+                .count();
+    }
+
     private Product makeProductById(long id) {
         var language = languagesByCode.get(RU_LANGUAGE_CODE);
         var mac = new Product();